@@ -0,0 +1,93 @@
+#!/bin/bash
+
+# ==============================================
+# DISC 애플리케이션 DB 실행기 벤치마크
+# 플랫폼 스레드와 가상 스레드(JDK 21+)의 처리량을 비교합니다.
+#
+# 사용법: bash scripts/benchmark-executor.sh [-Dbench.requests=20000] [-Dbench.concurrency=1000]
+#         [-Dbench.io-ms=20] [-Dbench.write-every=10] [-Ddb.executor.threads=8]
+# ==============================================
+
+set -e  # 오류 발생 시 스크립트 중단
+
+# 색상 정의
+RED='\033[0;31m'
+GREEN='\033[0;32m'
+YELLOW='\033[1;33m'
+BLUE='\033[0;34m'
+NC='\033[0m' # No Color
+
+# 로그 함수
+log_info() {
+    echo -e "${BLUE}[INFO]${NC} $1"
+}
+
+log_success() {
+    echo -e "${GREEN}[SUCCESS]${NC} $1"
+}
+
+log_warning() {
+    echo -e "${YELLOW}[WARNING]${NC} $1"
+}
+
+log_error() {
+    echo -e "${RED}[ERROR]${NC} $1"
+}
+
+# 스크립트 시작
+echo "=============================================="
+echo "      DISC DB 실행기 벤치마크"
+echo "=============================================="
+echo
+
+# 프로젝트 루트 디렉토리 확인
+SCRIPT_DIR="$(cd "$(dirname "${BASH_SOURCE[0]}")" && pwd)"
+PROJECT_ROOT="$(dirname "$SCRIPT_DIR")"
+
+cd "$PROJECT_ROOT"
+
+# Java 버전 확인 (가상 스레드는 JDK 21+)
+if ! command -v java &> /dev/null; then
+    log_error "Java가 설치되어 있지 않습니다. JDK 21+를 먼저 설치해주세요."
+    exit 1
+fi
+
+JAVA_MAJOR=$(java -version 2>&1 | head -n 1 | sed -E 's/.*version "([0-9]+).*/\1/')
+log_info "Java 버전: $(java -version 2>&1 | head -n 1)"
+if [ "$JAVA_MAJOR" -lt 21 ] 2>/dev/null; then
+    log_warning "JDK 21 미만에서는 가상 스레드 대신 플랫폼 스레드로 두 번 측정됩니다."
+fi
+
+# 1. 프로젝트 컴파일
+log_info "프로젝트 컴파일 중..."
+if mvn clean compile -q; then
+    log_success "컴파일 완료"
+else
+    log_error "컴파일 실패"
+    exit 1
+fi
+
+# 2. 클래스패스 설정 (servlet-api는 provided 범위이므로 함께 복사)
+if [ ! -d "target/lib" ]; then
+    log_info "의존성 라이브러리 복사 중..."
+    mvn dependency:copy-dependencies -DoutputDirectory=target/lib -q
+fi
+
+CLASSPATH="target/classes"
+for jar in target/lib/*.jar; do
+    if [ -f "$jar" ]; then
+        CLASSPATH="$CLASSPATH:$jar"
+    fi
+done
+
+# 3. 벤치마크 실행 (임시 데이터베이스 사용)
+log_info "벤치마크 실행 중..."
+echo
+
+if java "$@" -cp "$CLASSPATH" com.disc.util.ExecutorBenchmark; then
+    echo
+    log_success "벤치마크가 완료되었습니다!"
+else
+    log_error "벤치마크 실행 중 오류가 발생했습니다."
+    exit 1
+fi
@@ -5,8 +5,12 @@ import com.disc.dao.UserDAO;
 import com.disc.model.TestLink;
 import com.disc.model.User;
 import com.disc.model.Admin;
+import com.disc.model.Page;
+import com.disc.util.AppConfig;
 import com.disc.util.DBUtil;
+import com.disc.util.DashboardEventBus;
 import com.disc.util.SecurityUtil;
+import com.disc.util.TokenReservoir;
 import com.google.gson.Gson;
 
 import javax.servlet.ServletException;
@@ -30,8 +34,13 @@ public class CreateLinkServlet extends HttpServlet {
 
     private static final Logger logger = Logger.getLogger(CreateLinkServlet.class.getName());
 
+    private static final int DEFAULT_MAX_BULK_NAMES = 5000;
+    private static final int DEFAULT_TOKEN_RESERVOIR_SIZE = 1024;
+
     private TestLinkDAO testLinkDAO;
     private UserDAO userDAO;
+    private int maxBulkNames;
+    private TokenReservoir tokenReservoir;
 
     @Override
     public void init() throws ServletException {
@@ -47,6 +56,17 @@ public class CreateLinkServlet extends HttpServlet {
             testLinkDAO = new TestLinkDAO();
             userDAO = new UserDAO();
 
+            maxBulkNames = AppConfig.getInt("link.bulk.max-names", DEFAULT_MAX_BULK_NAMES);
+            tokenReservoir = new TokenReservoir(
+                AppConfig.getInt("link.token.reservoir-size", DEFAULT_TOKEN_RESERVOIR_SIZE));
+
+            // Name autocomplete falls back to the database if this fails
+            try {
+                userDAO.loadSuggestionIndex();
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Failed to load the user name suggestion index", e);
+            }
+
             logger.info("CreateLinkServlet initialized successfully");
 
         } catch (SQLException e) {
@@ -128,13 +148,14 @@ public class CreateLinkServlet extends HttpServlet {
     private void showCreateLinkPage(HttpServletRequest request, HttpServletResponse response)
             throws SQLException, ServletException, IOException {
 
-        // Get recent test links history
-        List<Map<String, Object>> recentHistory = getRecentTestLinksHistory(20);
-        request.setAttribute("recentHistory", recentHistory);
+        // Get the first page of test link history
+        Page<Map<String, Object>> recentHistory = getTestLinksHistory(null, null, 20);
+        request.setAttribute("recentHistory", recentHistory.getItems());
 
         // Get admin user
         Admin admin = (Admin) request.getSession().getAttribute("adminUser");
         request.setAttribute("adminUser", admin);
+        request.setAttribute("maxBulkNames", maxBulkNames);
 
         // Convert history to JSON for JavaScript
         Gson gson = new Gson();
@@ -176,14 +197,15 @@ public class CreateLinkServlet extends HttpServlet {
             throws SQLException, IOException {
 
         String userName = request.getParameter("userName");
-        int page = parseIntParameter(request.getParameter("page"), 0);
-        int limit = parseIntParameter(request.getParameter("limit"), 10);
+        String cursor = request.getParameter("cursor");
+        int limit = parseIntParameter(request.getParameter("limit"), 20);
 
-        List<Map<String, Object>> history;
-        if (userName != null && !userName.trim().isEmpty()) {
-            history = getTestLinksHistoryByUser(userName.trim(), page, limit);
-        } else {
-            history = getRecentTestLinksHistory(limit);
+        Page<Map<String, Object>> history;
+        try {
+            history = getTestLinksHistory(userName, cursor, limit);
+        } catch (IllegalArgumentException e) {
+            sendJsonResponse(response, false, "잘못된 요청입니다.", null);
+            return;
         }
 
         sendJsonResponse(response, true, null, history);
@@ -280,8 +302,9 @@ public class CreateLinkServlet extends HttpServlet {
             return;
         }
 
-        if (userNames.size() > 100) {
-            sendJsonResponse(response, false, "한 번에 최대 100명까지만 등록할 수 있습니다.", null);
+        if (userNames.size() > maxBulkNames) {
+            sendJsonResponse(response, false,
+                    String.format("한 번에 최대 %,d명까지만 등록할 수 있습니다.", maxBulkNames), null);
             return;
         }
 
@@ -298,17 +321,13 @@ public class CreateLinkServlet extends HttpServlet {
     }
 
     /**
-     * Get recent test links history
+     * Get one page of test links history, optionally filtered by user name
      */
-    private List<Map<String, Object>> getRecentTestLinksHistory(int limit) throws SQLException {
-        return testLinkDAO.getRecentTestLinksWithUserInfo(limit);
-    }
-
-    /**
-     * Get test links history by user name
-     */
-    private List<Map<String, Object>> getTestLinksHistoryByUser(String userName, int page, int limit) throws SQLException {
-        return testLinkDAO.getTestLinksByUserName(userName, page * limit, limit);
+    private Page<Map<String, Object>> getTestLinksHistory(String userName, String cursor, int limit) throws SQLException {
+        if (userName != null && !userName.trim().isEmpty()) {
+            return testLinkDAO.getTestLinksByUserName(userName.trim(), cursor, limit);
+        }
+        return testLinkDAO.getTestLinkHistory(cursor, limit);
     }
 
     /**
@@ -348,8 +367,8 @@ public class CreateLinkServlet extends HttpServlet {
             // Get or create user
             User user = userDAO.getOrCreateUser(userName);
 
-            // Generate unique URL
-            String uniqueUrl = generateUniqueUrl();
+            // Take a pre-generated URL token
+            String uniqueUrl = tokenReservoir.take();
 
             // Create test link
             TestLink testLink = new TestLink(
@@ -361,7 +380,18 @@ public class CreateLinkServlet extends HttpServlet {
                 null
             );
 
-            TestLink savedLink = testLinkDAO.createTestLink(testLink);
+            TestLink savedLink;
+            try {
+                savedLink = testLinkDAO.createTestLink(testLink);
+            } catch (SQLException e) {
+                if (!TestLinkDAO.isDuplicateTestUrl(e)) {
+                    throw e;
+                }
+                // The token was already taken; one retry with a fresh one
+                testLink.setTestUrl(tokenReservoir.take());
+                savedLink = testLinkDAO.createTestLink(testLink);
+            }
+            DashboardEventBus.publish(DashboardEventBus.LINKS_CREATED, 1);
 
             // Get test count for this user
             int testCount = testLinkDAO.getTestLinkCountByUserId(user.getId());
@@ -370,10 +400,7 @@ public class CreateLinkServlet extends HttpServlet {
             result.put("testLink", savedLink);
             result.put("user", user);
             result.put("testCount", testCount);
-            result.put("url", request.getScheme() + "://" + request.getServerName() +
-                             (request.getServerPort() != 80 && request.getServerPort() != 443 ?
-                              ":" + request.getServerPort() : "") +
-                             request.getContextPath() + "/test?token=" + uniqueUrl);
+            result.put("url", buildTestUrl(request, savedLink.getTestUrl()));
 
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error creating test link for user: " + userName, e);
@@ -386,29 +413,74 @@ public class CreateLinkServlet extends HttpServlet {
 
     /**
      * Create test links for multiple users
+     *
+     * Every row is reported in successList or failureList with its 1-based
+     * row number. Names are validated one by one, and all valid names
+     * are then handled in one transaction: users are resolved with IN
+     * queries, missing users and the links are inserted in batches, and
+     * either every link is created or none is.
      */
     private Map<String, Object> createBulkTestLinks(List<String> userNames, HttpServletRequest request) throws SQLException {
         Map<String, Object> result = new HashMap<>();
         List<Map<String, Object>> successList = new ArrayList<>();
         List<Map<String, Object>> failureList = new ArrayList<>();
 
-        for (String userName : userNames) {
+        // Validate every row first; only valid, distinct names reach the database
+        Map<String, Map<String, Object>> validRows = new LinkedHashMap<>();
+        int rowNumber = 0;
+        for (String rawName : userNames) {
+            rowNumber++;
+            String userName = SecurityUtil.sanitizeInput(rawName);
+            String error = null;
+
+            if (!SecurityUtil.isValidUserName(userName)) {
+                error = "올바른 사용자명이 아닙니다. (한글, 영문, 숫자만 허용)";
+            } else if (SecurityUtil.containsSQLInjection(userName)) {
+                logger.warning("SQL Injection attempt detected in createBulk: " + userName);
+                error = "잘못된 입력입니다.";
+            } else if (validRows.containsKey(userName)) {
+                error = "중복된 사용자명입니다.";
+            }
+
+            Map<String, Object> row = new HashMap<>();
+            row.put("row", rowNumber);
+            row.put("userName", rawName);
+
+            if (error != null) {
+                row.put("success", false);
+                row.put("error", error);
+                failureList.add(row);
+            } else {
+                validRows.put(userName, row);
+            }
+        }
+
+        if (!validRows.isEmpty()) {
+            List<String> names = new ArrayList<>(validRows.keySet());
+
+            Map<Long, Integer> testCounts = new HashMap<>();
+            List<TestLink> savedLinks;
             try {
-                Map<String, Object> linkResult = createTestLinkForUser(userName, request);
-                if ((Boolean) linkResult.get("success")) {
-                    successList.add(linkResult);
-                } else {
-                    Map<String, Object> failure = new HashMap<>();
-                    failure.put("userName", userName);
-                    failure.put("error", linkResult.get("message"));
-                    failureList.add(failure);
+                savedLinks = createBulkTestLinksInTransaction(names, testCounts);
+            } catch (SQLException e) {
+                if (!TestLinkDAO.isDuplicateTestUrl(e)) {
+                    throw e;
                 }
-            } catch (Exception e) {
-                Map<String, Object> failure = new HashMap<>();
-                failure.put("userName", userName);
-                failure.put("error", "생성 중 오류 발생: " + e.getMessage());
-                failureList.add(failure);
-                logger.log(Level.WARNING, "Error creating link for user: " + userName, e);
+                // A token was already taken and the batch rolled back; one retry with fresh tokens
+                testCounts.clear();
+                savedLinks = createBulkTestLinksInTransaction(names, testCounts);
+            }
+            DashboardEventBus.publish(DashboardEventBus.LINKS_CREATED, savedLinks.size());
+
+            for (int i = 0; i < names.size(); i++) {
+                TestLink savedLink = savedLinks.get(i);
+                Map<String, Object> row = validRows.get(names.get(i));
+                row.put("success", true);
+                row.put("testLink", savedLink);
+                row.put("user", savedLink.getUser());
+                row.put("testCount", testCounts.getOrDefault(savedLink.getUserId(), 0));
+                row.put("url", buildTestUrl(request, savedLink.getTestUrl()));
+                successList.add(row);
             }
         }
 
@@ -422,20 +494,41 @@ public class CreateLinkServlet extends HttpServlet {
     }
 
     /**
-     * Generate unique URL token
+     * Create the users and links of a bulk request in one transaction
+     *
+     * @param names Validated, distinct user names
+     * @param testCounts Receives the link count of each user after the insert
+     * @return The created links, in the order of names
      */
-    private String generateUniqueUrl() throws SQLException {
-        String token;
-        int attempts = 0;
-        do {
-            token = UUID.randomUUID().toString().replace("-", "").substring(0, 16);
-            attempts++;
-            if (attempts > 10) {
-                throw new SQLException("Failed to generate unique URL after 10 attempts");
+    private List<TestLink> createBulkTestLinksInTransaction(List<String> names, Map<Long, Integer> testCounts)
+            throws SQLException {
+        return DBUtil.executeTransaction(connection -> {
+            Map<String, User> users = userDAO.findOrCreateUsers(names);
+            List<String> tokens = tokenReservoir.take(names.size());
+
+            List<TestLink> testLinks = new ArrayList<>();
+            for (int i = 0; i < names.size(); i++) {
+                testLinks.add(new TestLink(users.get(names.get(i)).getId(), tokens.get(i)));
+            }
+            List<TestLink> created = testLinkDAO.createTestLinks(testLinks);
+
+            Set<Long> userIds = new HashSet<>();
+            for (User user : users.values()) {
+                userIds.add(user.getId());
             }
-        } while (testLinkDAO.getTestLinkByUrl(token) != null);
+            testCounts.putAll(testLinkDAO.getTestLinkCountsByUserIds(userIds));
+            return created;
+        });
+    }
 
-        return token;
+    /**
+     * Build the absolute test URL for a token
+     */
+    private String buildTestUrl(HttpServletRequest request, String token) {
+        return request.getScheme() + "://" + request.getServerName() +
+               (request.getServerPort() != 80 && request.getServerPort() != 443 ?
+                ":" + request.getServerPort() : "") +
+               request.getContextPath() + "/test?token=" + token;
     }
 
     /**
@@ -476,6 +569,9 @@ public class CreateLinkServlet extends HttpServlet {
     @Override
     public void destroy() {
         super.destroy();
+        if (tokenReservoir != null) {
+            tokenReservoir.shutdown();
+        }
         logger.info("CreateLinkServlet destroyed");
     }
 }
\ No newline at end of file
@@ -0,0 +1,103 @@
+package com.disc.controller;
+
+import com.disc.util.AppConfig;
+import com.disc.util.DashboardEventBus;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.logging.Logger;
+
+/**
+ * Server-Sent Events stream of live dashboard updates
+ *
+ * The request is put in async mode and handed to DashboardEventBus, so an
+ * open dashboard holds no request thread. The browser's EventSource
+ * reconnects by itself after the async timeout or a network error and sends
+ * Last-Event-ID to resume.
+ */
+@WebServlet(urlPatterns = "/admin/dashboard/events", asyncSupported = true)
+public class DashboardEventsServlet extends HttpServlet {
+
+    private static final Logger logger = Logger.getLogger(DashboardEventsServlet.class.getName());
+
+    private static final long DEFAULT_STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+    private static final int RECONNECT_DELAY_MS = 5000;
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+        logger.info("DashboardEventsServlet initialized successfully");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // Check admin session
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("adminUser") == null) {
+            response.sendError(HttpServletResponse.SC_UNAUTHORIZED);
+            return;
+        }
+
+        Long lastEventId;
+        try {
+            String header = request.getHeader("Last-Event-ID");
+            lastEventId = header != null && !header.trim().isEmpty() ? Long.valueOf(header.trim()) : null;
+        } catch (NumberFormatException e) {
+            lastEventId = null;
+        }
+
+        response.setContentType("text/event-stream");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Cache-Control", "no-cache");
+        response.setHeader("X-Accel-Buffering", "no"); // Keep reverse proxies from buffering the stream
+
+        AsyncContext context = request.startAsync();
+        context.setTimeout(AppConfig.getLong("dashboard.events.timeout-ms", DEFAULT_STREAM_TIMEOUT_MS));
+        context.addListener(new AsyncListener() {
+            @Override
+            public void onComplete(AsyncEvent event) {
+                DashboardEventBus.unsubscribe(context);
+            }
+
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                DashboardEventBus.unsubscribe(context);
+                context.complete();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                DashboardEventBus.unsubscribe(context);
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+                // Not restarted
+            }
+        });
+
+        PrintWriter writer = response.getWriter();
+        writer.write("retry: " + RECONNECT_DELAY_MS + "\n\n");
+        writer.flush();
+
+        DashboardEventBus.subscribe(context, lastEventId);
+    }
+
+    @Override
+    public void destroy() {
+        DashboardEventBus.shutdown();
+        super.destroy();
+        logger.info("DashboardEventsServlet destroyed");
+    }
+}
@@ -1,11 +1,16 @@
 package com.disc.controller;
 
+import com.disc.dao.DailyStatsDAO;
 import com.disc.dao.TestLinkDAO;
-import com.disc.dao.ResultDAO;
-import com.disc.dao.UserDAO;
 import com.disc.dao.AnswerDAO;
 import com.disc.model.Admin;
+import com.disc.model.DailyStats;
+import com.disc.util.AppConfig;
 import com.disc.util.DBUtil;
+import com.disc.util.DashboardEventBus;
+import com.disc.util.DateRange;
+import com.disc.util.SnapshotCache;
+import com.disc.util.UnitOfWork;
 import com.google.gson.Gson;
 
 import javax.servlet.ServletException;
@@ -28,16 +33,53 @@ import java.util.logging.Level;
 
 /**
  * Servlet for admin dashboard with statistics and management features
+ *
+ * All counters are read from the daily_stats rollup, so a panel costs one
+ * indexed read of at most one row per day instead of aggregates over the
+ * source tables. All panels are computed together into one snapshot that is
+ * shared by every admin for dashboard.snapshot.ttl-ms, so the database load
+ * does not grow with the number of admins watching.
  */
 @WebServlet("/admin/dashboard")
 public class DashboardServlet extends HttpServlet {
 
     private static final Logger logger = Logger.getLogger(DashboardServlet.class.getName());
 
+    private static final long DEFAULT_SNAPSHOT_TTL_MS = 5000;
+    private static final long DEFAULT_SNAPSHOT_MAX_STALE_MS = 60000;
+
     private TestLinkDAO testLinkDAO;
-    private ResultDAO resultDAO;
-    private UserDAO userDAO;
+    private DailyStatsDAO dailyStatsDAO;
     private AnswerDAO answerDAO;
+    private SnapshotCache<DashboardSnapshot> snapshots;
+
+    /**
+     * All dashboard panels, computed together from one read snapshot
+     */
+    private static final class DashboardSnapshot {
+        private final Map<String, Object> stats;
+        private final List<Map<String, Object>> recentActivity;
+        private final List<Map<String, Object>> completionTrend;
+        private final Map<String, Integer> discTypeDistribution;
+        private final String completionTrendJson;
+        private final String discTypeDistributionJson;
+        private final LocalDateTime computedAt;
+
+        private DashboardSnapshot(Map<String, Object> stats, List<Map<String, Object>> recentActivity,
+                                  List<Map<String, Object>> completionTrend,
+                                  Map<String, Integer> discTypeDistribution) {
+            this.stats = stats;
+            this.recentActivity = recentActivity;
+            this.completionTrend = completionTrend;
+            this.discTypeDistribution = discTypeDistribution;
+
+            // Convert data to JSON for charts once per snapshot
+            Gson gson = new Gson();
+            this.completionTrendJson = gson.toJson(completionTrend);
+            this.discTypeDistributionJson = gson.toJson(discTypeDistribution);
+            this.computedAt = LocalDateTime.now(DateRange.zone());
+        }
+    }
 
     @Override
     public void init() throws ServletException {
@@ -51,10 +93,16 @@ public class DashboardServlet extends HttpServlet {
 
             // Initialize DAOs
             testLinkDAO = new TestLinkDAO();
-            resultDAO = new ResultDAO();
-            userDAO = new UserDAO();
+            dailyStatsDAO = new DailyStatsDAO();
             answerDAO = new AnswerDAO();
 
+            snapshots = new SnapshotCache<>("dashboard", this::computeSnapshot,
+                AppConfig.getLong("dashboard.snapshot.ttl-ms", DEFAULT_SNAPSHOT_TTL_MS),
+                AppConfig.getLong("dashboard.snapshot.max-stale-ms", DEFAULT_SNAPSHOT_MAX_STALE_MS));
+
+            // Live events carry the statistics of a fresh snapshot, computed once for all listeners
+            DashboardEventBus.setStatsLoader(() -> snapshots.refresh().stats);
+
             logger.info("DashboardServlet initialized successfully");
 
         } catch (SQLException e) {
@@ -77,29 +125,16 @@ public class DashboardServlet extends HttpServlet {
         Admin admin = (Admin) session.getAttribute("adminUser");
 
         try {
-            // Get dashboard statistics
-            Map<String, Object> dashboardStats = getDashboardStatistics();
-
-            // Get recent activity
-            List<Map<String, Object>> recentActivity = getRecentActivity(10);
-
-            // Get completion rate by date (last 7 days)
-            List<Map<String, Object>> completionTrend = getCompletionTrend(7);
-
-            // Get DISC type distribution
-            Map<String, Integer> discTypeDistribution = getDiscTypeDistribution();
+            DashboardSnapshot snapshot = snapshots.get();
 
             // Set attributes for JSP
-            request.setAttribute("dashboardStats", dashboardStats);
-            request.setAttribute("recentActivity", recentActivity);
-            request.setAttribute("completionTrend", completionTrend);
-            request.setAttribute("discTypeDistribution", discTypeDistribution);
+            request.setAttribute("dashboardStats", snapshot.stats);
+            request.setAttribute("recentActivity", snapshot.recentActivity);
+            request.setAttribute("completionTrend", snapshot.completionTrend);
+            request.setAttribute("discTypeDistribution", snapshot.discTypeDistribution);
             request.setAttribute("adminUser", admin);
-
-            // Convert data to JSON for charts
-            Gson gson = new Gson();
-            request.setAttribute("completionTrendJson", gson.toJson(completionTrend));
-            request.setAttribute("discTypeDistributionJson", gson.toJson(discTypeDistribution));
+            request.setAttribute("completionTrendJson", snapshot.completionTrendJson);
+            request.setAttribute("discTypeDistributionJson", snapshot.discTypeDistributionJson);
 
             // Forward to dashboard JSP
             request.getRequestDispatcher("/jsp/admin/dashboard.jsp").forward(request, response);
@@ -115,6 +150,22 @@ public class DashboardServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Compute every panel in one pass, inside one read transaction
+     */
+    private DashboardSnapshot computeSnapshot() throws SQLException {
+        UnitOfWork.begin();
+        try {
+            return new DashboardSnapshot(
+                getDashboardStatistics(),
+                getRecentActivity(10),
+                getCompletionTrend(7),
+                getDiscTypeDistribution());
+        } finally {
+            UnitOfWork.end();
+        }
+    }
+
     /**
      * Get comprehensive dashboard statistics
      */
@@ -122,24 +173,19 @@ public class DashboardServlet extends HttpServlet {
         Map<String, Object> stats = new HashMap<>();
 
         // Today's date for filtering
-        LocalDate today = LocalDate.now();
-        String todayStr = today.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
+        LocalDate today = DateRange.today();
 
         // Get today's statistics
-        Map<String, Object> todayStats = getTodayStatistics(todayStr);
+        Map<String, Object> todayStats = getTodayStatistics(today);
         stats.put("today", todayStats);
 
         // Get overall statistics
-        stats.put("totalUsers", userDAO.getUserCount());
-        stats.put("totalTestLinks", testLinkDAO.getTotalTestLinkCount());
-        stats.put("totalCompletedTests", testLinkDAO.getCompletedTestCount());
-        stats.put("totalResults", resultDAO.getTotalResultCount());
-
-        // Calculate overall completion rate
-        long totalLinks = testLinkDAO.getTotalTestLinkCount();
-        long completedLinks = testLinkDAO.getCompletedTestCount();
-        double overallCompletionRate = totalLinks > 0 ? (double) completedLinks / totalLinks * 100 : 0;
-        stats.put("overallCompletionRate", Math.round(overallCompletionRate * 100.0) / 100.0);
+        DailyStats totals = dailyStatsDAO.getTotals(null, null);
+        stats.put("totalUsers", totals.getNewUsers());
+        stats.put("totalTestLinks", totals.getLinksCreated());
+        stats.put("totalCompletedTests", totals.getTestsCompleted());
+        stats.put("totalResults", totals.getResultsCreated());
+        stats.put("overallCompletionRate", totals.getCompletionRate());
 
         // Get this week's statistics
         LocalDate weekStart = today.minusDays(today.getDayOfWeek().getValue() - 1);
@@ -157,29 +203,17 @@ public class DashboardServlet extends HttpServlet {
     /**
      * Get today's specific statistics
      */
-    private Map<String, Object> getTodayStatistics(String todayStr) throws SQLException {
+    private Map<String, Object> getTodayStatistics(LocalDate today) throws SQLException {
         Map<String, Object> todayStats = new HashMap<>();
+        DailyStats stats = dailyStatsDAO.getTotals(today, today);
 
-        // Get today's created test links
-        long todayLinks = testLinkDAO.getTestLinkCountByDate(todayStr);
-        todayStats.put("linksCreated", todayLinks);
-
-        // Get today's completed tests
-        long todayCompleted = testLinkDAO.getCompletedTestCountByDate(todayStr);
-        todayStats.put("testsCompleted", todayCompleted);
-
-        // Calculate today's completion rate
-        double todayCompletionRate = todayLinks > 0 ? (double) todayCompleted / todayLinks * 100 : 0;
-        todayStats.put("completionRate", Math.round(todayCompletionRate * 100.0) / 100.0);
+        todayStats.put("linksCreated", stats.getLinksCreated());
+        todayStats.put("testsCompleted", stats.getTestsCompleted());
+        todayStats.put("completionRate", stats.getCompletionRate());
+        todayStats.put("newUsers", stats.getNewUsers());
 
-        // Get today's new users
-        long todayUsers = userDAO.getUserCountByDate(todayStr);
-        todayStats.put("newUsers", todayUsers);
-
-        // Get today's started but not completed tests
-        long todayStarted = testLinkDAO.getStartedTestCountByDate(todayStr);
-        long todayInProgress = todayStarted - todayCompleted;
-        todayStats.put("testsInProgress", todayInProgress);
+        // Started but not completed tests
+        todayStats.put("testsInProgress", stats.getTestsStarted() - stats.getTestsCompleted());
 
         return todayStats;
     }
@@ -189,25 +223,12 @@ public class DashboardServlet extends HttpServlet {
      */
     private Map<String, Object> getDateRangeStatistics(LocalDate startDate, LocalDate endDate) throws SQLException {
         Map<String, Object> stats = new HashMap<>();
+        DailyStats totals = dailyStatsDAO.getTotals(startDate, endDate);
 
-        String startDateStr = startDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-        String endDateStr = endDate.format(DateTimeFormatter.ofPattern("yyyy-MM-dd"));
-
-        // Get links created in range
-        long linksCreated = testLinkDAO.getTestLinkCountInDateRange(startDateStr, endDateStr);
-        stats.put("linksCreated", linksCreated);
-
-        // Get tests completed in range
-        long testsCompleted = testLinkDAO.getCompletedTestCountInDateRange(startDateStr, endDateStr);
-        stats.put("testsCompleted", testsCompleted);
-
-        // Calculate completion rate for range
-        double completionRate = linksCreated > 0 ? (double) testsCompleted / linksCreated * 100 : 0;
-        stats.put("completionRate", Math.round(completionRate * 100.0) / 100.0);
-
-        // Get new users in range
-        long newUsers = userDAO.getUserCountInDateRange(startDateStr, endDateStr);
-        stats.put("newUsers", newUsers);
+        stats.put("linksCreated", totals.getLinksCreated());
+        stats.put("testsCompleted", totals.getTestsCompleted());
+        stats.put("completionRate", totals.getCompletionRate());
+        stats.put("newUsers", totals.getNewUsers());
 
         return stats;
     }
@@ -259,24 +280,15 @@ public class DashboardServlet extends HttpServlet {
     private List<Map<String, Object>> getCompletionTrend(int days) throws SQLException {
         List<Map<String, Object>> trend = new ArrayList<>();
 
-        LocalDate today = LocalDate.now();
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+        LocalDate today = DateRange.today();
         DateTimeFormatter displayFormatter = DateTimeFormatter.ofPattern("MM/dd");
 
-        for (int i = days - 1; i >= 0; i--) {
-            LocalDate date = today.minusDays(i);
-            String dateStr = date.format(formatter);
-
-            long linksCreated = testLinkDAO.getTestLinkCountByDate(dateStr);
-            long testsCompleted = testLinkDAO.getCompletedTestCountByDate(dateStr);
-
-            double completionRate = linksCreated > 0 ? (double) testsCompleted / linksCreated * 100 : 0;
-
+        for (DailyStats day : dailyStatsDAO.getDailyStats(today.minusDays(days - 1), today)) {
             Map<String, Object> dayData = new HashMap<>();
-            dayData.put("date", date.format(displayFormatter));
-            dayData.put("linksCreated", linksCreated);
-            dayData.put("testsCompleted", testsCompleted);
-            dayData.put("completionRate", Math.round(completionRate * 100.0) / 100.0);
+            dayData.put("date", day.getDay().format(displayFormatter));
+            dayData.put("linksCreated", day.getLinksCreated());
+            dayData.put("testsCompleted", day.getTestsCompleted());
+            dayData.put("completionRate", day.getCompletionRate());
 
             trend.add(dayData);
         }
@@ -288,7 +300,7 @@ public class DashboardServlet extends HttpServlet {
      * Get DISC type distribution from completed tests
      */
     private Map<String, Integer> getDiscTypeDistribution() throws SQLException {
-        return resultDAO.getDiscTypeDistribution();
+        return dailyStatsDAO.getTotals(null, null).getTypeDistribution();
     }
 
     @Override
@@ -300,6 +312,8 @@ public class DashboardServlet extends HttpServlet {
         if ("refreshStats".equals(action)) {
             // Handle AJAX request for refreshing statistics
             handleRefreshStats(request, response);
+        } else if ("rebuildStats".equals(action)) {
+            handleRebuildStats(response);
         } else {
             // For other POST requests, redirect to GET
             doGet(request, response);
@@ -316,12 +330,12 @@ public class DashboardServlet extends HttpServlet {
         response.setCharacterEncoding("UTF-8");
 
         try {
-            Map<String, Object> stats = getDashboardStatistics();
+            DashboardSnapshot snapshot = snapshots.get();
             Gson gson = new Gson();
             String jsonResponse = gson.toJson(Map.of(
                 "success", true,
-                "data", stats,
-                "timestamp", LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
+                "data", snapshot.stats,
+                "timestamp", snapshot.computedAt.format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"))
             ));
 
             response.getWriter().write(jsonResponse);
@@ -333,8 +347,34 @@ public class DashboardServlet extends HttpServlet {
         }
     }
 
+    /**
+     * Handle AJAX request to rebuild the daily statistics from the source tables
+     */
+    private void handleRebuildStats(HttpServletResponse response) throws IOException {
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+
+        try {
+            dailyStatsDAO.rebuild();
+            snapshots.invalidate();
+            Gson gson = new Gson();
+            response.getWriter().write(gson.toJson(Map.of(
+                "success", true,
+                "data", snapshots.refresh().stats
+            )));
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error rebuilding daily statistics", e);
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            response.getWriter().write("{\"success\": false, \"message\": \"통계 재계산 실패\"}");
+        }
+    }
+
     @Override
     public void destroy() {
+        if (snapshots != null) {
+            snapshots.shutdown();
+        }
         super.destroy();
         logger.info("DashboardServlet destroyed");
     }
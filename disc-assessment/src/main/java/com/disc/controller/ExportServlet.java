@@ -0,0 +1,308 @@
+package com.disc.controller;
+
+import com.disc.dao.AnswerDAO;
+import com.disc.dao.ResultDAO;
+import com.disc.model.Answer;
+import com.disc.model.TestLink;
+import com.disc.util.DBUtil;
+import com.disc.util.DateRange;
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+
+import javax.servlet.ServletException;
+import javax.servlet.annotation.WebServlet;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.zip.GZIPOutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Servlet for exporting results and answers as CSV or NDJSON
+ *
+ * Rows are written to the response while the database cursor is open, so
+ * only one row is held in memory regardless of the export size. Parameters:
+ * dataset (results|answers), format (csv|ndjson), from/to (yyyy-MM-dd),
+ * status and type (D/I/S/C). The response is gzip-encoded when the client
+ * accepts it.
+ */
+@WebServlet("/admin/export")
+public class ExportServlet extends HttpServlet {
+
+    private static final Logger logger = Logger.getLogger(ExportServlet.class.getName());
+
+    private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final int OUTPUT_BUFFER_SIZE = 16384;
+
+    private static final String[] RESULT_COLUMNS = {
+        "result_id", "test_link_id", "user_name", "status", "d_score", "i_score", "s_score", "c_score",
+        "result_type", "started_at", "completed_at", "created_at"
+    };
+
+    private static final String[] ANSWER_COLUMNS = {
+        "test_link_id", "user_name", "status", "question_num", "most_like", "least_like", "updated_at"
+    };
+
+    private ResultDAO resultDAO;
+    private AnswerDAO answerDAO;
+    private final Gson gson = new Gson();
+
+    @Override
+    public void init() throws ServletException {
+        super.init();
+
+        try {
+            // Initialize database if not already done
+            if (!DBUtil.isInitialized()) {
+                DBUtil.initialize(getServletContext());
+            }
+
+            resultDAO = new ResultDAO();
+            answerDAO = new AnswerDAO();
+
+            logger.info("ExportServlet initialized successfully");
+
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Failed to initialize ExportServlet", e);
+            throw new ServletException("Database initialization failed", e);
+        }
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        // Check admin session
+        HttpSession session = request.getSession(false);
+        if (session == null || session.getAttribute("adminUser") == null) {
+            response.sendRedirect(request.getContextPath() + "/admin/login");
+            return;
+        }
+
+        String dataset = parameterOrDefault(request, "dataset", "results");
+        String format = parameterOrDefault(request, "format", "csv");
+        DateRange range;
+        TestLink.Status status;
+        String resultType;
+
+        try {
+            if (!"results".equals(dataset) && !"answers".equals(dataset)) {
+                throw new IllegalArgumentException("Invalid dataset: " + dataset);
+            }
+            if (!"csv".equals(format) && !"ndjson".equals(format)) {
+                throw new IllegalArgumentException("Invalid format: " + format);
+            }
+            range = parseRange(request.getParameter("from"), request.getParameter("to"));
+            String statusParam = parameterOrDefault(request, "status", null);
+            status = statusParam != null ? TestLink.Status.fromString(statusParam) : null;
+            resultType = parameterOrDefault(request, "type", null);
+            if (resultType != null && !resultType.matches("[DISC]")) {
+                throw new IllegalArgumentException("Invalid result type: " + resultType);
+            }
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+            return;
+        }
+
+        boolean csv = "csv".equals(format);
+        String fileName = "disc-" + dataset + "-" + LocalDate.now(DateRange.zone()).format(FILE_DATE_FORMAT)
+                + (csv ? ".csv" : ".ndjson");
+        response.setContentType(csv ? "text/csv" : "application/x-ndjson");
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader("Content-Disposition", "attachment; filename=\"" + fileName + "\"");
+        response.setHeader("Cache-Control", "no-store");
+        response.setHeader("Vary", "Accept-Encoding");
+
+        boolean gzip = acceptsGzip(request);
+        if (gzip) {
+            response.setHeader("Content-Encoding", "gzip");
+        }
+
+        OutputStream out = response.getOutputStream();
+        if (gzip) {
+            out = new GZIPOutputStream(out, OUTPUT_BUFFER_SIZE);
+        }
+
+        long startTime = System.currentTimeMillis();
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), OUTPUT_BUFFER_SIZE);
+        try {
+            long rows;
+            if ("results".equals(dataset)) {
+                rows = exportResults(writer, csv, range, status, resultType);
+            } else {
+                rows = exportAnswers(writer, csv, range, status, resultType);
+            }
+            writer.close();
+
+            logger.info(String.format("Exported %d %s rows as %s in %d ms",
+                    rows, dataset, format, System.currentTimeMillis() - startTime));
+
+        } catch (UncheckedIOException e) {
+            // The client went away; the cursor has already been closed
+            logger.log(Level.FINE, "Export aborted by client", e.getCause());
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Database error during export", e);
+            // The writer is left open, so nothing beyond what was flushed has gone out
+            if (!response.isCommitted()) {
+                response.reset();
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+                return;
+            }
+            // Part of the body is sent: fail the request so the container aborts the
+            // connection and the client sees a failed download, not a short file
+            throw new ServletException("Export failed", e);
+        }
+    }
+
+    /**
+     * Write results with their test link and user, one per line
+     */
+    private long exportResults(Writer writer, boolean csv, DateRange range, TestLink.Status status,
+                               String resultType) throws SQLException, IOException {
+        if (csv) {
+            writer.write('\uFEFF'); // BOM so spreadsheet applications detect UTF-8
+            writeCsvRow(writer, (Object[]) RESULT_COLUMNS);
+        }
+
+        return resultDAO.streamResultsForExport(range, status, resultType, result -> {
+            TestLink testLink = result.getTestLink();
+            Object[] values = {
+                result.getId(),
+                result.getTestLinkId(),
+                testLink != null && testLink.getUser() != null ? testLink.getUser().getName() : null,
+                testLink != null ? testLink.getStatus().getValue() : null,
+                result.getDScore(),
+                result.getIScore(),
+                result.getSScore(),
+                result.getCScore(),
+                result.getResultType(),
+                testLink != null ? formatTimestamp(testLink.getStartedAt()) : null,
+                testLink != null ? formatTimestamp(testLink.getCompletedAt()) : null,
+                formatTimestamp(result.getCreatedAt())
+            };
+            writeRow(writer, csv, RESULT_COLUMNS, values);
+        });
+    }
+
+    /**
+     * Write answers, one question of one test link per line
+     */
+    private long exportAnswers(Writer writer, boolean csv, DateRange range, TestLink.Status status,
+                               String resultType) throws SQLException, IOException {
+        if (csv) {
+            writer.write('\uFEFF'); // BOM so spreadsheet applications detect UTF-8
+            writeCsvRow(writer, (Object[]) ANSWER_COLUMNS);
+        }
+
+        long[] rows = {0};
+        answerDAO.streamAnswerSheetsForExport(range, status, resultType, sheet -> {
+            TestLink testLink = sheet.getTestLink();
+            String userName = testLink != null && testLink.getUser() != null ? testLink.getUser().getName() : null;
+            String statusValue = testLink != null ? testLink.getStatus().getValue() : null;
+            String updatedAt = formatTimestamp(sheet.getUpdatedAt());
+
+            for (Answer answer : sheet.getAnswers()) {
+                Object[] values = {
+                    sheet.getTestLinkId(),
+                    userName,
+                    statusValue,
+                    answer.getQuestionNum(),
+                    answer.getMostLike(),
+                    answer.getLeastLike(),
+                    updatedAt
+                };
+                writeRow(writer, csv, ANSWER_COLUMNS, values);
+                rows[0]++;
+            }
+        });
+        return rows[0];
+    }
+
+    private void writeRow(Writer writer, boolean csv, String[] columns, Object[] values) {
+        try {
+            if (csv) {
+                writeCsvRow(writer, values);
+            } else {
+                JsonObject json = new JsonObject();
+                for (int i = 0; i < columns.length; i++) {
+                    Object value = values[i];
+                    if (value instanceof Number) {
+                        json.addProperty(columns[i], (Number) value);
+                    } else {
+                        json.addProperty(columns[i], value != null ? value.toString() : null);
+                    }
+                }
+                gson.toJson(json, writer);
+                writer.write('\n');
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            if (values[i] != null) {
+                writer.write(escapeCsv(values[i].toString()));
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    /**
+     * Quote a CSV field if needed and neutralize leading formula characters
+     */
+    private static String escapeCsv(String value) {
+        if (!value.isEmpty() && "=+-@".indexOf(value.charAt(0)) >= 0 && !value.matches("-?\\d+")) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return "\"" + value.replace("\"", "\"\"") + "\"";
+        }
+        return value;
+    }
+
+    private static String formatTimestamp(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime().format(TIMESTAMP_FORMAT) : null;
+    }
+
+    /**
+     * Parse the optional from/to dates; a missing bound leaves that side open
+     */
+    private static DateRange parseRange(String from, String to) {
+        boolean hasFrom = from != null && !from.trim().isEmpty();
+        boolean hasTo = to != null && !to.trim().isEmpty();
+        if (!hasFrom && !hasTo) {
+            return null;
+        }
+        return DateRange.ofDays(hasFrom ? from.trim() : "1970-01-01", hasTo ? to.trim() : "9999-12-31");
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader("Accept-Encoding");
+        return acceptEncoding != null && acceptEncoding.toLowerCase().contains("gzip");
+    }
+
+    private static String parameterOrDefault(HttpServletRequest request, String name, String defaultValue) {
+        String value = request.getParameter(name);
+        return value != null && !value.trim().isEmpty() ? value.trim() : defaultValue;
+    }
+}
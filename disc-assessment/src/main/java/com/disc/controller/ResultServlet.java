@@ -6,6 +6,7 @@ import com.disc.dao.UserDAO;
 import com.disc.model.TestLink;
 import com.disc.model.Result;
 import com.disc.model.User;
+import com.disc.util.AsyncRequest;
 import com.disc.util.DBUtil;
 import com.disc.util.ResultCalculator;
 import com.disc.util.DiscTypeDescriptions;
@@ -18,22 +19,32 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.HttpSession;
 import java.io.IOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.sql.SQLException;
 import java.util.Map;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Arrays;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * Servlet for displaying DISC test results
+ *
+ * The result is loaded on the DB executor (DBUtil.submitAsync) while the
+ * request is in async mode, and the page is rendered by an async dispatch.
  */
-@WebServlet("/result")
+@WebServlet(urlPatterns = "/result", asyncSupported = true)
 public class ResultServlet extends HttpServlet {
     
     private static final Logger logger = Logger.getLogger(ResultServlet.class.getName());
     
+    // Seconds a client is asked to wait before reloading when the server is busy
+    private static final String RETRY_AFTER_SECONDS = "5";
+    
     private TestLinkDAO testLinkDAO;
     private ResultDAO resultDAO;
     private UserDAO userDAO;
@@ -75,114 +86,162 @@ public class ResultServlet extends HttpServlet {
             return;
         }
         
-        try {
-            // Find test link by token
-            TestLink testLink = testLinkDAO.getTestLinkByUrl(token.trim());
-            if (testLink == null) {
-                response.sendRedirect(request.getContextPath() + "/jsp/login.jsp?error=invalid_token");
-                return;
-            }
-            
-            // Check if test is completed
-            if (testLink.getStatus() != TestLink.Status.검사완료) {
-                // Redirect back to test page if not completed
-                User user = userDAO.getUserById(testLink.getUserId());
-                if (user != null) {
-                    String redirectUrl = String.format("%s/test?name=%s&token=%s", 
-                        request.getContextPath(),
-                        java.net.URLEncoder.encode(user.getName(), "UTF-8"),
-                        java.net.URLEncoder.encode(token, "UTF-8"));
-                    response.sendRedirect(redirectUrl);
-                } else {
-                    response.sendRedirect(request.getContextPath() + "/jsp/login.jsp?error=user_not_found");
+        // Load the result on the DB executor; the request thread is released meanwhile
+        String contextPath = request.getContextPath();
+        AsyncRequest asyncRequest = AsyncRequest.start(request, (req, res) -> {
+            res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            res.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+            return "/jsp/error.jsp?message=server_busy";
+        });
+        
+        asyncRequest.cancelOnTimeout(DBUtil.submitAsync(() -> loadResultView(token.trim(), contextPath)))
+            .whenComplete((view, error) -> asyncRequest.respond((req, res) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof RejectedExecutionException) {
+                        logger.warning("Result request refused: " + cause.getMessage());
+                        res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+                        res.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+                        return "/jsp/error.jsp?message=server_busy";
+                    }
+                    if (cause instanceof SQLException) {
+                        logger.log(Level.SEVERE, "Database error in ResultServlet", cause);
+                        res.sendRedirect(contextPath + "/jsp/error.jsp?message=database_error");
+                    } else {
+                        logger.log(Level.SEVERE, "Unexpected error in ResultServlet", cause);
+                        res.sendRedirect(contextPath + "/jsp/error.jsp?message=system_error");
+                    }
+                    return null;
                 }
-                return;
-            }
-            
-            // Get result from database
-            Result result = resultDAO.getResultByTestLinkId(testLink.getId());
-            if (result == null) {
-                // Result not found, try to calculate it
-                logger.warning("Result not found for testLinkId: " + testLink.getId() + ", attempting to calculate");
                 
-                try {
-                    Map<String, Integer> scores = resultCalculator.calculateScores(testLink.getId());
-                    result = new Result(
-                        testLink.getId(),
-                        scores.get("D"),
-                        scores.get("I"),
-                        scores.get("S"),
-                        scores.get("C")
-                    );
-                    result = resultDAO.saveOrUpdateResult(result);
-                    
-                } catch (SQLException e) {
-                    logger.log(Level.SEVERE, "Failed to calculate result for testLinkId: " + testLink.getId(), e);
-                    response.sendRedirect(request.getContextPath() + "/jsp/error.jsp?message=result_calculation_failed");
-                    return;
+                if (view.redirectUrl != null) {
+                    res.sendRedirect(view.redirectUrl);
+                    return null;
                 }
-            }
-            
-            // Get user information
+                
+                // Prepare result data for JSP
+                for (Map.Entry<String, Object> attribute : view.attributes.entrySet()) {
+                    req.setAttribute(attribute.getKey(), attribute.getValue());
+                }
+                
+                // Store in session for potential future use
+                HttpSession session = req.getSession();
+                session.setAttribute("testResult", view.attributes.get("result"));
+                session.setAttribute("userName", view.attributes.get("userName"));
+                
+                // Forward to result page
+                return "/jsp/result.jsp";
+            }));
+    }
+    
+    /**
+     * Result page data, or where to send the client instead
+     */
+    private static final class ResultView {
+        private final String redirectUrl;
+        private final Map<String, Object> attributes;
+        
+        private ResultView(String redirectUrl, Map<String, Object> attributes) {
+            this.redirectUrl = redirectUrl;
+            this.attributes = attributes;
+        }
+        
+        private static ResultView redirect(String url) {
+            return new ResultView(url, null);
+        }
+    }
+    
+    /**
+     * Load everything the result page shows; runs on the DB executor
+     */
+    private ResultView loadResultView(String token, String contextPath) throws SQLException {
+        // Find test link by token
+        TestLink testLink = testLinkDAO.getTestLinkByUrl(token);
+        if (testLink == null) {
+            return ResultView.redirect(contextPath + "/jsp/login.jsp?error=invalid_token");
+        }
+        
+        // Check if test is completed
+        if (testLink.getStatus() != TestLink.Status.검사완료) {
+            // Redirect back to test page if not completed
             User user = userDAO.getUserById(testLink.getUserId());
-            if (user == null) {
-                response.sendRedirect(request.getContextPath() + "/jsp/login.jsp?error=user_not_found");
-                return;
+            if (user != null) {
+                return ResultView.redirect(String.format("%s/test?name=%s&token=%s", 
+                    contextPath,
+                    URLEncoder.encode(user.getName(), StandardCharsets.UTF_8),
+                    URLEncoder.encode(token, StandardCharsets.UTF_8)));
             }
+            return ResultView.redirect(contextPath + "/jsp/login.jsp?error=user_not_found");
+        }
+        
+        // Get result from database
+        Result result = resultDAO.getResultByTestLinkId(testLink.getId());
+        if (result == null) {
+            // Result not found, try to calculate it
+            logger.warning("Result not found for testLinkId: " + testLink.getId() + ", attempting to calculate");
             
-            // Calculate additional result data
-            Map<String, Object> detailedResult = resultCalculator.calculateDetailedResult(testLink.getId());
-            Map<String, Double> percentages = resultCalculator.calculatePercentages(result.getScoresAsMap());
-            
-            // Get DISC type descriptions
-            String primaryType = result.getResultType();
-            Map<String, Object> typeDescription = DiscTypeDescriptions.getTypeDescription(primaryType);
-            Map<String, Map<String, Object>> allTypeDescriptions = DiscTypeDescriptions.getAllTypeDescriptions();
-            List<String> careerRecommendations = DiscTypeDescriptions.getCareerRecommendations(primaryType);
-            Map<String, Object> compatibility = DiscTypeDescriptions.getTypeCompatibility(primaryType);
-            
-            // Prepare chart data for JSON serialization
-            Map<String, Object> chartData = new HashMap<>();
-            chartData.put("scores", result.getScoresAsMap());
-            chartData.put("percentages", percentages);
-            chartData.put("labels", Arrays.asList("D (주도형)", "I (사교형)", "S (안정형)", "C (신중형)"));
-            chartData.put("colors", Arrays.asList("#e74c3c", "#f39c12", "#27ae60", "#3498db"));
-            
-            // Convert chart data to JSON string for JSP
-            Gson gson = new Gson();
-            String chartDataJson = gson.toJson(chartData);
-            
-            // Prepare result data for JSP
-            request.setAttribute("result", result);
-            request.setAttribute("testLink", testLink);
-            request.setAttribute("user", user);
-            request.setAttribute("percentages", percentages);
-            request.setAttribute("detailedResult", detailedResult);
-            request.setAttribute("primaryType", primaryType);
-            request.setAttribute("typeDescription", typeDescription);
-            request.setAttribute("allTypeDescriptions", allTypeDescriptions);
-            request.setAttribute("careerRecommendations", careerRecommendations);
-            request.setAttribute("compatibility", compatibility);
-            request.setAttribute("chartDataJson", chartDataJson);
-            
-            // Set user name for display
-            request.setAttribute("userName", user.getName());
-            
-            // Store in session for potential future use
-            HttpSession session = request.getSession();
-            session.setAttribute("testResult", result);
-            session.setAttribute("userName", user.getName());
-            
-            // Forward to result page
-            request.getRequestDispatcher("/jsp/result.jsp").forward(request, response);
-            
-        } catch (SQLException e) {
-            logger.log(Level.SEVERE, "Database error in ResultServlet", e);
-            response.sendRedirect(request.getContextPath() + "/jsp/error.jsp?message=database_error");
-        } catch (Exception e) {
-            logger.log(Level.SEVERE, "Unexpected error in ResultServlet", e);
-            response.sendRedirect(request.getContextPath() + "/jsp/error.jsp?message=system_error");
+            try {
+                Map<String, Integer> scores = resultCalculator.calculateScores(testLink.getId());
+                result = new Result(
+                    testLink.getId(),
+                    scores.get("D"),
+                    scores.get("I"),
+                    scores.get("S"),
+                    scores.get("C")
+                );
+                result = resultDAO.saveOrUpdateResult(result);
+                
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Failed to calculate result for testLinkId: " + testLink.getId(), e);
+                return ResultView.redirect(contextPath + "/jsp/error.jsp?message=result_calculation_failed");
+            }
+        }
+        
+        // Get user information
+        User user = userDAO.getUserById(testLink.getUserId());
+        if (user == null) {
+            return ResultView.redirect(contextPath + "/jsp/login.jsp?error=user_not_found");
         }
+        
+        // Calculate additional result data
+        Map<String, Object> detailedResult = resultCalculator.calculateDetailedResult(testLink.getId());
+        Map<String, Double> percentages = resultCalculator.calculatePercentages(result.getScoresAsMap());
+        
+        // Get DISC type descriptions
+        String primaryType = result.getResultType();
+        Map<String, Object> typeDescription = DiscTypeDescriptions.getTypeDescription(primaryType);
+        Map<String, Map<String, Object>> allTypeDescriptions = DiscTypeDescriptions.getAllTypeDescriptions();
+        List<String> careerRecommendations = DiscTypeDescriptions.getCareerRecommendations(primaryType);
+        Map<String, Object> compatibility = DiscTypeDescriptions.getTypeCompatibility(primaryType);
+        
+        // Prepare chart data for JSON serialization
+        Map<String, Object> chartData = new HashMap<>();
+        chartData.put("scores", result.getScoresAsMap());
+        chartData.put("percentages", percentages);
+        chartData.put("labels", Arrays.asList("D (주도형)", "I (사교형)", "S (안정형)", "C (신중형)"));
+        chartData.put("colors", Arrays.asList("#e74c3c", "#f39c12", "#27ae60", "#3498db"));
+        
+        // Convert chart data to JSON string for JSP
+        Gson gson = new Gson();
+        String chartDataJson = gson.toJson(chartData);
+        
+        Map<String, Object> attributes = new HashMap<>();
+        attributes.put("result", result);
+        attributes.put("testLink", testLink);
+        attributes.put("user", user);
+        attributes.put("percentages", percentages);
+        attributes.put("detailedResult", detailedResult);
+        attributes.put("primaryType", primaryType);
+        attributes.put("typeDescription", typeDescription);
+        attributes.put("allTypeDescriptions", allTypeDescriptions);
+        attributes.put("careerRecommendations", careerRecommendations);
+        attributes.put("compatibility", compatibility);
+        attributes.put("chartDataJson", chartDataJson);
+        
+        // Set user name for display
+        attributes.put("userName", user.getName());
+        
+        return new ResultView(null, attributes);
     }
     
     @Override
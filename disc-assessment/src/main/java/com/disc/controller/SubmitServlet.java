@@ -6,7 +6,9 @@ import com.disc.dao.ResultDAO;
 import com.disc.model.TestLink;
 import com.disc.model.Answer;
 import com.disc.model.Result;
+import com.disc.util.AsyncRequest;
 import com.disc.util.DBUtil;
+import com.disc.util.DashboardEventBus;
 import com.disc.util.ResultCalculator;
 import com.google.gson.Gson;
 import com.google.gson.JsonObject;
@@ -24,17 +26,27 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
 /**
  * Servlet for handling DISC test submission and result calculation
+ *
+ * The submission transaction runs on the DB executor (DBUtil.submitAsync)
+ * while the request is in async mode, so a request waiting for the single
+ * writer does not hold a container thread.
  */
-@WebServlet("/submit")
+@WebServlet(urlPatterns = "/submit", asyncSupported = true)
 public class SubmitServlet extends HttpServlet {
     
     private static final Logger logger = Logger.getLogger(SubmitServlet.class.getName());
     
+    // Seconds a client is asked to wait before retrying a refused submission
+    private static final String RETRY_AFTER_SECONDS = "5";
+    
     private TestLinkDAO testLinkDAO;
     private AnswerDAO answerDAO;
     private ResultDAO resultDAO;
@@ -136,18 +148,42 @@ public class SubmitServlet extends HttpServlet {
                 }
             }
             
-            // Process submission in transaction
+            // Process submission in transaction on the DB executor; the request thread is released meanwhile.
+            // A submission still queued at the timeout is skipped; a running one may still commit,
+            // and resubmitting replaces it.
             Long testLinkId = testLink.getId();
-            Result result = processSubmission(testLinkId, parsedAnswers);
+            AsyncRequest asyncRequest = AsyncRequest.start(request, (req, res) -> {
+                sendBusyResponse(res);
+                return null;
+            });
             
-            if (result != null) {
-                // Update session with result
-                session.setAttribute("testResult", result);
-                
-                sendSuccessResponse(response, "검사가 성공적으로 완료되었습니다.", result.getId());
-            } else {
-                sendErrorResponse(response, "결과 처리 중 오류가 발생했습니다.");
-            }
+            CompletableFuture<Result> submission = asyncRequest.cancelOnTimeout(DBUtil.submitAsync(() -> {
+                Result result = processSubmission(testLinkId, parsedAnswers);
+                if (result != null) {
+                    // Recorded once committed, whether the response or the timeout answers the request
+                    DashboardEventBus.publish(DashboardEventBus.TESTS_COMPLETED, 1);
+                    session.setAttribute("testResult", result);
+                }
+                return result;
+            }));
+            
+            submission.whenComplete((result, error) -> asyncRequest.respond((req, res) -> {
+                if (error != null) {
+                    Throwable cause = error instanceof CompletionException ? error.getCause() : error;
+                    if (cause instanceof RejectedExecutionException) {
+                        logger.warning("Submission refused for testLinkId " + testLinkId + ": " + cause.getMessage());
+                        sendBusyResponse(res);
+                    } else {
+                        logger.log(Level.SEVERE, "Error in SubmitServlet", cause);
+                        sendErrorResponse(res, "서버 오류가 발생했습니다. 잠시 후 다시 시도해주세요.");
+                    }
+                } else if (result != null) {
+                    sendSuccessResponse(res, "검사가 성공적으로 완료되었습니다.", result.getId());
+                } else {
+                    sendErrorResponse(res, "결과 처리 중 오류가 발생했습니다.");
+                }
+                return null;
+            }));
             
         } catch (Exception e) {
             logger.log(Level.SEVERE, "Error in SubmitServlet", e);
@@ -157,6 +193,10 @@ public class SubmitServlet extends HttpServlet {
     
     /**
      * Process the complete submission workflow
+     * 
+     * All steps run inside one transaction: the DAO calls below join the
+     * connection bound by executeTransaction, so a submission commits once
+     * and either every step is persisted or none is.
      */
     private Result processSubmission(Long testLinkId, Map<Integer, Map<String, String>> parsedAnswers) 
             throws SQLException {
@@ -164,13 +204,7 @@ public class SubmitServlet extends HttpServlet {
         return DBUtil.executeTransaction(connection -> {
             logger.info("Starting submission process for testLinkId: " + testLinkId);
             
-            // Step 1: Delete existing answers (in case of resubmission)
-            int deletedCount = answerDAO.deleteAnswersByTestLinkId(testLinkId);
-            if (deletedCount > 0) {
-                logger.info("Deleted " + deletedCount + " existing answers for testLinkId: " + testLinkId);
-            }
-            
-            // Step 2: Save new answers
+            // Step 1: Collect the submitted answers
             List<Answer> answers = new ArrayList<>();
             for (Map.Entry<Integer, Map<String, String>> entry : parsedAnswers.entrySet()) {
                 Integer questionNum = entry.getKey();
@@ -186,8 +220,8 @@ public class SubmitServlet extends HttpServlet {
                 answers.add(answer);
             }
             
-            // Bulk insert answers
-            int savedCount = answerDAO.bulkInsertAnswers(answers);
+            // Step 2: Save the answer sheet, replacing any earlier answers (resubmission)
+            int savedCount = answerDAO.replaceAnswers(testLinkId, answers);
             logger.info("Saved " + savedCount + " answers for testLinkId: " + testLinkId);
             
             if (savedCount != 28) {
@@ -291,6 +325,15 @@ public class SubmitServlet extends HttpServlet {
         response.getWriter().write(jsonResponse.toString());
     }
     
+    /**
+     * Send the response for a submission that could not be processed in time
+     */
+    private void sendBusyResponse(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        sendErrorResponse(response, "접속자가 많아 처리가 지연되고 있습니다. 잠시 후 다시 제출해주세요.");
+    }
+    
     @Override
     protected void doGet(HttpServletRequest request, HttpServletResponse response) 
             throws ServletException, IOException {
@@ -7,6 +7,7 @@ import com.disc.model.TestLink;
 import com.disc.model.User;
 import com.disc.model.Question;
 import com.disc.util.DBUtil;
+import com.disc.util.DashboardEventBus;
 import com.disc.util.QuestionLoader;
 
 import javax.servlet.ServletException;
@@ -102,7 +103,9 @@ public class TestServlet extends HttpServlet {
             
             // Update test status to started if needed
             if (testLink.getStatus() == TestLink.Status.검사전) {
-                testLinkDAO.updateStartedAt(testLink.getId());
+                if (testLinkDAO.updateStartedAt(testLink.getId())) {
+                    DashboardEventBus.publish(DashboardEventBus.TESTS_STARTED, 1);
+                }
                 testLink.setStatus(TestLink.Status.검사중);
             }
             
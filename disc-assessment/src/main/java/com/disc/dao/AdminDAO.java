@@ -1,7 +1,10 @@
 package com.disc.dao;
 
 import com.disc.model.Admin;
+import com.disc.model.Page;
 import com.disc.util.DBUtil;
+import com.disc.util.PageCursor;
+import com.disc.util.DateRange;
 import org.apache.commons.codec.digest.DigestUtils;
 
 import java.sql.*;
@@ -41,7 +44,7 @@ public class AdminDAO {
             VALUES (?, ?, CURRENT_TIMESTAMP)
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, admin.getUsername().trim().toLowerCase());
                 pstmt.setString(2, passwordHash);
@@ -176,7 +179,7 @@ public class AdminDAO {
             WHERE id = ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, admin.getUsername().trim().toLowerCase());
                 pstmt.setString(2, admin.getPasswordHash());
@@ -204,7 +207,7 @@ public class AdminDAO {
         String hashedPassword = DigestUtils.sha256Hex(newPassword);
         String sql = "UPDATE admins SET password_hash = ? WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, hashedPassword);
                 pstmt.setLong(2, adminId);
@@ -229,7 +232,7 @@ public class AdminDAO {
         
         String sql = "UPDATE admins SET last_login_at = CURRENT_TIMESTAMP WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, adminId);
                 
@@ -253,7 +256,7 @@ public class AdminDAO {
         
         String sql = "DELETE FROM admins WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, adminId);
                 
@@ -264,33 +267,34 @@ public class AdminDAO {
     }
     
     /**
-     * Get all admins with pagination
+     * Get admins, newest first, one page at a time
      * 
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of admins
+     * @return Page of admins
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<Admin> getAdmins(int offset, int limit) throws SQLException {
+    public Page<Admin> getAdmins(String cursor, int limit) throws SQLException {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT id, username, password_hash, last_login_at, created_at 
-            FROM admins 
-            ORDER BY created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            SELECT id, username, password_hash, last_login_at, created_at
+            FROM admins
+            %s
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """.formatted(after != null ? "WHERE (created_at, id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setInt(1, limit);
-                pstmt.setInt(2, offset);
+                int index = after != null ? after.bind(pstmt, 1) : 1;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<Admin> admins = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        admins.add(mapResultSetToAdmin(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToAdmin);
                 }
-                return admins;
             }
         });
     }
@@ -308,7 +312,7 @@ public class AdminDAO {
             ORDER BY username
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Admin> admins = new ArrayList<>();
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
@@ -330,7 +334,7 @@ public class AdminDAO {
     public long getAdminCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM admins";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -414,17 +418,17 @@ public class AdminDAO {
      * @throws SQLException if query fails
      */
     public List<Admin> getAdminsByLoginDateRange(Timestamp startDate, Timestamp endDate) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
         String sql = """
             SELECT id, username, password_hash, last_login_at, created_at 
             FROM admins 
-            WHERE last_login_at BETWEEN ? AND ? 
+            WHERE last_login_epoch >= ? AND last_login_epoch < ?
             ORDER BY last_login_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setTimestamp(1, startDate);
-                pstmt.setTimestamp(2, endDate);
+                range.bind(pstmt, 1);
                 
                 List<Admin> admins = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
@@ -453,7 +457,7 @@ public class AdminDAO {
             LIMIT ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
                 
@@ -482,7 +486,7 @@ public class AdminDAO {
             ORDER BY created_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Admin> admins = new ArrayList<>();
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
@@ -549,7 +553,7 @@ public class AdminDAO {
             FROM admins
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -1,10 +1,17 @@
 package com.disc.dao;
 
 import com.disc.model.Answer;
+import com.disc.model.AnswerSheet;
+import com.disc.model.Page;
+import com.disc.model.TestLink;
+import com.disc.model.User;
 import com.disc.util.DBUtil;
+import com.disc.util.PageCursor;
+import com.disc.util.DateRange;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -13,6 +20,10 @@ import java.util.logging.Level;
 
 /**
  * Data Access Object for Answer operations
+ *
+ * Answers are stored packed, one answer_sheets row per test link (see
+ * AnswerSheet). Single-answer writes read, modify and rewrite the sheet on
+ * the writer thread, so concurrent updates to the same sheet cannot be lost.
  */
 public class AnswerDAO {
     
@@ -26,37 +37,22 @@ public class AnswerDAO {
      * @throws SQLException if creation fails
      */
     public Answer createAnswer(Answer answer) throws SQLException {
-        if (answer == null || !answer.isValid()) {
+        if (answer == null || !isStorable(answer)) {
             throw new IllegalArgumentException("Invalid answer data");
         }
         
-        String sql = """
-            INSERT INTO answers (test_link_id, question_num, most_like, least_like, created_at) 
-            VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
-            """;
-        
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-                pstmt.setLong(1, answer.getTestLinkId());
-                pstmt.setInt(2, answer.getQuestionNum());
-                pstmt.setString(3, answer.getMostLike());
-                pstmt.setString(4, answer.getLeastLike());
-                
-                int rowsAffected = pstmt.executeUpdate();
-                if (rowsAffected == 0) {
-                    throw new SQLException("Creating answer failed, no rows affected");
-                }
-                
-                try (ResultSet generatedKeys = pstmt.getGeneratedKeys()) {
-                    if (generatedKeys.next()) {
-                        answer.setId(generatedKeys.getLong(1));
-                    } else {
-                        throw new SQLException("Creating answer failed, no ID obtained");
-                    }
-                }
-                
-                return getAnswerById(answer.getId());
+        return DBUtil.executeWrite(connection -> {
+            AnswerSheet sheet = loadSheet(connection, answer.getTestLinkId());
+            if (sheet.isAnswered(answer.getQuestionNum())) {
+                throw new SQLException("Answer already exists for question " + answer.getQuestionNum()
+                    + " of testLinkId: " + answer.getTestLinkId());
             }
+            
+            sheet.setAnswer(answer.getQuestionNum(), answer.getMostLike(), answer.getLeastLike());
+            storeSheet(connection, sheet);
+            
+            answer.setId(AnswerSheet.answerId(answer.getTestLinkId(), answer.getQuestionNum()));
+            return loadSheet(connection, answer.getTestLinkId()).getAnswer(answer.getQuestionNum());
         });
     }
     
@@ -68,23 +64,17 @@ public class AnswerDAO {
      * @throws SQLException if operation fails
      */
     public Answer saveOrUpdateAnswer(Answer answer) throws SQLException {
-        if (answer == null || !answer.isValid()) {
+        if (answer == null || !isStorable(answer)) {
             throw new IllegalArgumentException("Invalid answer data");
         }
         
-        // Check if answer already exists for this test_link_id and question_num
-        Answer existingAnswer = getAnswerByTestLinkAndQuestion(answer.getTestLinkId(), answer.getQuestionNum());
-        
-        if (existingAnswer != null) {
-            // Update existing answer
-            existingAnswer.setMostLike(answer.getMostLike());
-            existingAnswer.setLeastLike(answer.getLeastLike());
-            updateAnswer(existingAnswer);
-            return existingAnswer;
-        } else {
-            // Create new answer
-            return createAnswer(answer);
-        }
+        return DBUtil.executeWrite(connection -> {
+            AnswerSheet sheet = loadSheet(connection, answer.getTestLinkId());
+            sheet.setAnswer(answer.getQuestionNum(), answer.getMostLike(), answer.getLeastLike());
+            storeSheet(connection, sheet);
+            
+            return loadSheet(connection, answer.getTestLinkId()).getAnswer(answer.getQuestionNum());
+        });
     }
     
     /**
@@ -95,27 +85,16 @@ public class AnswerDAO {
      * @throws SQLException if query fails
      */
     public Answer getAnswerById(Long answerId) throws SQLException {
-        if (answerId == null) {
+        if (answerId == null || answerId <= 0) {
             return null;
         }
         
-        String sql = """
-            SELECT id, test_link_id, question_num, most_like, least_like, created_at 
-            FROM answers WHERE id = ?
-            """;
+        int questionNum = AnswerSheet.questionNumOf(answerId);
+        if (questionNum < 1 || questionNum > AnswerSheet.QUESTION_COUNT) {
+            return null;
+        }
         
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setLong(1, answerId);
-                
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        return mapResultSetToAnswer(rs);
-                    }
-                    return null;
-                }
-            }
-        });
+        return getAnswerByTestLinkAndQuestion(AnswerSheet.testLinkIdOf(answerId), questionNum);
     }
     
     /**
@@ -127,28 +106,27 @@ public class AnswerDAO {
      * @throws SQLException if query fails
      */
     public Answer getAnswerByTestLinkAndQuestion(Long testLinkId, Integer questionNum) throws SQLException {
-        if (testLinkId == null || questionNum == null) {
+        if (testLinkId == null || questionNum == null
+                || questionNum < 1 || questionNum > AnswerSheet.QUESTION_COUNT) {
             return null;
         }
         
-        String sql = """
-            SELECT id, test_link_id, question_num, most_like, least_like, created_at 
-            FROM answers WHERE test_link_id = ? AND question_num = ?
-            """;
+        return getAnswerSheet(testLinkId).getAnswer(questionNum);
+    }
+    
+    /**
+     * Get the packed answer sheet of a test link
+     * 
+     * @param testLinkId Test link ID
+     * @return The sheet; empty if no answer has been saved yet
+     * @throws SQLException if query fails
+     */
+    public AnswerSheet getAnswerSheet(Long testLinkId) throws SQLException {
+        if (testLinkId == null) {
+            return new AnswerSheet();
+        }
         
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setLong(1, testLinkId);
-                pstmt.setInt(2, questionNum);
-                
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    if (rs.next()) {
-                        return mapResultSetToAnswer(rs);
-                    }
-                    return null;
-                }
-            }
-        });
+        return DBUtil.executeWithConnection(connection -> loadSheet(connection, testLinkId));
     }
     
     /**
@@ -163,26 +141,7 @@ public class AnswerDAO {
             return new ArrayList<>();
         }
         
-        String sql = """
-            SELECT id, test_link_id, question_num, most_like, least_like, created_at 
-            FROM answers 
-            WHERE test_link_id = ? 
-            ORDER BY question_num
-            """;
-        
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setLong(1, testLinkId);
-                
-                List<Answer> answers = new ArrayList<>();
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        answers.add(mapResultSetToAnswer(rs));
-                    }
-                }
-                return answers;
-            }
-        });
+        return getAnswerSheet(testLinkId).getAnswers();
     }
     
     /**
@@ -211,25 +170,25 @@ public class AnswerDAO {
      * @throws SQLException if update fails
      */
     public boolean updateAnswer(Answer answer) throws SQLException {
-        if (answer == null || answer.getId() == null || !answer.isValid()) {
+        if (answer == null || answer.getId() == null || !isStorable(answer)) {
             throw new IllegalArgumentException("Invalid answer data or missing ID");
         }
         
-        String sql = """
-            UPDATE answers 
-            SET most_like = ?, least_like = ? 
-            WHERE id = ?
-            """;
+        long testLinkId = AnswerSheet.testLinkIdOf(answer.getId());
+        int questionNum = AnswerSheet.questionNumOf(answer.getId());
+        if (questionNum < 1 || questionNum > AnswerSheet.QUESTION_COUNT) {
+            return false;
+        }
         
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, answer.getMostLike());
-                pstmt.setString(2, answer.getLeastLike());
-                pstmt.setLong(3, answer.getId());
-                
-                int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+        return DBUtil.executeWrite(connection -> {
+            AnswerSheet sheet = loadSheet(connection, testLinkId);
+            if (!sheet.isAnswered(questionNum)) {
+                return false;
             }
+            
+            sheet.setAnswer(questionNum, answer.getMostLike(), answer.getLeastLike());
+            storeSheet(connection, sheet);
+            return true;
         });
     }
     
@@ -241,19 +200,24 @@ public class AnswerDAO {
      * @throws SQLException if deletion fails
      */
     public boolean deleteAnswer(Long answerId) throws SQLException {
-        if (answerId == null) {
+        if (answerId == null || answerId <= 0) {
             return false;
         }
         
-        String sql = "DELETE FROM answers WHERE id = ?";
+        long testLinkId = AnswerSheet.testLinkIdOf(answerId);
+        int questionNum = AnswerSheet.questionNumOf(answerId);
+        if (questionNum < 1 || questionNum > AnswerSheet.QUESTION_COUNT) {
+            return false;
+        }
         
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setLong(1, answerId);
-                
-                int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+        return DBUtil.executeWrite(connection -> {
+            AnswerSheet sheet = loadSheet(connection, testLinkId);
+            if (!sheet.clearAnswer(questionNum)) {
+                return false;
             }
+            
+            storeSheet(connection, sheet);
+            return true;
         });
     }
     
@@ -269,13 +233,15 @@ public class AnswerDAO {
             return 0;
         }
         
-        String sql = "DELETE FROM answers WHERE test_link_id = ?";
+        String sql = "DELETE FROM answer_sheets WHERE test_link_id = ? RETURNING answered_count";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, testLinkId);
                 
-                return pstmt.executeUpdate();
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
             }
         });
     }
@@ -292,7 +258,7 @@ public class AnswerDAO {
             return 0;
         }
         
-        String sql = "SELECT COUNT(*) FROM answers WHERE test_link_id = ?";
+        String sql = "SELECT answered_count FROM answer_sheets WHERE test_link_id = ?";
         
         return DBUtil.executeWithConnection(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
@@ -316,7 +282,7 @@ public class AnswerDAO {
      * @throws SQLException if query fails
      */
     public boolean isTestComplete(Long testLinkId) throws SQLException {
-        return getAnswerCountByTestLinkId(testLinkId) >= 28;
+        return getAnswerCountByTestLinkId(testLinkId) >= AnswerSheet.QUESTION_COUNT;
     }
     
     /**
@@ -331,32 +297,7 @@ public class AnswerDAO {
             return new ArrayList<>();
         }
         
-        String sql = """
-            WITH RECURSIVE questions(n) AS (
-                SELECT 1
-                UNION ALL
-                SELECT n + 1 FROM questions WHERE n < 28
-            )
-            SELECT n FROM questions
-            WHERE n NOT IN (
-                SELECT question_num FROM answers WHERE test_link_id = ?
-            )
-            ORDER BY n
-            """;
-        
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setLong(1, testLinkId);
-                
-                List<Integer> missingQuestions = new ArrayList<>();
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        missingQuestions.add(rs.getInt("n"));
-                    }
-                }
-                return missingQuestions;
-            }
-        });
+        return getAnswerSheet(testLinkId).getMissingQuestions();
     }
     
     /**
@@ -399,9 +340,9 @@ public class AnswerDAO {
      * @throws SQLException if query fails
      */
     public long getAnswerCount() throws SQLException {
-        String sql = "SELECT COUNT(*) FROM answers";
+        String sql = "SELECT COALESCE(SUM(answered_count), 0) FROM answer_sheets";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -414,33 +355,60 @@ public class AnswerDAO {
     }
     
     /**
-     * Get answers with pagination
+     * Get answers one page at a time
+     * 
+     * Answers are ordered by the last update of their sheet, newest first,
+     * then by question number. The cursor records the sheet's updated_at and
+     * the ID of the last answer returned, so a page can end inside a sheet.
      * 
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of answers
+     * @return Page of answers
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<Answer> getAnswers(int offset, int limit) throws SQLException {
+    public Page<Answer> getAnswers(String cursor, int limit) throws SQLException {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT id, test_link_id, question_num, most_like, least_like, created_at 
-            FROM answers 
-            ORDER BY created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            SELECT test_link_id, answers, created_at, updated_at
+            FROM answer_sheets
+            %s
+            ORDER BY updated_at DESC, test_link_id DESC
+            """.formatted(after != null ? "WHERE (updated_at, test_link_id) <= (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setInt(1, limit);
-                pstmt.setInt(2, offset);
+                long cursorTestLinkId = after != null ? AnswerSheet.testLinkIdOf(after.getId()) : 0;
+                int cursorQuestionNum = after != null ? AnswerSheet.questionNumOf(after.getId()) : 0;
+                if (after != null) {
+                    pstmt.setString(1, after.getSortKey());
+                    pstmt.setLong(2, cursorTestLinkId);
+                }
                 
                 List<Answer> answers = new ArrayList<>();
+                String lastUpdatedAt = null;
+                
                 try (ResultSet rs = pstmt.executeQuery()) {
                     while (rs.next()) {
-                        answers.add(mapResultSetToAnswer(rs));
+                        AnswerSheet sheet = mapResultSetToSheet(rs);
+                        boolean cursorSheet = after != null && sheet.getTestLinkId() == cursorTestLinkId;
+                        
+                        for (Answer answer : sheet.getAnswers()) {
+                            if (cursorSheet && answer.getQuestionNum() <= cursorQuestionNum) {
+                                continue;
+                            }
+                            if (answers.size() == pageSize) {
+                                Answer last = answers.get(answers.size() - 1);
+                                return new Page<>(answers, PageCursor.encode(lastUpdatedAt, last.getId()));
+                            }
+                            answers.add(answer);
+                            lastUpdatedAt = rs.getString("updated_at");
+                        }
                     }
                 }
-                return answers;
+                return new Page<>(answers, null);
             }
         });
     }
@@ -450,29 +418,125 @@ public class AnswerDAO {
      * 
      * @param startDate Start date (inclusive)
      * @param endDate End date (inclusive)
-     * @return List of answers created within the date range
+     * @return List of answers whose sheet was last updated within the date range
      * @throws SQLException if query fails
      */
     public List<Answer> getAnswersByDateRange(Timestamp startDate, Timestamp endDate) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        
+        return DBUtil.executeRead(connection -> {
+            List<Answer> answers = new ArrayList<>();
+            streamAnswersByDateRange(connection, range, answers::add);
+            return answers;
+        });
+    }
+    
+    /**
+     * Stream answers updated within a date range
+     * 
+     * Each row is handed to the callback while the cursor is open, so memory
+     * use does not grow with the size of the range. The callback runs on the
+     * reader connection and should not issue further queries.
+     * 
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param callback Receives each answer in list order
+     * @return Number of answers delivered
+     * @throws SQLException if query fails or the callback fails
+     */
+    public long streamAnswersByDateRange(Timestamp startDate, Timestamp endDate,
+                                         DBUtil.RowCallback<Answer> callback) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        return DBUtil.executeStream(connection -> streamAnswersByDateRange(connection, range, callback));
+    }
+    
+    private long streamAnswersByDateRange(Connection connection, DateRange range,
+                                          DBUtil.RowCallback<Answer> callback) throws SQLException {
         String sql = """
-            SELECT id, test_link_id, question_num, most_like, least_like, created_at 
-            FROM answers 
-            WHERE created_at BETWEEN ? AND ? 
-            ORDER BY created_at DESC
+            SELECT test_link_id, answers, created_at, updated_at
+            FROM answer_sheets
+            WHERE updated_epoch >= ? AND updated_epoch < ?
+            ORDER BY updated_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            range.bind(pstmt, 1);
+            pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
+            
+            long count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    for (Answer answer : mapResultSetToSheet(rs).getAnswers()) {
+                        callback.accept(answer);
+                        count++;
+                    }
+                }
+            }
+            return count;
+        }
+    }
+    
+    /**
+     * Stream answer sheets for export
+     * 
+     * Sheets are delivered in test link order with their test link and user.
+     * Each filter is optional.
+     * 
+     * @param range Date range of the sheet's last update, or null for all dates
+     * @param status Test link status, or null for any status
+     * @param resultType DISC result type of the test, or null for any type
+     * @param callback Receives each sheet
+     * @return Number of sheets delivered
+     * @throws SQLException if query fails or the callback fails
+     */
+    public long streamAnswerSheetsForExport(DateRange range, TestLink.Status status, String resultType,
+                                            DBUtil.RowCallback<AnswerSheet> callback) throws SQLException {
+        StringBuilder where = new StringBuilder("1 = 1");
+        if (range != null) {
+            where.append(" AND s.updated_epoch >= ? AND s.updated_epoch < ?");
+        }
+        if (status != null) {
+            where.append(" AND tl.status = ?");
+        }
+        if (resultType != null) {
+            where.append(" AND EXISTS (SELECT 1 FROM results r WHERE r.test_link_id = s.test_link_id AND r.result_type = ?)");
+        }
+        
+        String sql = """
+            SELECT s.test_link_id, s.answers, s.created_at, s.updated_at,
+                   tl.user_id, tl.test_url, tl.status, tl.started_at, tl.completed_at, tl.created_at as tl_created_at,
+                   u.name as user_name, u.name_hash, u.created_at as user_created_at
+            FROM answer_sheets s
+            LEFT JOIN test_links tl ON s.test_link_id = tl.id
+            LEFT JOIN users u ON tl.user_id = u.id
+            WHERE %s
+            ORDER BY s.test_link_id
+            """.formatted(where);
+        
+        return DBUtil.executeStream(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setTimestamp(1, startDate);
-                pstmt.setTimestamp(2, endDate);
+                int index = 1;
+                if (range != null) {
+                    index = range.bind(pstmt, index);
+                }
+                if (status != null) {
+                    pstmt.setString(index++, status.getValue());
+                }
+                if (resultType != null) {
+                    pstmt.setString(index++, resultType);
+                }
+                pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
                 
-                List<Answer> answers = new ArrayList<>();
+                long count = 0;
                 try (ResultSet rs = pstmt.executeQuery()) {
                     while (rs.next()) {
-                        answers.add(mapResultSetToAnswer(rs));
+                        AnswerSheet sheet = mapResultSetToSheet(rs);
+                        sheet.setTestLink(mapJoinedTestLink(rs));
+                        callback.accept(sheet);
+                        count++;
                     }
                 }
-                return answers;
+                return count;
             }
         });
     }
@@ -480,6 +544,9 @@ public class AnswerDAO {
     /**
      * Bulk insert answers for a test
      * 
+     * Answers are merged into the sheet of their test link; each affected
+     * sheet is written once.
+     * 
      * @param answers List of answers to insert
      * @return Number of successfully inserted answers
      * @throws SQLException if bulk insert fails
@@ -489,46 +556,167 @@ public class AnswerDAO {
             return 0;
         }
         
-        String sql = """
-            INSERT INTO answers (test_link_id, question_num, most_like, least_like, created_at) 
-            VALUES (?, ?, ?, ?, CURRENT_TIMESTAMP)
-            """;
+        Map<Long, List<Answer>> answersByTestLink = new LinkedHashMap<>();
+        for (Answer answer : answers) {
+            if (isStorable(answer)) {
+                answersByTestLink.computeIfAbsent(answer.getTestLinkId(), id -> new ArrayList<>()).add(answer);
+            }
+        }
         
-        return DBUtil.executeTransaction(connection -> {
+        return DBUtil.executeWrite(connection -> {
             int insertedCount = 0;
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                for (Answer answer : answers) {
-                    if (answer.isValid()) {
-                        pstmt.setLong(1, answer.getTestLinkId());
-                        pstmt.setInt(2, answer.getQuestionNum());
-                        pstmt.setString(3, answer.getMostLike());
-                        pstmt.setString(4, answer.getLeastLike());
-                        pstmt.addBatch();
-                        insertedCount++;
-                    }
+            for (Map.Entry<Long, List<Answer>> entry : answersByTestLink.entrySet()) {
+                AnswerSheet sheet = loadSheet(connection, entry.getKey());
+                for (Answer answer : entry.getValue()) {
+                    sheet.setAnswer(answer.getQuestionNum(), answer.getMostLike(), answer.getLeastLike());
+                    insertedCount++;
                 }
-                
-                pstmt.executeBatch();
+                storeSheet(connection, sheet);
             }
             return insertedCount;
         });
     }
     
     /**
-     * Map ResultSet to Answer object
+     * Replace all answers of a test link with the given answers
+     * 
+     * The whole sheet is written as one row, so a submission costs a single
+     * row write regardless of the number of questions.
+     * 
+     * @param testLinkId Test link ID
+     * @param answers The complete set of answers; invalid entries are skipped
+     * @return Number of answers saved
+     * @throws SQLException if the write fails
+     */
+    public int replaceAnswers(Long testLinkId, List<Answer> answers) throws SQLException {
+        if (testLinkId == null) {
+            throw new IllegalArgumentException("Test link ID is required");
+        }
+        
+        AnswerSheet sheet = new AnswerSheet(testLinkId);
+        int savedCount = 0;
+        for (Answer answer : answers) {
+            if (isStorable(answer) && testLinkId.equals(answer.getTestLinkId())) {
+                sheet.setAnswer(answer.getQuestionNum(), answer.getMostLike(), answer.getLeastLike());
+                savedCount++;
+            }
+        }
+        
+        int count = savedCount;
+        return DBUtil.executeWrite(connection -> {
+            storeSheet(connection, sheet);
+            return count;
+        });
+    }
+    
+    /**
+     * Read a sheet on the given connection
      * 
-     * @param rs ResultSet containing answer data
-     * @return Answer object
+     * @return The stored sheet, or an empty sheet if none exists
+     */
+    private AnswerSheet loadSheet(Connection connection, Long testLinkId) throws SQLException {
+        String sql = """
+            SELECT test_link_id, answers, created_at, updated_at
+            FROM answer_sheets WHERE test_link_id = ?
+            """;
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, testLinkId);
+            
+            try (ResultSet rs = pstmt.executeQuery()) {
+                if (rs.next()) {
+                    return mapResultSetToSheet(rs);
+                }
+                return new AnswerSheet(testLinkId);
+            }
+        }
+    }
+    
+    /**
+     * Write a sheet on the given connection; an empty sheet deletes the row
+     */
+    private void storeSheet(Connection connection, AnswerSheet sheet) throws SQLException {
+        int answeredCount = sheet.getAnsweredCount();
+        
+        if (answeredCount == 0) {
+            try (PreparedStatement pstmt = connection.prepareStatement(
+                    "DELETE FROM answer_sheets WHERE test_link_id = ?")) {
+                pstmt.setLong(1, sheet.getTestLinkId());
+                pstmt.executeUpdate();
+            }
+            return;
+        }
+        
+        String sql = """
+            INSERT INTO answer_sheets (test_link_id, answers, answered_count, created_at, updated_at)
+            VALUES (?, ?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+            ON CONFLICT(test_link_id) DO UPDATE SET
+                answers = excluded.answers,
+                answered_count = excluded.answered_count,
+                updated_at = excluded.updated_at
+            """;
+        
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, sheet.getTestLinkId());
+            pstmt.setBytes(2, sheet.toBytes());
+            pstmt.setInt(3, answeredCount);
+            pstmt.executeUpdate();
+        }
+    }
+    
+    /**
+     * @return true if the answer is valid and its types can be packed
+     */
+    private boolean isStorable(Answer answer) {
+        if (answer == null || !answer.isValid()) {
+            return false;
+        }
+        if (!AnswerSheet.isValidType(answer.getMostLike()) || !AnswerSheet.isValidType(answer.getLeastLike())) {
+            logger.log(Level.WARNING, "Skipping answer with unknown DISC type: {0}", answer);
+            return false;
+        }
+        return true;
+    }
+    
+    /**
+     * Map ResultSet to AnswerSheet object
+     * 
+     * @param rs ResultSet containing answer sheet data
+     * @return AnswerSheet object
      * @throws SQLException if mapping fails
      */
-    private Answer mapResultSetToAnswer(ResultSet rs) throws SQLException {
-        return new Answer(
-            rs.getLong("id"),
+    private AnswerSheet mapResultSetToSheet(ResultSet rs) throws SQLException {
+        return new AnswerSheet(
+            rs.getLong("test_link_id"),
+            rs.getBytes("answers"),
+            rs.getTimestamp("created_at"),
+            rs.getTimestamp("updated_at")
+        );
+    }
+    
+    /**
+     * Map the test link and user joined to a sheet, if present
+     */
+    private TestLink mapJoinedTestLink(ResultSet rs) throws SQLException {
+        long userId = rs.getLong("user_id");
+        if (userId <= 0) {
+            return null;
+        }
+        
+        TestLink testLink = new TestLink(
             rs.getLong("test_link_id"),
-            rs.getInt("question_num"),
-            rs.getString("most_like"),
-            rs.getString("least_like"),
-            rs.getTimestamp("created_at")
+            userId,
+            rs.getString("test_url"),
+            TestLink.Status.fromString(rs.getString("status")),
+            rs.getTimestamp("started_at"),
+            rs.getTimestamp("completed_at"),
+            rs.getTimestamp("tl_created_at")
         );
+        
+        String userName = rs.getString("user_name");
+        if (userName != null) {
+            testLink.setUser(new User(userId, userName, rs.getString("name_hash"), rs.getTimestamp("user_created_at")));
+        }
+        return testLink;
     }
-}
\ No newline at end of file
+}
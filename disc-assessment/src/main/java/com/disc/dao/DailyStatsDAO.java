@@ -0,0 +1,266 @@
+package com.disc.dao;
+
+import com.disc.model.DailyStats;
+import com.disc.util.DBUtil;
+import com.disc.util.DateRange;
+import com.disc.util.QueryTimeouts;
+
+import java.sql.*;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Data Access Object for the daily_stats rollup
+ *
+ * The counters are maintained by triggers (see V7DailyStats); this class
+ * reads them, keeps report_zone_offsets in step with the reporting time
+ * zone and rebuilds the rollup from the source tables.
+ */
+public class DailyStatsDAO {
+
+    private static final Logger logger = Logger.getLogger(DailyStatsDAO.class.getName());
+
+    // Zone offset transitions are stored up to this instant
+    private static final Instant OFFSETS_UNTIL = Instant.parse("2100-01-01T00:00:00Z");
+
+    /**
+     * Get the counters of each day in a range, including days without activity
+     *
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     * @return One entry per day, oldest first
+     * @throws SQLException if query fails
+     */
+    public List<DailyStats> getDailyStats(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = """
+            SELECT day, links_created, tests_started, tests_completed, new_users,
+                   results_created, results_d, results_i, results_s, results_c
+            FROM daily_stats
+            WHERE day >= ? AND day <= ?
+            """;
+
+        return DBUtil.executeRead(connection -> {
+            Map<LocalDate, DailyStats> byDay = new LinkedHashMap<>();
+            for (LocalDate day = startDate; !day.isAfter(endDate); day = day.plusDays(1)) {
+                byDay.put(day, new DailyStats(day));
+            }
+
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, startDate.toString());
+                pstmt.setString(2, endDate.toString());
+
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        DailyStats stats = byDay.get(LocalDate.parse(rs.getString("day")));
+                        if (stats != null) {
+                            mapCounters(rs, stats);
+                        }
+                    }
+                }
+            }
+            return new ArrayList<>(byDay.values());
+        });
+    }
+
+    /**
+     * Sum the counters over a range of days
+     *
+     * @param startDate First day (inclusive), or null for no lower bound
+     * @param endDate Last day (inclusive), or null for no upper bound
+     * @return The sums; the day is the start date
+     * @throws SQLException if query fails
+     */
+    public DailyStats getTotals(LocalDate startDate, LocalDate endDate) throws SQLException {
+        String sql = """
+            SELECT COALESCE(SUM(links_created), 0) AS links_created,
+                   COALESCE(SUM(tests_started), 0) AS tests_started,
+                   COALESCE(SUM(tests_completed), 0) AS tests_completed,
+                   COALESCE(SUM(new_users), 0) AS new_users,
+                   COALESCE(SUM(results_created), 0) AS results_created,
+                   COALESCE(SUM(results_d), 0) AS results_d,
+                   COALESCE(SUM(results_i), 0) AS results_i,
+                   COALESCE(SUM(results_s), 0) AS results_s,
+                   COALESCE(SUM(results_c), 0) AS results_c
+            FROM daily_stats
+            WHERE day >= ? AND day <= ?
+            """;
+
+        return DBUtil.executeRead(connection -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, startDate != null ? startDate.toString() : "0000-01-01");
+                pstmt.setString(2, endDate != null ? endDate.toString() : "9999-12-31");
+
+                DailyStats totals = new DailyStats(startDate);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        mapCounters(rs, totals);
+                    }
+                }
+                return totals;
+            }
+        });
+    }
+
+    /**
+     * Store the offsets of the reporting time zone and rebuild the rollup if they changed
+     *
+     * Called at startup. The first call after the migration backfills the
+     * rollup; a later change of report.time-zone (or of the zone's rules)
+     * moves every count to its new day.
+     *
+     * @throws SQLException if the offsets cannot be stored
+     */
+    public void syncReportZone() throws SQLException {
+        ZoneId zone = DateRange.zone();
+        List<long[]> offsets = zoneOffsets(zone);
+
+        List<long[]> stored = DBUtil.executeRead(connection -> {
+            List<long[]> rows = new ArrayList<>();
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(
+                     "SELECT since_epoch, utc_offset FROM report_zone_offsets ORDER BY since_epoch")) {
+                while (rs.next()) {
+                    rows.add(new long[] {rs.getLong(1), rs.getLong(2)});
+                }
+            }
+            return rows;
+        });
+
+        if (Arrays.deepEquals(stored.toArray(), offsets.toArray())) {
+            return;
+        }
+
+        logger.info("Reporting time zone offsets changed (" + zone + "), rebuilding daily statistics");
+        try (QueryTimeouts.Scope scope = QueryTimeouts.enter(QueryTimeouts.OperationClass.SCHEMA)) {
+            DBUtil.executeTransaction(connection -> {
+                try (Statement stmt = connection.createStatement()) {
+                    stmt.execute("DELETE FROM report_zone_offsets");
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "INSERT INTO report_zone_offsets (since_epoch, utc_offset) VALUES (?, ?)")) {
+                    for (long[] offset : offsets) {
+                        pstmt.setLong(1, offset[0]);
+                        pstmt.setLong(2, offset[1]);
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+                rebuild(connection);
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Recompute the whole rollup from users, test_links and results
+     *
+     * For backfills and repairs; the triggers keep it current otherwise.
+     * Runs as schema work (no WRITE deadline): the full scans take seconds
+     * on large tables, and the rollup must be rebuilt in one transaction to
+     * stay in step with the triggers.
+     *
+     * @throws SQLException if the rebuild fails
+     */
+    public void rebuild() throws SQLException {
+        try (QueryTimeouts.Scope scope = QueryTimeouts.enter(QueryTimeouts.OperationClass.SCHEMA)) {
+            DBUtil.executeTransaction(connection -> {
+                rebuild(connection);
+                return null;
+            });
+        }
+    }
+
+    private void rebuild(Connection connection) throws SQLException {
+        long startTime = System.currentTimeMillis();
+
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("DELETE FROM daily_stats");
+            stmt.execute(countByDay("new_users", "users", "created_epoch", "1"));
+            stmt.execute(countByDay("links_created", "test_links", "created_epoch", "1"));
+            stmt.execute(countByDay("tests_started", "test_links", "started_epoch", "1"));
+            stmt.execute(countByDay("tests_completed", "test_links", "completed_epoch", "status = '검사완료'"));
+            stmt.execute("""
+                INSERT INTO daily_stats (day, results_created, results_d, results_i, results_s, results_c)
+                SELECT %s, COUNT(*), SUM(result_type IS 'D'), SUM(result_type IS 'I'),
+                       SUM(result_type IS 'S'), SUM(result_type IS 'C')
+                FROM results
+                WHERE created_epoch IS NOT NULL
+                GROUP BY 1
+                ON CONFLICT (day) DO UPDATE SET
+                    results_created = excluded.results_created,
+                    results_d = excluded.results_d,
+                    results_i = excluded.results_i,
+                    results_s = excluded.results_s,
+                    results_c = excluded.results_c
+                """.formatted(dayExpression("created_epoch")));
+        }
+
+        logger.info("Rebuilt daily statistics in " + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    private static String countByDay(String column, String table, String epoch, String condition) {
+        return """
+            INSERT INTO daily_stats (day, %1$s)
+            SELECT %2$s, COUNT(*)
+            FROM %3$s
+            WHERE %4$s IS NOT NULL AND %5$s
+            GROUP BY 1
+            ON CONFLICT (day) DO UPDATE SET %1$s = excluded.%1$s
+            """.formatted(column, dayExpression(epoch), table, epoch, condition);
+    }
+
+    /**
+     * SQL for the yyyy-MM-dd of an epoch column in the reporting time zone;
+     * also used by the daily_stats triggers (V7DailyStats). UTC until the
+     * offsets are filled.
+     *
+     * @param epoch Column or expression holding epoch seconds
+     * @return The SQL expression
+     */
+    public static String dayExpression(String epoch) {
+        return """
+            date(%1$s + coalesce((SELECT utc_offset FROM report_zone_offsets
+                WHERE since_epoch <= %1$s ORDER BY since_epoch DESC LIMIT 1), 0), 'unixepoch')\
+            """.formatted(epoch);
+    }
+
+    /**
+     * UTC offsets of a zone as (since epoch second, offset seconds), oldest first
+     */
+    static List<long[]> zoneOffsets(ZoneId zone) {
+        ZoneRules rules = zone.getRules();
+        Instant instant = Instant.EPOCH;
+
+        List<long[]> offsets = new ArrayList<>();
+        offsets.add(new long[] {Long.MIN_VALUE, rules.getOffset(instant).getTotalSeconds()});
+
+        ZoneOffsetTransition transition;
+        while ((transition = rules.nextTransition(instant)) != null
+                && transition.getInstant().isBefore(OFFSETS_UNTIL)) {
+            instant = transition.getInstant();
+            offsets.add(new long[] {instant.getEpochSecond(), transition.getOffsetAfter().getTotalSeconds()});
+        }
+        return offsets;
+    }
+
+    private void mapCounters(ResultSet rs, DailyStats stats) throws SQLException {
+        stats.setLinksCreated(rs.getLong("links_created"));
+        stats.setTestsStarted(rs.getLong("tests_started"));
+        stats.setTestsCompleted(rs.getLong("tests_completed"));
+        stats.setNewUsers(rs.getLong("new_users"));
+        stats.setResultsCreated(rs.getLong("results_created"));
+        stats.setResultsD(rs.getLong("results_d"));
+        stats.setResultsI(rs.getLong("results_i"));
+        stats.setResultsS(rs.getLong("results_s"));
+        stats.setResultsC(rs.getLong("results_c"));
+    }
+}
@@ -3,7 +3,10 @@ package com.disc.dao;
 import com.disc.model.Result;
 import com.disc.model.TestLink;
 import com.disc.model.User;
+import com.disc.model.Page;
 import com.disc.util.DBUtil;
+import com.disc.util.PageCursor;
+import com.disc.util.DateRange;
 
 import java.sql.*;
 import java.util.ArrayList;
@@ -37,7 +40,7 @@ public class ResultDAO {
             VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setLong(1, result.getTestLinkId());
                 pstmt.setInt(2, result.getDScore());
@@ -76,22 +79,46 @@ public class ResultDAO {
             throw new IllegalArgumentException("Invalid result data");
         }
         
-        // Check if result already exists for this test_link_id
-        Result existingResult = getResultByTestLinkId(result.getTestLinkId());
-        
-        if (existingResult != null) {
-            // Update existing result
-            existingResult.setDScore(result.getDScore());
-            existingResult.setIScore(result.getIScore());
-            existingResult.setSScore(result.getSScore());
-            existingResult.setCScore(result.getCScore());
-            existingResult.setResultType(result.getResultType());
-            updateResult(existingResult);
-            return existingResult;
-        } else {
-            // Create new result
-            return createResult(result);
-        }
+        // One statement keyed on the unique test_link_id, so concurrent
+        // submissions for the same test link cannot both insert
+        String sql = """
+            INSERT INTO results (test_link_id, d_score, i_score, s_score, c_score, result_type, created_at) 
+            VALUES (?, ?, ?, ?, ?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (test_link_id) DO UPDATE SET
+                d_score = excluded.d_score,
+                i_score = excluded.i_score,
+                s_score = excluded.s_score,
+                c_score = excluded.c_score,
+                result_type = excluded.result_type
+            RETURNING id, test_link_id, d_score, i_score, s_score, c_score, result_type, created_at
+            """;
+        
+        return DBUtil.executeWrite(connection -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setLong(1, result.getTestLinkId());
+                pstmt.setInt(2, result.getDScore());
+                pstmt.setInt(3, result.getIScore());
+                pstmt.setInt(4, result.getSScore());
+                pstmt.setInt(5, result.getCScore());
+                pstmt.setString(6, result.getResultType());
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        throw new SQLException("Saving result failed, no row returned");
+                    }
+                    return new Result(
+                        rs.getLong("id"),
+                        rs.getLong("test_link_id"),
+                        rs.getInt("d_score"),
+                        rs.getInt("i_score"),
+                        rs.getInt("s_score"),
+                        rs.getInt("c_score"),
+                        rs.getString("result_type"),
+                        rs.getTimestamp("created_at")
+                    );
+                }
+            }
+        });
     }
     
     /**
@@ -117,7 +144,7 @@ public class ResultDAO {
             WHERE r.id = ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, resultId);
                 
@@ -154,7 +181,7 @@ public class ResultDAO {
             WHERE r.test_link_id = ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, testLinkId);
                 
@@ -192,7 +219,7 @@ public class ResultDAO {
             ORDER BY r.created_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, userId);
                 
@@ -225,7 +252,7 @@ public class ResultDAO {
             WHERE id = ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, result.getDScore());
                 pstmt.setInt(2, result.getIScore());
@@ -254,7 +281,7 @@ public class ResultDAO {
         
         String sql = "DELETE FROM results WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, resultId);
                 
@@ -278,7 +305,7 @@ public class ResultDAO {
         
         String sql = "DELETE FROM results WHERE test_link_id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, testLinkId);
                 
@@ -289,82 +316,83 @@ public class ResultDAO {
     }
     
     /**
-     * Get all results with pagination
+     * Get results, newest first, one page at a time
      * 
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of results
+     * @return Page of results
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<Result> getResults(int offset, int limit) throws SQLException {
+    public Page<Result> getResults(String cursor, int limit) throws SQLException {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT r.id, r.test_link_id, r.d_score, r.i_score, r.s_score, r.c_score, 
+            SELECT r.id, r.test_link_id, r.d_score, r.i_score, r.s_score, r.c_score,
                    r.result_type, r.created_at,
                    tl.user_id, tl.test_url, tl.status, tl.started_at, tl.completed_at, tl.created_at as tl_created_at,
                    u.name as user_name, u.name_hash, u.created_at as user_created_at
             FROM results r
             LEFT JOIN test_links tl ON r.test_link_id = tl.id
             LEFT JOIN users u ON tl.user_id = u.id
-            ORDER BY r.created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            %s
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT ?
+            """.formatted(after != null ? "WHERE (r.created_at, r.id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setInt(1, limit);
-                pstmt.setInt(2, offset);
+                int index = after != null ? after.bind(pstmt, 1) : 1;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<Result> results = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        results.add(mapResultSetToResult(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToResult);
                 }
-                return results;
             }
         });
     }
     
     /**
-     * Get results by DISC type
+     * Get results by DISC type, newest first, one page at a time
      * 
      * @param resultType DISC type (D, I, S, C)
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of results with the specified type
+     * @return Page of results with the specified type
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<Result> getResultsByType(String resultType, int offset, int limit) throws SQLException {
+    public Page<Result> getResultsByType(String resultType, String cursor, int limit) throws SQLException {
         if (resultType == null || resultType.trim().isEmpty()) {
-            return new ArrayList<>();
+            return Page.empty();
         }
         
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT r.id, r.test_link_id, r.d_score, r.i_score, r.s_score, r.c_score, 
+            SELECT r.id, r.test_link_id, r.d_score, r.i_score, r.s_score, r.c_score,
                    r.result_type, r.created_at,
                    tl.user_id, tl.test_url, tl.status, tl.started_at, tl.completed_at, tl.created_at as tl_created_at,
                    u.name as user_name, u.name_hash, u.created_at as user_created_at
             FROM results r
             LEFT JOIN test_links tl ON r.test_link_id = tl.id
             LEFT JOIN users u ON tl.user_id = u.id
-            WHERE r.result_type = ?
-            ORDER BY r.created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            WHERE r.result_type = ? %s
+            ORDER BY r.created_at DESC, r.id DESC
+            LIMIT ?
+            """.formatted(after != null ? "AND (r.created_at, r.id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, resultType.trim().toUpperCase());
-                pstmt.setInt(2, limit);
-                pstmt.setInt(3, offset);
+                int index = after != null ? after.bind(pstmt, 2) : 2;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<Result> results = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        results.add(mapResultSetToResult(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToResult);
                 }
-                return results;
             }
         });
     }
@@ -378,7 +406,7 @@ public class ResultDAO {
     public long getResultCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM results";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -404,7 +432,7 @@ public class ResultDAO {
         
         String sql = "SELECT COUNT(*) FROM results WHERE result_type = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, resultType.trim().toUpperCase());
                 
@@ -427,6 +455,36 @@ public class ResultDAO {
      * @throws SQLException if query fails
      */
     public List<Result> getResultsByDateRange(Timestamp startDate, Timestamp endDate) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        
+        return DBUtil.executeRead(connection -> {
+            List<Result> results = new ArrayList<>();
+            streamResultsByDateRange(connection, range, results::add);
+            return results;
+        });
+    }
+    
+    /**
+     * Stream results created within a date range
+     * 
+     * Each row is handed to the callback while the cursor is open, so memory
+     * use does not grow with the size of the range. The callback runs on the
+     * reader connection and should not issue further queries.
+     * 
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param callback Receives each result in list order
+     * @return Number of results delivered
+     * @throws SQLException if query fails or the callback fails
+     */
+    public long streamResultsByDateRange(Timestamp startDate, Timestamp endDate,
+                                         DBUtil.RowCallback<Result> callback) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        return DBUtil.executeStream(connection -> streamResultsByDateRange(connection, range, callback));
+    }
+    
+    private long streamResultsByDateRange(Connection connection, DateRange range,
+                                          DBUtil.RowCallback<Result> callback) throws SQLException {
         String sql = """
             SELECT r.id, r.test_link_id, r.d_score, r.i_score, r.s_score, r.c_score, 
                    r.result_type, r.created_at,
@@ -435,22 +493,85 @@ public class ResultDAO {
             FROM results r
             LEFT JOIN test_links tl ON r.test_link_id = tl.id
             LEFT JOIN users u ON tl.user_id = u.id
-            WHERE r.created_at BETWEEN ? AND ? 
+            WHERE r.created_epoch >= ? AND r.created_epoch < ?
             ORDER BY r.created_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            range.bind(pstmt, 1);
+            pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
+            
+            long count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(mapResultSetToResult(rs));
+                    count++;
+                }
+            }
+            return count;
+        }
+    }
+    
+    /**
+     * Stream results for export
+     * 
+     * Results are delivered in ID order with their test link and user. Each
+     * filter is optional.
+     * 
+     * @param range Creation date range of the result, or null for all dates
+     * @param status Test link status, or null for any status
+     * @param resultType DISC result type, or null for any type
+     * @param callback Receives each result
+     * @return Number of results delivered
+     * @throws SQLException if query fails or the callback fails
+     */
+    public long streamResultsForExport(DateRange range, TestLink.Status status, String resultType,
+                                       DBUtil.RowCallback<Result> callback) throws SQLException {
+        StringBuilder where = new StringBuilder("1 = 1");
+        if (range != null) {
+            where.append(" AND r.created_epoch >= ? AND r.created_epoch < ?");
+        }
+        if (status != null) {
+            where.append(" AND tl.status = ?");
+        }
+        if (resultType != null) {
+            where.append(" AND r.result_type = ?");
+        }
+        
+        String sql = """
+            SELECT r.id, r.test_link_id, r.d_score, r.i_score, r.s_score, r.c_score, 
+                   r.result_type, r.created_at,
+                   tl.user_id, tl.test_url, tl.status, tl.started_at, tl.completed_at, tl.created_at as tl_created_at,
+                   u.name as user_name, u.name_hash, u.created_at as user_created_at
+            FROM results r
+            LEFT JOIN test_links tl ON r.test_link_id = tl.id
+            LEFT JOIN users u ON tl.user_id = u.id
+            WHERE %s
+            ORDER BY r.id
+            """.formatted(where);
+        
+        return DBUtil.executeStream(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setTimestamp(1, startDate);
-                pstmt.setTimestamp(2, endDate);
+                int index = 1;
+                if (range != null) {
+                    index = range.bind(pstmt, index);
+                }
+                if (status != null) {
+                    pstmt.setString(index++, status.getValue());
+                }
+                if (resultType != null) {
+                    pstmt.setString(index++, resultType);
+                }
+                pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
                 
-                List<Result> results = new ArrayList<>();
+                long count = 0;
                 try (ResultSet rs = pstmt.executeQuery()) {
                     while (rs.next()) {
-                        results.add(mapResultSetToResult(rs));
+                        callback.accept(mapResultSetToResult(rs));
+                        count++;
                     }
                 }
-                return results;
+                return count;
             }
         });
     }
@@ -475,7 +596,7 @@ public class ResultDAO {
             LIMIT ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
                 
@@ -504,7 +625,7 @@ public class ResultDAO {
             ORDER BY result_type
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             Map<String, Long> distribution = new HashMap<>();
             // Initialize with 0 counts
             distribution.put("D", 0L);
@@ -543,7 +664,7 @@ public class ResultDAO {
             FROM results
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             Map<String, Double> averages = new HashMap<>();
             
             try (Statement stmt = connection.createStatement();
@@ -649,7 +770,7 @@ public class ResultDAO {
     public long getTotalResultCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM results";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 return rs.next() ? rs.getLong(1) : 0;
@@ -663,7 +784,7 @@ public class ResultDAO {
     public Map<String, Integer> getDiscTypeDistribution() throws SQLException {
         String sql = "SELECT result_type, COUNT(*) as count FROM results WHERE result_type IS NOT NULL GROUP BY result_type";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             Map<String, Integer> distribution = new HashMap<>();
 
             // Initialize with zeros
@@ -699,7 +820,7 @@ public class ResultDAO {
             FROM results
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             Map<String, Double> averages = new HashMap<>();
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
@@ -723,12 +844,12 @@ public class ResultDAO {
      * Get results created in a date range
      */
     public long getResultCountInDateRange(String startDate, String endDate) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM results WHERE DATE(created_at) BETWEEN ? AND ?";
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        String sql = "SELECT COUNT(*) FROM results WHERE created_epoch >= ? AND created_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, startDate);
-                pstmt.setString(2, endDate);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -751,7 +872,7 @@ public class ResultDAO {
             LIMIT ?
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Map<String, Object>> results = new ArrayList<>();
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
@@ -788,7 +909,7 @@ public class ResultDAO {
             FROM results
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             Map<String, Object> stats = new HashMap<>();
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
@@ -2,10 +2,15 @@ package com.disc.dao;
 
 import com.disc.model.TestLink;
 import com.disc.model.User;
+import com.disc.model.Page;
 import com.disc.util.DBUtil;
+import com.disc.util.PageCursor;
+import com.disc.util.DateRange;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
@@ -37,7 +42,7 @@ public class TestLinkDAO {
             VALUES (?, ?, ?, CURRENT_TIMESTAMP)
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setLong(1, testLink.getUserId());
                 pstmt.setString(2, testLink.getTestUrl().trim());
@@ -153,7 +158,7 @@ public class TestLinkDAO {
             ORDER BY tl.created_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, userId);
                 
@@ -186,7 +191,7 @@ public class TestLinkDAO {
             WHERE id = ? AND status = '검사전'
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, testLinkId);
                 
@@ -214,7 +219,7 @@ public class TestLinkDAO {
             WHERE id = ? AND status = '검사중'
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, testLinkId);
                 
@@ -239,7 +244,7 @@ public class TestLinkDAO {
         
         String sql = "UPDATE test_links SET status = ? WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, status.getValue());
                 pstmt.setLong(2, testLinkId);
@@ -264,7 +269,7 @@ public class TestLinkDAO {
         
         String sql = "DELETE FROM test_links WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, testLinkId);
                 
@@ -275,78 +280,79 @@ public class TestLinkDAO {
     }
     
     /**
-     * Get all test links with pagination
+     * Get test links, newest first, one page at a time
      * 
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of test links
+     * @return Page of test links
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<TestLink> getTestLinks(int offset, int limit) throws SQLException {
+    public Page<TestLink> getTestLinks(String cursor, int limit) throws SQLException {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT tl.id, tl.user_id, tl.test_url, tl.status, 
+            SELECT tl.id, tl.user_id, tl.test_url, tl.status,
                    tl.started_at, tl.completed_at, tl.created_at,
                    u.name as user_name, u.name_hash, u.created_at as user_created_at
             FROM test_links tl
             LEFT JOIN users u ON tl.user_id = u.id
-            ORDER BY tl.created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            %s
+            ORDER BY tl.created_at DESC, tl.id DESC
+            LIMIT ?
+            """.formatted(after != null ? "WHERE (tl.created_at, tl.id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setInt(1, limit);
-                pstmt.setInt(2, offset);
+                int index = after != null ? after.bind(pstmt, 1) : 1;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<TestLink> testLinks = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        testLinks.add(mapResultSetToTestLink(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToTestLink);
                 }
-                return testLinks;
             }
         });
     }
     
     /**
-     * Get test links by status
+     * Get test links by status, newest first, one page at a time
      * 
      * @param status Test link status
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of test links with the specified status
+     * @return Page of test links with the specified status
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<TestLink> getTestLinksByStatus(TestLink.Status status, int offset, int limit) throws SQLException {
+    public Page<TestLink> getTestLinksByStatus(TestLink.Status status, String cursor, int limit) throws SQLException {
         if (status == null) {
-            return new ArrayList<>();
+            return Page.empty();
         }
         
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT tl.id, tl.user_id, tl.test_url, tl.status, 
+            SELECT tl.id, tl.user_id, tl.test_url, tl.status,
                    tl.started_at, tl.completed_at, tl.created_at,
                    u.name as user_name, u.name_hash, u.created_at as user_created_at
             FROM test_links tl
             LEFT JOIN users u ON tl.user_id = u.id
-            WHERE tl.status = ?
-            ORDER BY tl.created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            WHERE tl.status = ? %s
+            ORDER BY tl.created_at DESC, tl.id DESC
+            LIMIT ?
+            """.formatted(after != null ? "AND (tl.created_at, tl.id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, status.getValue());
-                pstmt.setInt(2, limit);
-                pstmt.setInt(3, offset);
+                int index = after != null ? after.bind(pstmt, 2) : 2;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<TestLink> testLinks = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        testLinks.add(mapResultSetToTestLink(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToTestLink);
                 }
-                return testLinks;
             }
         });
     }
@@ -360,7 +366,7 @@ public class TestLinkDAO {
     public long getTestLinkCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM test_links";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -386,7 +392,7 @@ public class TestLinkDAO {
         
         String sql = "SELECT COUNT(*) FROM test_links WHERE status = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, status.getValue());
                 
@@ -409,30 +415,59 @@ public class TestLinkDAO {
      * @throws SQLException if query fails
      */
     public List<TestLink> getTestLinksByDateRange(Timestamp startDate, Timestamp endDate) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        
+        return DBUtil.executeRead(connection -> {
+            List<TestLink> testLinks = new ArrayList<>();
+            streamTestLinksByDateRange(connection, range, testLinks::add);
+            return testLinks;
+        });
+    }
+    
+    /**
+     * Stream test links created within a date range
+     * 
+     * Each row is handed to the callback while the cursor is open, so memory
+     * use does not grow with the size of the range. The callback runs on the
+     * reader connection and should not issue further queries.
+     * 
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param callback Receives each test link in list order
+     * @return Number of test links delivered
+     * @throws SQLException if query fails or the callback fails
+     */
+    public long streamTestLinksByDateRange(Timestamp startDate, Timestamp endDate,
+                                           DBUtil.RowCallback<TestLink> callback) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        return DBUtil.executeStream(connection -> streamTestLinksByDateRange(connection, range, callback));
+    }
+    
+    private long streamTestLinksByDateRange(Connection connection, DateRange range,
+                                            DBUtil.RowCallback<TestLink> callback) throws SQLException {
         String sql = """
             SELECT tl.id, tl.user_id, tl.test_url, tl.status, 
                    tl.started_at, tl.completed_at, tl.created_at,
                    u.name as user_name, u.name_hash, u.created_at as user_created_at
             FROM test_links tl
             LEFT JOIN users u ON tl.user_id = u.id
-            WHERE tl.created_at BETWEEN ? AND ? 
+            WHERE tl.created_epoch >= ? AND tl.created_epoch < ?
             ORDER BY tl.created_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setTimestamp(1, startDate);
-                pstmt.setTimestamp(2, endDate);
-                
-                List<TestLink> testLinks = new ArrayList<>();
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        testLinks.add(mapResultSetToTestLink(rs));
-                    }
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            range.bind(pstmt, 1);
+            pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
+            
+            long count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(mapResultSetToTestLink(rs));
+                    count++;
                 }
-                return testLinks;
             }
-        });
+            return count;
+        }
     }
     
     /**
@@ -453,7 +488,7 @@ public class TestLinkDAO {
             LIMIT ?
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
                 
@@ -493,6 +528,105 @@ public class TestLinkDAO {
         });
     }
     
+    /**
+     * Check whether an insert failed because its test URL is already taken
+     * 
+     * @param e The exception thrown by createTestLink or createTestLinks
+     * @return true if the UNIQUE constraint on test_links.test_url was violated
+     */
+    public static boolean isDuplicateTestUrl(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            String message = t.getMessage();
+            if (message != null && message.contains("UNIQUE constraint failed: test_links.test_url")) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Create many test links with one batched insert
+     * 
+     * Runs in one transaction, or joins the caller's. A URL that is already
+     * taken fails the whole batch (see isDuplicateTestUrl).
+     * 
+     * @param testLinks Test links to create
+     * @return The created test links with their users, in input order
+     * @throws SQLException if creation fails
+     */
+    public List<TestLink> createTestLinks(List<TestLink> testLinks) throws SQLException {
+        for (TestLink testLink : testLinks) {
+            if (testLink == null || testLink.getUserId() == null || 
+                testLink.getTestUrl() == null || testLink.getTestUrl().trim().isEmpty()) {
+                throw new IllegalArgumentException("TestLink userId and testUrl cannot be null or empty");
+            }
+        }
+        
+        if (testLinks.isEmpty()) {
+            return new ArrayList<>();
+        }
+        
+        String insertSql = """
+            INSERT INTO test_links (user_id, test_url, status, created_at) 
+            VALUES (?, ?, ?, CURRENT_TIMESTAMP)
+            """;
+        
+        return DBUtil.executeTransaction(connection -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(insertSql)) {
+                for (TestLink testLink : testLinks) {
+                    pstmt.setLong(1, testLink.getUserId());
+                    pstmt.setString(2, testLink.getTestUrl().trim());
+                    pstmt.setString(3, testLink.getStatusValue());
+                    pstmt.addBatch();
+                }
+                pstmt.executeBatch();
+            }
+            
+            // Read the new rows back by URL to pick up IDs and timestamps
+            List<String> urls = new ArrayList<>();
+            for (TestLink testLink : testLinks) {
+                urls.add(testLink.getTestUrl().trim());
+            }
+            
+            Map<String, TestLink> created = new HashMap<>();
+            for (int from = 0; from < urls.size(); from += DBUtil.MAX_IN_PARAMETERS) {
+                List<String> chunk = urls.subList(from, Math.min(from + DBUtil.MAX_IN_PARAMETERS, urls.size()));
+                String sql = """
+                    SELECT tl.id, tl.user_id, tl.test_url, tl.status, 
+                           tl.started_at, tl.completed_at, tl.created_at,
+                           u.name as user_name, u.name_hash, u.created_at as user_created_at
+                    FROM test_links tl
+                    LEFT JOIN users u ON tl.user_id = u.id
+                    WHERE tl.test_url IN (%s)
+                    """.formatted(DBUtil.placeholders(chunk.size()));
+                
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setString(i + 1, chunk.get(i));
+                    }
+                    
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            TestLink testLink = mapResultSetToTestLink(rs);
+                            created.put(testLink.getTestUrl(), testLink);
+                        }
+                    }
+                }
+            }
+            
+            List<TestLink> result = new ArrayList<>();
+            for (String url : urls) {
+                TestLink testLink = created.get(url);
+                if (testLink == null) {
+                    throw new SQLException("Creating test link failed for URL: " + url);
+                }
+                result.add(testLink);
+            }
+            logger.info("Created " + result.size() + " test links in bulk");
+            return result;
+        });
+    }
+    
     /**
      * Get statistics by status
      * 
@@ -508,7 +642,7 @@ public class TestLinkDAO {
             FROM test_links
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -565,7 +699,7 @@ public class TestLinkDAO {
     public long getTotalTestLinkCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM test_links";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 return rs.next() ? rs.getLong(1) : 0;
@@ -579,7 +713,7 @@ public class TestLinkDAO {
     public long getCompletedTestCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM test_links WHERE status = '검사완료'";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 return rs.next() ? rs.getLong(1) : 0;
@@ -591,11 +725,12 @@ public class TestLinkDAO {
      * Get count of test links created on a specific date
      */
     public long getTestLinkCountByDate(String date) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM test_links WHERE DATE(created_at) = ?";
+        DateRange range = DateRange.ofDay(date);
+        String sql = "SELECT COUNT(*) FROM test_links WHERE created_epoch >= ? AND created_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, date);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -607,11 +742,12 @@ public class TestLinkDAO {
      * Get count of completed tests on a specific date
      */
     public long getCompletedTestCountByDate(String date) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM test_links WHERE status = '검사완료' AND DATE(completed_at) = ?";
+        DateRange range = DateRange.ofDay(date);
+        String sql = "SELECT COUNT(*) FROM test_links WHERE status = '검사완료' AND completed_epoch >= ? AND completed_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, date);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -623,11 +759,12 @@ public class TestLinkDAO {
      * Get count of started tests on a specific date
      */
     public long getStartedTestCountByDate(String date) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM test_links WHERE started_at IS NOT NULL AND DATE(started_at) = ?";
+        DateRange range = DateRange.ofDay(date);
+        String sql = "SELECT COUNT(*) FROM test_links WHERE started_epoch >= ? AND started_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, date);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -639,12 +776,12 @@ public class TestLinkDAO {
      * Get count of test links created in a date range
      */
     public long getTestLinkCountInDateRange(String startDate, String endDate) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM test_links WHERE DATE(created_at) BETWEEN ? AND ?";
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        String sql = "SELECT COUNT(*) FROM test_links WHERE created_epoch >= ? AND created_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, startDate);
-                pstmt.setString(2, endDate);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -656,12 +793,12 @@ public class TestLinkDAO {
      * Get count of completed tests in a date range
      */
     public long getCompletedTestCountInDateRange(String startDate, String endDate) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM test_links WHERE status = '검사완료' AND DATE(completed_at) BETWEEN ? AND ?";
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        String sql = "SELECT COUNT(*) FROM test_links WHERE status = '검사완료' AND completed_epoch >= ? AND completed_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, startDate);
-                pstmt.setString(2, endDate);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -682,7 +819,7 @@ public class TestLinkDAO {
             LIMIT ?
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Map<String, Object>> results = new ArrayList<>();
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
@@ -714,7 +851,7 @@ public class TestLinkDAO {
             LIMIT ?
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Map<String, Object>> results = new ArrayList<>();
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
@@ -748,7 +885,7 @@ public class TestLinkDAO {
             ORDER BY hour
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Map<String, Object>> results = new ArrayList<>();
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
@@ -769,7 +906,7 @@ public class TestLinkDAO {
     public double getAverageCompletionTimeInMinutes() throws SQLException {
         String sql = """
             SELECT AVG(
-                (strftime('%s', completed_at) - strftime('%s', started_at)) / 60.0
+                (completed_epoch - started_epoch) / 60.0
             ) as avg_minutes
             FROM test_links
             WHERE status = '검사완료'
@@ -777,7 +914,7 @@ public class TestLinkDAO {
             AND completed_at IS NOT NULL
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 return rs.next() ? rs.getDouble("avg_minutes") : 0.0;
@@ -797,7 +934,7 @@ public class TestLinkDAO {
             LIMIT ?
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Map<String, Object>> results = new ArrayList<>();
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
@@ -821,40 +958,80 @@ public class TestLinkDAO {
     }
 
     /**
-     * Get test links by user name with pagination
+     * Get test link history with user information, newest first, one page at a time
+     * 
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of records
+     * @return Page of test link rows with user information
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<Map<String, Object>> getTestLinksByUserName(String userName, int offset, int limit) throws SQLException {
+    public Page<Map<String, Object>> getTestLinkHistory(String cursor, int limit) throws SQLException {
+        return getTestLinkHistoryPage(null, cursor, limit);
+    }
+    
+    /**
+     * Get test links by user name, newest first, one page at a time
+     * 
+     * @param userName Part of the user name to match
+     * @param cursor Cursor from the previous page, or null for the first page
+     * @param limit Maximum number of records
+     * @return Page of test link rows with user information
+     * @throws IllegalArgumentException if the cursor is malformed
+     */
+    public Page<Map<String, Object>> getTestLinksByUserName(String userName, String cursor, int limit) throws SQLException {
+        return getTestLinkHistoryPage(userName, cursor, limit);
+    }
+    
+    private Page<Map<String, Object>> getTestLinkHistoryPage(String userName, String cursor, int limit) throws SQLException {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
+        String match = userName != null ? UserDAO.toNameMatchQuery(userName) : null;
+        List<String> conditions = new ArrayList<>();
+        if (match != null) {
+            conditions.add("u.id IN (SELECT rowid FROM users_fts WHERE users_fts MATCH ?)");
+        } else if (userName != null) {
+            conditions.add("u.name LIKE ?");
+        }
+        if (after != null) {
+            conditions.add("(tl.created_at, tl.id) < (?, ?)");
+        }
+        
         String sql = """
             SELECT tl.*, u.name as user_name
             FROM test_links tl
             JOIN users u ON tl.user_id = u.id
-            WHERE u.name LIKE ?
-            ORDER BY tl.created_at DESC
-            LIMIT ? OFFSET ?
-            """;
-
-        return DBUtil.executeWithConnection(connection -> {
-            List<Map<String, Object>> results = new ArrayList<>();
+            %s
+            ORDER BY tl.created_at DESC, tl.id DESC
+            LIMIT ?
+            """.formatted(conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions));
+        
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, "%" + userName + "%");
-                pstmt.setInt(2, limit);
-                pstmt.setInt(3, offset);
+                int index = 1;
+                if (userName != null) {
+                    pstmt.setString(index++, match != null ? match : "%" + userName + "%");
+                }
+                if (after != null) {
+                    index = after.bind(pstmt, index);
+                }
+                pstmt.setInt(index, pageSize + 1);
+                
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", row -> {
                         Map<String, Object> result = new HashMap<>();
-                        result.put("id", rs.getLong("id"));
-                        result.put("userId", rs.getLong("user_id"));
-                        result.put("userName", rs.getString("user_name"));
-                        result.put("testUrl", rs.getString("test_url"));
-                        result.put("status", rs.getString("status"));
-                        result.put("createdAt", rs.getTimestamp("created_at"));
-                        result.put("startedAt", rs.getTimestamp("started_at"));
-                        result.put("completedAt", rs.getTimestamp("completed_at"));
-                        results.add(result);
-                    }
+                        result.put("id", row.getLong("id"));
+                        result.put("userId", row.getLong("user_id"));
+                        result.put("userName", row.getString("user_name"));
+                        result.put("testUrl", row.getString("test_url"));
+                        result.put("status", row.getString("status"));
+                        result.put("createdAt", row.getTimestamp("created_at"));
+                        result.put("startedAt", row.getTimestamp("started_at"));
+                        result.put("completedAt", row.getTimestamp("completed_at"));
+                        return result;
+                    });
                 }
             }
-            return results;
         });
     }
 
@@ -864,7 +1041,7 @@ public class TestLinkDAO {
     public int getTestLinkCountByUserId(Long userId) throws SQLException {
         String sql = "SELECT COUNT(*) FROM test_links WHERE user_id = ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, userId);
                 try (ResultSet rs = pstmt.executeQuery()) {
@@ -873,4 +1050,38 @@ public class TestLinkDAO {
             }
         });
     }
+
+    /**
+     * Get counts of test links for many users at once
+     *
+     * @return Count per user ID; users without links map to 0
+     */
+    public Map<Long, Integer> getTestLinkCountsByUserIds(Collection<Long> userIds) throws SQLException {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(userIds));
+
+        return DBUtil.executeRead(connection -> {
+            Map<Long, Integer> counts = new HashMap<>();
+            for (Long id : ids) {
+                counts.put(id, 0);
+            }
+
+            for (int from = 0; from < ids.size(); from += DBUtil.MAX_IN_PARAMETERS) {
+                List<Long> chunk = ids.subList(from, Math.min(from + DBUtil.MAX_IN_PARAMETERS, ids.size()));
+                String sql = "SELECT user_id, COUNT(*) FROM test_links WHERE user_id IN (%s) GROUP BY user_id"
+                        .formatted(DBUtil.placeholders(chunk.size()));
+
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    for (int i = 0; i < chunk.size(); i++) {
+                        pstmt.setLong(i + 1, chunk.get(i));
+                    }
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            counts.put(rs.getLong(1), rs.getInt(2));
+                        }
+                    }
+                }
+            }
+            return counts;
+        });
+    }
 }
\ No newline at end of file
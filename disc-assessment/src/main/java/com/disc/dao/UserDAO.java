@@ -1,14 +1,22 @@
 package com.disc.dao;
 
 import com.disc.model.User;
+import com.disc.model.Page;
 import com.disc.util.DBUtil;
+import com.disc.util.PageCursor;
+import com.disc.util.DateRange;
+import com.disc.util.NameSuggestionIndex;
 import org.apache.commons.codec.digest.DigestUtils;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.HashMap;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 
@@ -19,6 +27,13 @@ public class UserDAO {
     
     private static final Logger logger = Logger.getLogger(UserDAO.class.getName());
     
+    // Shortest search term the trigram index can answer; shorter terms fall back to LIKE
+    static final int MIN_INDEXED_SEARCH_LENGTH = 3;
+    
+    // In-memory autocomplete index over all user names, kept in step with every write below
+    private static final NameSuggestionIndex suggestionIndex = new NameSuggestionIndex();
+    private static final ReentrantLock suggestionIndexLoadLock = new ReentrantLock();
+    
     /**
      * Create a new user
      * 
@@ -41,7 +56,7 @@ public class UserDAO {
             VALUES (?, ?, CURRENT_TIMESTAMP)
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
                 pstmt.setString(1, user.getName().trim());
                 pstmt.setString(2, user.getNameHash());
@@ -60,7 +75,9 @@ public class UserDAO {
                 }
                 
                 // Get the created user with timestamp
-                return getUserById(user.getId());
+                User created = getUserById(user.getId());
+                DBUtil.afterCommit(() -> suggestionIndex.add(created.getName()));
+                return created;
             }
         });
     }
@@ -149,15 +166,29 @@ public class UserDAO {
             throw new IllegalArgumentException("User name cannot be null or empty");
         }
         
-        // Try to find existing user
-        User existingUser = getUserByName(name);
-        if (existingUser != null) {
-            return existingUser;
-        }
+        // One statement: insert, or touch the existing row so RETURNING yields it
+        String sql = """
+            INSERT INTO users (name, name_hash, created_at) 
+            VALUES (?, ?, CURRENT_TIMESTAMP)
+            ON CONFLICT (name_hash) DO UPDATE SET name_hash = excluded.name_hash
+            RETURNING id, name, name_hash, created_at
+            """;
         
-        // Create new user if not found
-        User newUser = new User(name.trim(), DigestUtils.sha256Hex(name.trim().toLowerCase()));
-        return createUser(newUser);
+        return DBUtil.executeWrite(connection -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, name.trim());
+                pstmt.setString(2, DigestUtils.sha256Hex(name.trim().toLowerCase()));
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (rs.next()) {
+                        User user = mapResultSetToUser(rs);
+                        DBUtil.afterCommit(() -> suggestionIndex.add(user.getName()));
+                        return user;
+                    }
+                    throw new SQLException("Finding or creating user failed, no row returned");
+                }
+            }
+        });
     }
     
     /**
@@ -174,14 +205,26 @@ public class UserDAO {
         
         String sql = "UPDATE users SET name = ?, name_hash = ? WHERE id = ?";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
+            // Old name, to take it out of the suggestion index
+            User previous = getUserById(user.getId());
+            
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setString(1, user.getName());
                 pstmt.setString(2, user.getNameHash());
                 pstmt.setLong(3, user.getId());
                 
                 int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+                if (rowsAffected == 0 || previous == null) {
+                    return false;
+                }
+                
+                String newName = user.getName();
+                DBUtil.afterCommit(() -> {
+                    suggestionIndex.remove(previous.getName());
+                    suggestionIndex.add(newName);
+                });
+                return true;
             }
         });
     }
@@ -198,46 +241,53 @@ public class UserDAO {
             return false;
         }
         
-        String sql = "DELETE FROM users WHERE id = ?";
+        String sql = "DELETE FROM users WHERE id = ? RETURNING name";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeWrite(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setLong(1, userId);
                 
-                int rowsAffected = pstmt.executeUpdate();
-                return rowsAffected > 0;
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    String deletedName = rs.getString("name");
+                    DBUtil.afterCommit(() -> suggestionIndex.remove(deletedName));
+                    return true;
+                }
             }
         });
     }
     
     /**
-     * Get all users with pagination
+     * Get users, newest first, one page at a time
      * 
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of users
+     * @return Page of users
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<User> getUsers(int offset, int limit) throws SQLException {
+    public Page<User> getUsers(String cursor, int limit) throws SQLException {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
         String sql = """
-            SELECT id, name, name_hash, created_at 
-            FROM users 
-            ORDER BY created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            SELECT id, name, name_hash, created_at
+            FROM users
+            %s
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """.formatted(after != null ? "WHERE (created_at, id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setInt(1, limit);
-                pstmt.setInt(2, offset);
+                int index = after != null ? after.bind(pstmt, 1) : 1;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<User> users = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        users.add(mapResultSetToUser(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToUser);
                 }
-                return users;
             }
         });
     }
@@ -251,7 +301,7 @@ public class UserDAO {
     public long getUserCount() throws SQLException {
         String sql = "SELECT COUNT(*) FROM users";
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (Statement stmt = connection.createStatement();
                  ResultSet rs = stmt.executeQuery(sql)) {
                 
@@ -264,40 +314,42 @@ public class UserDAO {
     }
     
     /**
-     * Search users by name pattern
+     * Search users by name pattern, newest first, one page at a time
      * 
      * @param namePattern Name pattern to search for
-     * @param offset Starting position
+     * @param cursor Cursor from the previous page, or null for the first page
      * @param limit Maximum number of records
-     * @return List of matching users
+     * @return Page of matching users
      * @throws SQLException if query fails
+     * @throws IllegalArgumentException if the cursor is malformed
      */
-    public List<User> searchUsersByName(String namePattern, int offset, int limit) throws SQLException {
+    public Page<User> searchUsersByName(String namePattern, String cursor, int limit) throws SQLException {
         if (namePattern == null || namePattern.trim().isEmpty()) {
-            return new ArrayList<>();
+            return Page.empty();
         }
         
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampLimit(limit);
+        
+        String match = toNameMatchQuery(namePattern);
         String sql = """
-            SELECT id, name, name_hash, created_at 
-            FROM users 
-            WHERE name LIKE ? 
-            ORDER BY created_at DESC 
-            LIMIT ? OFFSET ?
-            """;
+            SELECT id, name, name_hash, created_at
+            FROM users
+            WHERE %s %s
+            ORDER BY created_at DESC, id DESC
+            LIMIT ?
+            """.formatted(match != null ? "id IN (SELECT rowid FROM users_fts WHERE users_fts MATCH ?)" : "name LIKE ?",
+                          after != null ? "AND (created_at, id) < (?, ?)" : "");
         
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, "%" + namePattern.trim() + "%");
-                pstmt.setInt(2, limit);
-                pstmt.setInt(3, offset);
+                pstmt.setString(1, match != null ? match : "%" + namePattern.trim() + "%");
+                int index = after != null ? after.bind(pstmt, 2) : 2;
+                pstmt.setInt(index, pageSize + 1);
                 
-                List<User> users = new ArrayList<>();
                 try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        users.add(mapResultSetToUser(rs));
-                    }
+                    return PageCursor.readPage(rs, pageSize, "created_at", "id", this::mapResultSetToUser);
                 }
-                return users;
             }
         });
     }
@@ -311,27 +363,56 @@ public class UserDAO {
      * @throws SQLException if query fails
      */
     public List<User> getUsersByDateRange(Timestamp startDate, Timestamp endDate) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        
+        return DBUtil.executeRead(connection -> {
+            List<User> users = new ArrayList<>();
+            streamUsersByDateRange(connection, range, users::add);
+            return users;
+        });
+    }
+    
+    /**
+     * Stream users created within a date range
+     * 
+     * Each row is handed to the callback while the cursor is open, so memory
+     * use does not grow with the size of the range. The callback runs on the
+     * reader connection and should not issue further queries.
+     * 
+     * @param startDate Start date (inclusive)
+     * @param endDate End date (inclusive)
+     * @param callback Receives each user in list order
+     * @return Number of users delivered
+     * @throws SQLException if query fails or the callback fails
+     */
+    public long streamUsersByDateRange(Timestamp startDate, Timestamp endDate,
+                                       DBUtil.RowCallback<User> callback) throws SQLException {
+        DateRange range = DateRange.between(startDate, endDate);
+        return DBUtil.executeStream(connection -> streamUsersByDateRange(connection, range, callback));
+    }
+    
+    private long streamUsersByDateRange(Connection connection, DateRange range,
+                                        DBUtil.RowCallback<User> callback) throws SQLException {
         String sql = """
             SELECT id, name, name_hash, created_at 
             FROM users 
-            WHERE created_at BETWEEN ? AND ? 
+            WHERE created_epoch >= ? AND created_epoch < ?
             ORDER BY created_at DESC
             """;
         
-        return DBUtil.executeWithConnection(connection -> {
-            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setTimestamp(1, startDate);
-                pstmt.setTimestamp(2, endDate);
-                
-                List<User> users = new ArrayList<>();
-                try (ResultSet rs = pstmt.executeQuery()) {
-                    while (rs.next()) {
-                        users.add(mapResultSetToUser(rs));
-                    }
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            range.bind(pstmt, 1);
+            pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
+            
+            long count = 0;
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    callback.accept(mapResultSetToUser(rs));
+                    count++;
                 }
-                return users;
             }
-        });
+            return count;
+        }
     }
     
     /**
@@ -360,9 +441,54 @@ public class UserDAO {
         });
     }
 
+    /**
+     * Load every user name into the in-memory suggestion index
+     *
+     * Called once at startup; later calls do nothing. Until it has finished,
+     * suggestions are served from the database.
+     *
+     * @throws SQLException if the names cannot be read
+     */
+    public void loadSuggestionIndex() throws SQLException {
+        suggestionIndexLoadLock.lock();
+        try {
+            if (suggestionIndex.isLoaded()) {
+                return;
+            }
+
+            long startTime = System.currentTimeMillis();
+            long count = DBUtil.executeStream(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement("SELECT name FROM users")) {
+                    pstmt.setFetchSize(DBUtil.STREAM_FETCH_SIZE);
+
+                    long names = 0;
+                    try (ResultSet rs = pstmt.executeQuery()) {
+                        while (rs.next()) {
+                            suggestionIndex.add(rs.getString("name"));
+                            names++;
+                        }
+                    }
+                    return names;
+                }
+            });
+            suggestionIndex.markLoaded();
+
+            logger.info(String.format("Loaded %d user names into the suggestion index in %d ms",
+                    count, System.currentTimeMillis() - startTime));
+        } finally {
+            suggestionIndexLoadLock.unlock();
+        }
+    }
+
     /**
      * Get user name suggestions for autocomplete
      *
+     * Once the suggestion index is loaded, names starting with the query (or
+     * with its Hangul initials, e.g. "ㄱㅁㅅ" for 김민수) are returned from
+     * memory without touching the database. Before that, terms of three or
+     * more characters are answered from the users_fts index, best match
+     * first, and shorter terms use a LIKE scan in name order.
+     *
      * @param query Search query
      * @param limit Maximum number of suggestions
      * @return List of user name suggestions
@@ -373,7 +499,18 @@ public class UserDAO {
             return new ArrayList<>();
         }
 
-        String sql = """
+        if (suggestionIndex.isLoaded()) {
+            return suggestionIndex.suggest(query, limit);
+        }
+
+        String match = toNameMatchQuery(query);
+        String sql = match != null ? """
+            SELECT name
+            FROM users_fts
+            WHERE users_fts MATCH ?
+            ORDER BY rank
+            LIMIT ?
+            """ : """
             SELECT DISTINCT name
             FROM users
             WHERE name LIKE ?
@@ -381,9 +518,9 @@ public class UserDAO {
             LIMIT ?
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, "%" + query.trim() + "%");
+                pstmt.setString(1, match != null ? match : "%" + query.trim() + "%");
                 pstmt.setInt(2, limit);
 
                 List<String> suggestions = new ArrayList<>();
@@ -408,17 +545,126 @@ public class UserDAO {
         return findOrCreateUser(name);
     }
     
+    /**
+     * Find or create users for many names at once
+     * 
+     * Existing users are resolved with IN queries on name_hash, the missing
+     * ones are inserted as one batch, and everything runs in one transaction
+     * (or joins the caller's). Names that differ only in case resolve to the
+     * same user, as in findOrCreateUser.
+     * 
+     * @param names User names
+     * @return Users keyed by the trimmed name, in input order
+     * @throws SQLException if operation fails
+     */
+    public Map<String, User> findOrCreateUsers(Collection<String> names) throws SQLException {
+        Map<String, String> hashByName = new LinkedHashMap<>();
+        for (String name : names) {
+            if (name == null || name.trim().isEmpty()) {
+                throw new IllegalArgumentException("User name cannot be null or empty");
+            }
+            hashByName.put(name.trim(), DigestUtils.sha256Hex(name.trim().toLowerCase()));
+        }
+        
+        if (hashByName.isEmpty()) {
+            return new LinkedHashMap<>();
+        }
+        
+        return DBUtil.executeTransaction(connection -> {
+            Map<String, User> usersByHash = getUsersByNameHashes(connection, new HashSet<>(hashByName.values()));
+            
+            // Insert each missing user once, under the first name that maps to it
+            Map<String, String> missing = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : hashByName.entrySet()) {
+                if (!usersByHash.containsKey(entry.getValue())) {
+                    missing.putIfAbsent(entry.getValue(), entry.getKey());
+                }
+            }
+            
+            if (!missing.isEmpty()) {
+                String sql = """
+                    INSERT INTO users (name, name_hash, created_at) 
+                    VALUES (?, ?, CURRENT_TIMESTAMP)
+                    ON CONFLICT (name_hash) DO NOTHING
+                    """;
+                
+                try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                    for (Map.Entry<String, String> entry : missing.entrySet()) {
+                        pstmt.setString(1, entry.getValue());
+                        pstmt.setString(2, entry.getKey());
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+                
+                usersByHash.putAll(getUsersByNameHashes(connection, missing.keySet()));
+                logger.info("Created " + missing.size() + " users in bulk");
+            }
+            
+            Map<String, User> usersByName = new LinkedHashMap<>();
+            for (Map.Entry<String, String> entry : hashByName.entrySet()) {
+                User user = usersByHash.get(entry.getValue());
+                if (user == null) {
+                    throw new SQLException("Creating user failed for name hash: " + entry.getValue());
+                }
+                usersByName.put(entry.getKey(), user);
+            }
+            
+            // Joined transactions (the bulk link path) commit later, or not at all
+            DBUtil.afterCommit(() -> {
+                for (User user : usersByName.values()) {
+                    suggestionIndex.add(user.getName());
+                }
+            });
+            return usersByName;
+        });
+    }
+    
+    /**
+     * Look up users by name hash in chunks of IN parameters; the oldest user wins for a shared hash
+     */
+    private Map<String, User> getUsersByNameHashes(Connection connection, Collection<String> nameHashes)
+            throws SQLException {
+        Map<String, User> usersByHash = new HashMap<>();
+        List<String> hashes = new ArrayList<>(nameHashes);
+        
+        for (int from = 0; from < hashes.size(); from += DBUtil.MAX_IN_PARAMETERS) {
+            List<String> chunk = hashes.subList(from, Math.min(from + DBUtil.MAX_IN_PARAMETERS, hashes.size()));
+            String sql = """
+                SELECT id, name, name_hash, created_at 
+                FROM users 
+                WHERE name_hash IN (%s)
+                ORDER BY id
+                """.formatted(DBUtil.placeholders(chunk.size()));
+            
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    pstmt.setString(i + 1, chunk.get(i));
+                }
+                
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    while (rs.next()) {
+                        User user = mapResultSetToUser(rs);
+                        usersByHash.putIfAbsent(user.getNameHash(), user);
+                    }
+                }
+            }
+        }
+        return usersByHash;
+    }
+    
     // ========== STATISTICS METHODS ==========
 
     /**
      * Get count of users created on a specific date
      */
     public long getUserCountByDate(String date) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM users WHERE DATE(created_at) = ?";
+        DateRange range = DateRange.ofDay(date);
+        String sql = "SELECT COUNT(*) FROM users WHERE created_epoch >= ? AND created_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, date);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -430,12 +676,12 @@ public class UserDAO {
      * Get count of users created in a date range
      */
     public long getUserCountInDateRange(String startDate, String endDate) throws SQLException {
-        String sql = "SELECT COUNT(*) FROM users WHERE DATE(created_at) BETWEEN ? AND ?";
+        DateRange range = DateRange.ofDays(startDate, endDate);
+        String sql = "SELECT COUNT(*) FROM users WHERE created_epoch >= ? AND created_epoch < ?";
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
-                pstmt.setString(1, startDate);
-                pstmt.setString(2, endDate);
+                range.bind(pstmt, 1);
                 try (ResultSet rs = pstmt.executeQuery()) {
                     return rs.next() ? rs.getLong(1) : 0;
                 }
@@ -458,7 +704,7 @@ public class UserDAO {
             LIMIT ?
             """;
 
-        return DBUtil.executeWithConnection(connection -> {
+        return DBUtil.executeRead(connection -> {
             List<Map<String, Object>> results = new ArrayList<>();
             try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
                 pstmt.setInt(1, limit);
@@ -478,6 +724,20 @@ public class UserDAO {
         });
     }
 
+    /**
+     * Build a users_fts query matching the term anywhere in a name
+     * 
+     * @param term The search term
+     * @return The quoted FTS5 phrase, or null if the term is too short for the trigram index
+     */
+    static String toNameMatchQuery(String term) {
+        String trimmed = term.trim();
+        if (trimmed.codePointCount(0, trimmed.length()) < MIN_INDEXED_SEARCH_LENGTH) {
+            return null;
+        }
+        return "\"" + trimmed.replace("\"", "\"\"") + "\"";
+    }
+    
     /**
      * Map ResultSet to User object
      *
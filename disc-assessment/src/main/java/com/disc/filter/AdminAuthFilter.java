@@ -21,7 +21,7 @@ import java.util.logging.Level;
  * This filter checks if the user has a valid admin session before allowing
  * access to admin-protected URLs.
  */
-@WebFilter(urlPatterns = {"/admin/*", "/jsp/admin/*"})
+@WebFilter(urlPatterns = {"/admin/*", "/jsp/admin/*"}, asyncSupported = true)
 public class AdminAuthFilter implements Filter {
 
     private static final Logger logger = Logger.getLogger(AdminAuthFilter.class.getName());
@@ -13,7 +13,7 @@ import java.util.logging.Logger;
 /**
  * CSRF (Cross-Site Request Forgery) 방지 필터
  */
-@WebFilter(urlPatterns = {"/admin/*"}, filterName = "CSRFFilter")
+@WebFilter(urlPatterns = {"/admin/*"}, filterName = "CSRFFilter", asyncSupported = true)
 public class CSRFFilter implements Filter {
 
     private static final Logger logger = Logger.getLogger(CSRFFilter.class.getName());
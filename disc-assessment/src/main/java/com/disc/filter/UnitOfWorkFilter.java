@@ -0,0 +1,46 @@
+package com.disc.filter;
+
+import com.disc.util.UnitOfWork;
+
+import javax.servlet.*;
+import javax.servlet.annotation.WebFilter;
+import java.io.IOException;
+import java.util.logging.Logger;
+
+/**
+ * Binds a request-scoped unit of work to read-heavy pages
+ *
+ * Every DAO read made while the request is processed shares one reader
+ * connection and one read snapshot; the connection is returned to the pool
+ * when the request completes.
+ *
+ * Async pages (/result) are not mapped here: their work runs on the DB
+ * executor, which opens a unit of work per task.
+ */
+@WebFilter(urlPatterns = {"/admin/dashboard", "/admin/create-link"}, filterName = "UnitOfWorkFilter")
+public class UnitOfWorkFilter implements Filter {
+
+    private static final Logger logger = Logger.getLogger(UnitOfWorkFilter.class.getName());
+
+    @Override
+    public void init(FilterConfig filterConfig) throws ServletException {
+        logger.info("UnitOfWorkFilter initialized");
+    }
+
+    @Override
+    public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+            throws IOException, ServletException {
+
+        UnitOfWork.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            UnitOfWork.end();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        logger.info("UnitOfWorkFilter destroyed");
+    }
+}
@@ -12,7 +12,7 @@ import java.util.logging.Logger;
 /**
  * XSS (Cross-Site Scripting) 방지 필터
  */
-@WebFilter(urlPatterns = {"/*"}, filterName = "XSSFilter")
+@WebFilter(urlPatterns = {"/*"}, filterName = "XSSFilter", asyncSupported = true)
 public class XSSFilter implements Filter {
 
     private static final Logger logger = Logger.getLogger(XSSFilter.class.getName());
@@ -0,0 +1,33 @@
+package com.disc.migration;
+
+import java.sql.SQLException;
+
+/**
+ * A versioned schema change
+ *
+ * Migrations are applied in ascending version order and recorded in the
+ * schema_version table. A migration that only uses MigrationContext.execute()
+ * is atomic. One that processes data in chunks commits each chunk separately,
+ * so every chunk must be safe to run again if the migration is interrupted
+ * and restarted.
+ */
+public interface Migration {
+
+    /**
+     * @return The schema version this migration upgrades to
+     */
+    int getVersion();
+
+    /**
+     * @return Short human-readable description stored in schema_version
+     */
+    String getDescription();
+
+    /**
+     * Apply the migration
+     *
+     * @param context Helpers for running DDL and chunked data changes
+     * @throws SQLException if the migration fails
+     */
+    void migrate(MigrationContext context) throws SQLException;
+}
@@ -0,0 +1,133 @@
+package com.disc.migration;
+
+import com.disc.util.DBUtil;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.logging.Logger;
+
+/**
+ * Helpers available to migrations
+ *
+ * Every write goes through the single writer lane. Chunked operations commit
+ * after each chunk, so the write lock is only held for one chunk at a time
+ * and other writes can interleave with a long table rewrite.
+ */
+public class MigrationContext {
+
+    private static final Logger logger = Logger.getLogger(MigrationContext.class.getName());
+
+    private final int chunkSize;
+
+    MigrationContext(int chunkSize) {
+        this.chunkSize = Math.max(1, chunkSize);
+    }
+
+    /**
+     * Process one rowid range of a chunked operation
+     */
+    @FunctionalInterface
+    public interface ChunkOperation {
+        /**
+         * @param connection The writer connection, inside the chunk's transaction
+         * @param fromRowid Lower bound of the range (exclusive)
+         * @param toRowid Upper bound of the range (inclusive)
+         * @return Number of rows processed
+         */
+        int process(Connection connection, long fromRowid, long toRowid) throws SQLException;
+    }
+
+    /**
+     * Execute statements together in one transaction
+     *
+     * @param statements The SQL statements to execute
+     * @throws SQLException if any statement fails (none of them are applied)
+     */
+    public void execute(String... statements) throws SQLException {
+        DBUtil.executeTransaction(connection -> {
+            try (Statement stmt = connection.createStatement()) {
+                for (String sql : statements) {
+                    stmt.execute(sql);
+                }
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Run an arbitrary operation in one transaction
+     */
+    public <T> T inTransaction(DBUtil.DatabaseOperation<T> operation) throws SQLException {
+        return DBUtil.executeTransaction(operation);
+    }
+
+    /**
+     * Walk a table in rowid ranges of the configured chunk size, committing
+     * after each range. Rows inserted while the walk is running are not visited.
+     *
+     * @param table The table whose rowids define the ranges
+     * @param operation The operation applied to each range
+     * @return Total number of rows processed
+     * @throws SQLException if a chunk fails; earlier chunks stay committed
+     */
+    public long processInChunks(String table, ChunkOperation operation) throws SQLException {
+        long maxRowid = queryLong("SELECT COALESCE(MAX(rowid), 0) FROM " + table);
+        long processed = 0;
+
+        for (long from = 0; from < maxRowid; from += chunkSize) {
+            long lower = from;
+            long upper = Math.min(from + chunkSize, maxRowid);
+            processed += DBUtil.executeTransaction(connection -> operation.process(connection, lower, upper));
+        }
+
+        logger.info(String.format("Processed %d rows of %s in chunks of %d", processed, table, chunkSize));
+        return processed;
+    }
+
+    /**
+     * @return true if the table exists
+     */
+    public boolean tableExists(String table) throws SQLException {
+        return exists("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?", table);
+    }
+
+    /**
+     * @return true if the index exists
+     */
+    public boolean indexExists(String index) throws SQLException {
+        return exists("SELECT 1 FROM sqlite_master WHERE type = 'index' AND name = ?", index);
+    }
+
+    /**
+     * @return true if the table has the column (including generated columns)
+     */
+    public boolean columnExists(String table, String column) throws SQLException {
+        return exists("SELECT 1 FROM pragma_table_xinfo('" + table + "') WHERE name = ?", column);
+    }
+
+    /**
+     * Run a single-value query and return it as a long
+     */
+    public long queryLong(String sql) throws SQLException {
+        return DBUtil.executeWithConnection(connection -> {
+            try (Statement stmt = connection.createStatement();
+                 ResultSet rs = stmt.executeQuery(sql)) {
+                return rs.next() ? rs.getLong(1) : 0L;
+            }
+        });
+    }
+
+    private boolean exists(String sql, String name) throws SQLException {
+        return DBUtil.executeWithConnection(connection -> {
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, name);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    return rs.next();
+                }
+            }
+        });
+    }
+}
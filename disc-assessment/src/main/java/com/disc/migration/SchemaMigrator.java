@@ -0,0 +1,140 @@
+package com.disc.migration;
+
+import com.disc.util.AppConfig;
+import com.disc.util.DBUtil;
+import com.disc.util.QueryTimeouts;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Applies pending schema migrations at startup
+ *
+ * The applied version is recorded in schema_version. When the database is
+ * already at the latest version, startup costs a single query and no DDL is
+ * executed. Migrations run in version order through the writer lane, and the
+ * version row is written only after a migration has completed, so an
+ * interrupted migration is resumed on the next start.
+ */
+public class SchemaMigrator {
+
+    private static final Logger logger = Logger.getLogger(SchemaMigrator.class.getName());
+
+    // Rows per transaction for chunked data migrations
+    private static final int DEFAULT_CHUNK_SIZE = 5000;
+
+    // All migrations, in ascending version order
+    private static final List<Migration> MIGRATIONS = List.of(
+        new V1BaselineSchema(),
+        new V2PackedAnswerSheets(),
+        new V3EpochColumns(),
+        new V4KeysetIndexes(),
+        new V5UniqueUserNameHash(),
+        new V6UserNameSearch(),
+        new V7DailyStats()
+    );
+
+    /**
+     * Bring the schema up to the latest version
+     *
+     * @throws SQLException if a migration fails
+     */
+    public static void migrate() throws SQLException {
+        int latestVersion = getLatestVersion();
+        int currentVersion = getCurrentVersion();
+
+        if (currentVersion >= latestVersion) {
+            logger.info(String.format("Schema is up to date (version %d)", currentVersion));
+            return;
+        }
+
+        createVersionTable();
+
+        // Index builds and table rewrites are single long statements: no WRITE deadline
+        try (QueryTimeouts.Scope scope = QueryTimeouts.enter(QueryTimeouts.OperationClass.SCHEMA)) {
+            MigrationContext context = new MigrationContext(
+                AppConfig.getInt("db.migration.chunk-size", DEFAULT_CHUNK_SIZE));
+
+            for (Migration migration : MIGRATIONS) {
+                if (migration.getVersion() <= currentVersion) {
+                    continue;
+                }
+
+                logger.info(String.format("Applying schema migration %d: %s",
+                    migration.getVersion(), migration.getDescription()));
+                long startTime = System.currentTimeMillis();
+
+                try {
+                    migration.migrate(context);
+                } catch (SQLException e) {
+                    logger.log(Level.SEVERE, "Schema migration " + migration.getVersion() + " failed", e);
+                    throw e;
+                }
+
+                long elapsed = System.currentTimeMillis() - startTime;
+                recordVersion(migration, elapsed);
+                logger.info(String.format("Schema migration %d completed in %dms", migration.getVersion(), elapsed));
+            }
+        }
+    }
+
+    /**
+     * @return The highest applied schema version, or 0 for a database without schema_version
+     */
+    public static int getCurrentVersion() throws SQLException {
+        return DBUtil.executeWithConnection(connection -> {
+            try (Statement stmt = connection.createStatement()) {
+                try (ResultSet rs = stmt.executeQuery(
+                        "SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = 'schema_version'")) {
+                    if (!rs.next()) {
+                        return 0;
+                    }
+                }
+                try (ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(version), 0) FROM schema_version")) {
+                    return rs.next() ? rs.getInt(1) : 0;
+                }
+            }
+        });
+    }
+
+    /**
+     * @return The version of the newest known migration
+     */
+    public static int getLatestVersion() {
+        return MIGRATIONS.get(MIGRATIONS.size() - 1).getVersion();
+    }
+
+    private static void createVersionTable() throws SQLException {
+        DBUtil.executeWrite(connection -> {
+            String sql = """
+                CREATE TABLE IF NOT EXISTS schema_version (
+                    version INTEGER PRIMARY KEY,
+                    description TEXT NOT NULL,
+                    installed_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                    execution_ms INTEGER
+                )
+                """;
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute(sql);
+            }
+            return null;
+        });
+    }
+
+    private static void recordVersion(Migration migration, long elapsedMillis) throws SQLException {
+        DBUtil.executeWrite(connection -> {
+            String sql = "INSERT INTO schema_version (version, description, execution_ms) VALUES (?, ?, ?)";
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setInt(1, migration.getVersion());
+                pstmt.setString(2, migration.getDescription());
+                pstmt.setLong(3, elapsedMillis);
+                return pstmt.executeUpdate();
+            }
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package com.disc.migration;
+
+import org.apache.commons.codec.digest.DigestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+/**
+ * Baseline schema: the tables, indexes and default admin account previously
+ * created by DBInitializer on every startup
+ *
+ * Every statement is idempotent, so databases created before migrations were
+ * introduced are adopted as version 1 without changes.
+ */
+public class V1BaselineSchema implements Migration {
+
+    // Default admin credentials
+    private static final String DEFAULT_ADMIN_USERNAME = "admin";
+    private static final String DEFAULT_ADMIN_PASSWORD = "admin1234";
+
+    @Override
+    public int getVersion() {
+        return 1;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Baseline schema";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        context.execute(
+            """
+            CREATE TABLE IF NOT EXISTS users (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                name TEXT NOT NULL,
+                name_hash TEXT NOT NULL,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS test_links (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                user_id INTEGER NOT NULL,
+                test_url TEXT UNIQUE NOT NULL,
+                status TEXT DEFAULT '검사전' CHECK(status IN ('검사전', '검사중', '검사완료')),
+                started_at TIMESTAMP,
+                completed_at TIMESTAMP,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY(user_id) REFERENCES users(id) ON DELETE CASCADE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS answers (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                test_link_id INTEGER NOT NULL,
+                question_num INTEGER NOT NULL,
+                most_like TEXT,
+                least_like TEXT,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY(test_link_id) REFERENCES test_links(id) ON DELETE CASCADE,
+                UNIQUE(test_link_id, question_num)
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS results (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                test_link_id INTEGER UNIQUE NOT NULL,
+                d_score INTEGER DEFAULT 0,
+                i_score INTEGER DEFAULT 0,
+                s_score INTEGER DEFAULT 0,
+                c_score INTEGER DEFAULT 0,
+                result_type TEXT,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY(test_link_id) REFERENCES test_links(id) ON DELETE CASCADE
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS admins (
+                id INTEGER PRIMARY KEY AUTOINCREMENT,
+                username TEXT UNIQUE NOT NULL,
+                password_hash TEXT NOT NULL,
+                last_login_at TIMESTAMP,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+            )
+            """
+        );
+
+        // Each index is built in its own transaction so the write lock is released between builds
+        createIndex("idx_users_name_hash", "users", "name_hash", context);
+        createIndex("idx_test_links_url", "test_links", "test_url", context);
+        createIndex("idx_test_links_user_id", "test_links", "user_id", context);
+        createIndex("idx_test_links_status", "test_links", "status", context);
+        createIndex("idx_test_links_created_at", "test_links", "created_at", context);
+        createIndex("idx_answers_test_link_id", "answers", "test_link_id", context);
+        createIndex("idx_answers_question_num", "answers", "question_num", context);
+        createIndex("idx_results_test_link_id", "results", "test_link_id", context);
+        createIndex("idx_results_result_type", "results", "result_type", context);
+        createIndex("idx_results_created_at", "results", "created_at", context);
+        createIndex("idx_admins_username", "admins", "username", context);
+
+        context.inTransaction(connection -> {
+            String sql = """
+                INSERT OR IGNORE INTO admins (username, password_hash, created_at)
+                VALUES (?, ?, CURRENT_TIMESTAMP)
+                """;
+            try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+                pstmt.setString(1, DEFAULT_ADMIN_USERNAME);
+                pstmt.setString(2, DigestUtils.sha256Hex(DEFAULT_ADMIN_PASSWORD));
+                return pstmt.executeUpdate();
+            }
+        });
+    }
+
+    private static void createIndex(String indexName, String tableName, String columnName,
+                                    MigrationContext context) throws SQLException {
+        context.execute(String.format("CREATE INDEX IF NOT EXISTS %s ON %s (%s)", indexName, tableName, columnName));
+    }
+}
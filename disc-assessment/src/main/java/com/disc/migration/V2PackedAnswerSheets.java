@@ -0,0 +1,147 @@
+package com.disc.migration;
+
+import com.disc.model.AnswerSheet;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Move answers from one row per question (answers) to one packed row per
+ * test link (answer_sheets)
+ *
+ * The copy walks answers in rowid chunks and merges each chunk into the
+ * existing sheets, so a chunk that is re-run after an interruption writes
+ * the same bytes again. The answers table is dropped once every chunk has
+ * been copied.
+ */
+public class V2PackedAnswerSheets implements Migration {
+
+    private static final Logger logger = Logger.getLogger(V2PackedAnswerSheets.class.getName());
+
+    @Override
+    public int getVersion() {
+        return 2;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Packed answer sheets";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        context.execute(
+            """
+            CREATE TABLE IF NOT EXISTS answer_sheets (
+                test_link_id INTEGER PRIMARY KEY,
+                answers BLOB NOT NULL,
+                answered_count INTEGER NOT NULL DEFAULT 0,
+                created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+                FOREIGN KEY(test_link_id) REFERENCES test_links(id) ON DELETE CASCADE
+            )
+            """
+        );
+
+        if (!context.tableExists("answers")) {
+            return;
+        }
+
+        context.processInChunks("answers", this::copyChunk);
+
+        context.execute("DROP TABLE answers");
+    }
+
+    private int copyChunk(Connection connection, long fromRowid, long toRowid) throws SQLException {
+        String selectSql = """
+            SELECT test_link_id, question_num, most_like, least_like, created_at
+            FROM answers
+            WHERE rowid > ? AND rowid <= ?
+            ORDER BY test_link_id, question_num
+            """;
+
+        Map<Long, AnswerSheet> sheets = new LinkedHashMap<>();
+        Map<Long, String> lastAnsweredAt = new LinkedHashMap<>();
+        int copied = 0;
+
+        try (PreparedStatement pstmt = connection.prepareStatement(selectSql)) {
+            pstmt.setLong(1, fromRowid);
+            pstmt.setLong(2, toRowid);
+
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    long testLinkId = rs.getLong("test_link_id");
+                    int questionNum = rs.getInt("question_num");
+                    String mostLike = rs.getString("most_like");
+                    String leastLike = rs.getString("least_like");
+
+                    if (questionNum < 1 || questionNum > AnswerSheet.QUESTION_COUNT
+                            || !AnswerSheet.isValidType(mostLike) || !AnswerSheet.isValidType(leastLike)) {
+                        logger.warning(String.format("Skipping invalid answer: testLinkId=%d, question=%d",
+                            testLinkId, questionNum));
+                        continue;
+                    }
+
+                    AnswerSheet sheet = sheets.get(testLinkId);
+                    if (sheet == null) {
+                        sheet = loadSheet(connection, testLinkId);
+                        sheets.put(testLinkId, sheet);
+                    }
+                    sheet.setAnswer(questionNum, mostLike, leastLike);
+
+                    // Keep the latest answer time as the sheet's timestamp
+                    String answeredAt = rs.getString("created_at");
+                    String latest = lastAnsweredAt.get(testLinkId);
+                    if (latest == null || (answeredAt != null && answeredAt.compareTo(latest) > 0)) {
+                        lastAnsweredAt.put(testLinkId, answeredAt);
+                    }
+                    copied++;
+                }
+            }
+        }
+
+        String upsertSql = """
+            INSERT INTO answer_sheets (test_link_id, answers, answered_count, created_at, updated_at)
+            VALUES (?, ?, ?, COALESCE(?, CURRENT_TIMESTAMP), COALESCE(?, CURRENT_TIMESTAMP))
+            ON CONFLICT(test_link_id) DO UPDATE SET
+                answers = excluded.answers,
+                answered_count = excluded.answered_count,
+                updated_at = MAX(answer_sheets.updated_at, excluded.updated_at)
+            """;
+
+        try (PreparedStatement pstmt = connection.prepareStatement(upsertSql)) {
+            for (AnswerSheet sheet : sheets.values()) {
+                String answeredAt = lastAnsweredAt.get(sheet.getTestLinkId());
+                pstmt.setLong(1, sheet.getTestLinkId());
+                pstmt.setBytes(2, sheet.toBytes());
+                pstmt.setInt(3, sheet.getAnsweredCount());
+                pstmt.setString(4, answeredAt);
+                pstmt.setString(5, answeredAt);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+
+        return copied;
+    }
+
+    /**
+     * Read a sheet already written by an earlier chunk, so answers of one test
+     * link spread over several chunks are merged rather than overwritten
+     */
+    private AnswerSheet loadSheet(Connection connection, long testLinkId) throws SQLException {
+        String sql = "SELECT answers FROM answer_sheets WHERE test_link_id = ?";
+
+        try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+            pstmt.setLong(1, testLinkId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return new AnswerSheet(testLinkId, rs.next() ? rs.getBytes(1) : null, null, null);
+            }
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.disc.migration;
+
+import java.sql.SQLException;
+
+/**
+ * Integer epoch columns for time-range queries
+ *
+ * Adds virtual generated columns holding unixepoch() of each filtered
+ * timestamp and indexes them. Virtual columns take no space in the table and
+ * need no backfill; only the index stores the values. Queries filter on
+ * these columns with half-open ranges (see DateRange).
+ */
+public class V3EpochColumns implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 3;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Indexed epoch columns";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        addEpochColumn("users", "created_epoch", "created_at", context);
+        addEpochColumn("test_links", "created_epoch", "created_at", context);
+        addEpochColumn("test_links", "started_epoch", "started_at", context);
+        addEpochColumn("test_links", "completed_epoch", "completed_at", context);
+        addEpochColumn("results", "created_epoch", "created_at", context);
+        addEpochColumn("answer_sheets", "updated_epoch", "updated_at", context);
+        addEpochColumn("admins", "last_login_epoch", "last_login_at", context);
+
+        // Each index is built in its own transaction so the write lock is released between builds
+        context.execute("CREATE INDEX IF NOT EXISTS idx_users_created_epoch ON users (created_epoch)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_test_links_created_epoch ON test_links (created_epoch)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_test_links_started_epoch ON test_links (started_epoch)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_test_links_status_completed_epoch ON test_links (status, completed_epoch)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_results_created_epoch ON results (created_epoch)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_answer_sheets_updated_epoch ON answer_sheets (updated_epoch)");
+    }
+
+    private static void addEpochColumn(String table, String column, String source,
+                                       MigrationContext context) throws SQLException {
+        if (context.columnExists(table, column)) {
+            return;
+        }
+        context.execute(String.format(
+            "ALTER TABLE %s ADD COLUMN %s INTEGER GENERATED ALWAYS AS (unixepoch(%s)) VIRTUAL",
+            table, column, source));
+    }
+}
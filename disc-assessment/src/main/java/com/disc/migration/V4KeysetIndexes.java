@@ -0,0 +1,40 @@
+package com.disc.migration;
+
+import java.sql.SQLException;
+
+/**
+ * Indexes for keyset pagination on (created_at, id)
+ *
+ * Every id is the table's INTEGER PRIMARY KEY, i.e. the rowid, and SQLite
+ * stores the rowid as the last column of each index entry. An index on
+ * (created_at) therefore already orders by (created_at, id), and a filtered
+ * list needs (filter, created_at). The single-column status and result_type
+ * indexes become prefixes of the new ones and are dropped.
+ */
+public class V4KeysetIndexes implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 4;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Keyset pagination indexes";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        // Each index is built in its own transaction so the write lock is released between builds
+        context.execute("CREATE INDEX IF NOT EXISTS idx_users_created_at ON users (created_at)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_admins_created_at ON admins (created_at)");
+        context.execute("CREATE INDEX IF NOT EXISTS idx_answer_sheets_updated_at ON answer_sheets (updated_at)");
+
+        context.execute(
+            "CREATE INDEX IF NOT EXISTS idx_test_links_status_created_at ON test_links (status, created_at)",
+            "DROP INDEX IF EXISTS idx_test_links_status");
+        context.execute(
+            "CREATE INDEX IF NOT EXISTS idx_results_result_type_created_at ON results (result_type, created_at)",
+            "DROP INDEX IF EXISTS idx_results_result_type");
+    }
+}
@@ -0,0 +1,57 @@
+package com.disc.migration;
+
+import java.sql.SQLException;
+import java.util.logging.Logger;
+
+/**
+ * Unique index on users.name_hash
+ *
+ * Find-or-create by name used to race and could leave several users with
+ * the same name hash. Duplicates are merged into the oldest user (their test
+ * links are moved over) before the plain index is replaced by a unique one,
+ * which the UPSERTs in UserDAO use as their conflict target.
+ */
+public class V5UniqueUserNameHash implements Migration {
+
+    private static final Logger logger = Logger.getLogger(V5UniqueUserNameHash.class.getName());
+
+    @Override
+    public int getVersion() {
+        return 5;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Unique user name hash";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        long duplicates = context.queryLong("""
+            SELECT COUNT(*) FROM users u
+            WHERE EXISTS (SELECT 1 FROM users k WHERE k.name_hash = u.name_hash AND k.id < u.id)
+            """);
+        if (duplicates > 0) {
+            logger.info("Merging " + duplicates + " duplicate users into the oldest user per name hash");
+        }
+
+        context.execute(
+            """
+            UPDATE test_links
+            SET user_id = (
+                SELECT MIN(k.id) FROM users u JOIN users k ON k.name_hash = u.name_hash
+                WHERE u.id = test_links.user_id
+            )
+            WHERE user_id IN (
+                SELECT u.id FROM users u
+                WHERE EXISTS (SELECT 1 FROM users k WHERE k.name_hash = u.name_hash AND k.id < u.id)
+            )
+            """,
+            """
+            DELETE FROM users
+            WHERE EXISTS (SELECT 1 FROM users k WHERE k.name_hash = users.name_hash AND k.id < users.id)
+            """,
+            "DROP INDEX IF EXISTS idx_users_name_hash",
+            "CREATE UNIQUE INDEX IF NOT EXISTS idx_users_name_hash ON users (name_hash)");
+    }
+}
@@ -0,0 +1,56 @@
+package com.disc.migration;
+
+import java.sql.SQLException;
+
+/**
+ * Full-text index for user name search
+ *
+ * users_fts is an external-content FTS5 table over users.name with the
+ * trigram tokenizer, so any substring of three or more characters (Korean
+ * syllables included) is answered from the index instead of a LIKE scan.
+ * It stores only the index; names are read from users. Triggers keep it in
+ * sync with every insert, delete and rename.
+ */
+public class V6UserNameSearch implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 6;
+    }
+
+    @Override
+    public String getDescription() {
+        return "User name full-text search";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        context.execute(
+            """
+            CREATE VIRTUAL TABLE IF NOT EXISTS users_fts USING fts5(
+                name,
+                content = 'users',
+                content_rowid = 'id',
+                tokenize = 'trigram'
+            )
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS users_fts_insert AFTER INSERT ON users BEGIN
+                INSERT INTO users_fts (rowid, name) VALUES (new.id, new.name);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS users_fts_delete AFTER DELETE ON users BEGIN
+                INSERT INTO users_fts (users_fts, rowid, name) VALUES ('delete', old.id, old.name);
+            END
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS users_fts_update AFTER UPDATE OF name ON users BEGIN
+                INSERT INTO users_fts (users_fts, rowid, name) VALUES ('delete', old.id, old.name);
+                INSERT INTO users_fts (rowid, name) VALUES (new.id, new.name);
+            END
+            """,
+            // Index the existing users
+            "INSERT INTO users_fts (users_fts) VALUES ('rebuild')");
+    }
+}
@@ -0,0 +1,134 @@
+package com.disc.migration;
+
+import com.disc.dao.DailyStatsDAO;
+
+import java.sql.SQLException;
+
+/**
+ * Daily statistics rollup
+ *
+ * daily_stats holds one row per calendar day (in the reporting time zone)
+ * with the counters shown on the dashboard. Triggers on users, test_links
+ * and results adjust the counters in the same transaction as each insert,
+ * delete or state change, cascaded deletes included, so the rollup never
+ * drifts from the tables.
+ *
+ * Epoch seconds are mapped to days through report_zone_offsets, the UTC
+ * offsets of the reporting time zone and the instants they take effect.
+ * DailyStatsDAO fills it at startup and rebuilds the rollup whenever it
+ * changes, which also backfills the existing data after this migration.
+ */
+public class V7DailyStats implements Migration {
+
+    @Override
+    public int getVersion() {
+        return 7;
+    }
+
+    @Override
+    public String getDescription() {
+        return "Daily statistics rollup";
+    }
+
+    @Override
+    public void migrate(MigrationContext context) throws SQLException {
+        context.execute(
+            """
+            CREATE TABLE IF NOT EXISTS report_zone_offsets (
+                since_epoch INTEGER PRIMARY KEY,
+                utc_offset INTEGER NOT NULL
+            )
+            """,
+            """
+            CREATE TABLE IF NOT EXISTS daily_stats (
+                day TEXT PRIMARY KEY,
+                links_created INTEGER NOT NULL DEFAULT 0,
+                tests_started INTEGER NOT NULL DEFAULT 0,
+                tests_completed INTEGER NOT NULL DEFAULT 0,
+                new_users INTEGER NOT NULL DEFAULT 0,
+                results_created INTEGER NOT NULL DEFAULT 0,
+                results_d INTEGER NOT NULL DEFAULT 0,
+                results_i INTEGER NOT NULL DEFAULT 0,
+                results_s INTEGER NOT NULL DEFAULT 0,
+                results_c INTEGER NOT NULL DEFAULT 0
+            ) WITHOUT ROWID
+            """,
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_users_insert AFTER INSERT ON users BEGIN
+                %s
+            END
+            """.formatted(count("new_users", "new.created_epoch", "1", 1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_users_delete AFTER DELETE ON users BEGIN
+                %s
+            END
+            """.formatted(count("new_users", "old.created_epoch", "1", -1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_test_links_insert AFTER INSERT ON test_links BEGIN
+                %s
+            END
+            """.formatted(countTestLink("new", 1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_test_links_delete AFTER DELETE ON test_links BEGIN
+                %s
+            END
+            """.formatted(countTestLink("old", -1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_test_links_update
+            AFTER UPDATE OF status, started_at, completed_at, created_at ON test_links BEGIN
+                %s
+                %s
+            END
+            """.formatted(countTestLink("old", -1), countTestLink("new", 1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_results_insert AFTER INSERT ON results BEGIN
+                %s
+            END
+            """.formatted(countResult("new", 1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_results_delete AFTER DELETE ON results BEGIN
+                %s
+            END
+            """.formatted(countResult("old", -1)),
+            """
+            CREATE TRIGGER IF NOT EXISTS daily_stats_results_update
+            AFTER UPDATE OF result_type, created_at ON results BEGIN
+                %s
+                %s
+            END
+            """.formatted(countResult("old", -1), countResult("new", 1)));
+    }
+
+    private static String countTestLink(String row, int delta) {
+        return count("links_created", row + ".created_epoch", "1", delta)
+            + count("tests_started", row + ".started_epoch", "1", delta)
+            + count("tests_completed", row + ".completed_epoch", row + ".status = '검사완료'", delta);
+    }
+
+    private static String countResult(String row, int delta) {
+        String epoch = row + ".created_epoch";
+        return """
+            INSERT INTO daily_stats (day, results_created, results_d, results_i, results_s, results_c)
+            SELECT %1$s, %2$d, %2$d * (%3$s.result_type IS 'D'), %2$d * (%3$s.result_type IS 'I'),
+                   %2$d * (%3$s.result_type IS 'S'), %2$d * (%3$s.result_type IS 'C')
+            WHERE %4$s IS NOT NULL
+            ON CONFLICT (day) DO UPDATE SET
+                results_created = results_created + excluded.results_created,
+                results_d = results_d + excluded.results_d,
+                results_i = results_i + excluded.results_i,
+                results_s = results_s + excluded.results_s,
+                results_c = results_c + excluded.results_c;
+            """.formatted(DailyStatsDAO.dayExpression(epoch), delta, row, epoch);
+    }
+
+    /**
+     * Add delta to one counter of the day of epoch, if epoch is set and condition holds
+     */
+    private static String count(String column, String epoch, String condition, int delta) {
+        return """
+            INSERT INTO daily_stats (day, %1$s) SELECT %2$s, %3$d
+            WHERE %4$s IS NOT NULL AND %5$s
+            ON CONFLICT (day) DO UPDATE SET %1$s = %1$s + excluded.%1$s;
+            """.formatted(column, DailyStatsDAO.dayExpression(epoch), delta, epoch, condition);
+    }
+}
@@ -0,0 +1,233 @@
+package com.disc.model;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * All answers of one test link, packed into a single row
+ *
+ * The answers are stored as one byte per question: the high nibble holds the
+ * "most like" type and the low nibble the "least like" type, coded as
+ * 0 = unanswered, 1 = D, 2 = I, 3 = S, 4 = C. A complete test is a 28-byte
+ * BLOB instead of 28 rows.
+ *
+ * Answers read from a sheet get a synthetic ID derived from the test link ID
+ * and question number (see answerId), so existing Answer-based code keeps
+ * working.
+ */
+public class AnswerSheet {
+
+    public static final int QUESTION_COUNT = 28;
+
+    // Synthetic answer ID = testLinkId * ANSWER_ID_FACTOR + questionNum
+    private static final int ANSWER_ID_FACTOR = 100;
+
+    private static final String TYPES = "DISC";
+
+    private Long testLinkId;
+    private byte[] slots = new byte[QUESTION_COUNT];
+    private Timestamp createdAt;
+    private Timestamp updatedAt;
+
+    // Associated test link object (for joins)
+    private TestLink testLink;
+
+    // Constructors
+    public AnswerSheet() {}
+
+    public AnswerSheet(Long testLinkId) {
+        this.testLinkId = testLinkId;
+    }
+
+    public AnswerSheet(Long testLinkId, byte[] packed, Timestamp createdAt, Timestamp updatedAt) {
+        this.testLinkId = testLinkId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+        if (packed != null) {
+            System.arraycopy(packed, 0, slots, 0, Math.min(packed.length, QUESTION_COUNT));
+        }
+    }
+
+    // Getters and Setters
+    public Long getTestLinkId() {
+        return testLinkId;
+    }
+
+    public void setTestLinkId(Long testLinkId) {
+        this.testLinkId = testLinkId;
+    }
+
+    public Timestamp getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(Timestamp createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public Timestamp getUpdatedAt() {
+        return updatedAt;
+    }
+
+    public void setUpdatedAt(Timestamp updatedAt) {
+        this.updatedAt = updatedAt;
+    }
+
+    public TestLink getTestLink() {
+        return testLink;
+    }
+
+    public void setTestLink(TestLink testLink) {
+        this.testLink = testLink;
+    }
+
+    /**
+     * @return The packed answers, one byte per question
+     */
+    public byte[] toBytes() {
+        return slots.clone();
+    }
+
+    /**
+     * Store the answer to one question
+     *
+     * @throws IllegalArgumentException if the question number or a type is invalid
+     */
+    public void setAnswer(int questionNum, String mostLike, String leastLike) {
+        checkQuestion(questionNum);
+        slots[questionNum - 1] = (byte) (encode(mostLike) << 4 | encode(leastLike));
+    }
+
+    /**
+     * Clear the answer to one question
+     *
+     * @return true if the question had been answered
+     */
+    public boolean clearAnswer(int questionNum) {
+        checkQuestion(questionNum);
+        boolean answered = slots[questionNum - 1] != 0;
+        slots[questionNum - 1] = 0;
+        return answered;
+    }
+
+    public boolean isAnswered(int questionNum) {
+        checkQuestion(questionNum);
+        return slots[questionNum - 1] != 0;
+    }
+
+    /**
+     * @return The answer to one question, or null if it is unanswered
+     */
+    public Answer getAnswer(int questionNum) {
+        checkQuestion(questionNum);
+        byte slot = slots[questionNum - 1];
+        if (slot == 0) {
+            return null;
+        }
+        return new Answer(
+            answerId(testLinkId, questionNum),
+            testLinkId,
+            questionNum,
+            decode((slot >> 4) & 0x0f),
+            decode(slot & 0x0f),
+            updatedAt != null ? updatedAt : createdAt
+        );
+    }
+
+    /**
+     * @return All answered questions in question order
+     */
+    public List<Answer> getAnswers() {
+        List<Answer> answers = new ArrayList<>();
+        for (int questionNum = 1; questionNum <= QUESTION_COUNT; questionNum++) {
+            Answer answer = getAnswer(questionNum);
+            if (answer != null) {
+                answers.add(answer);
+            }
+        }
+        return answers;
+    }
+
+    public int getAnsweredCount() {
+        int count = 0;
+        for (byte slot : slots) {
+            if (slot != 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return Question numbers without an answer, in ascending order
+     */
+    public List<Integer> getMissingQuestions() {
+        List<Integer> missing = new ArrayList<>();
+        for (int questionNum = 1; questionNum <= QUESTION_COUNT; questionNum++) {
+            if (slots[questionNum - 1] == 0) {
+                missing.add(questionNum);
+            }
+        }
+        return missing;
+    }
+
+    // Helper methods
+    public static boolean isValidType(String type) {
+        return type != null && type.trim().length() == 1 && TYPES.indexOf(type.trim().toUpperCase()) >= 0;
+    }
+
+    public static long answerId(long testLinkId, int questionNum) {
+        return testLinkId * ANSWER_ID_FACTOR + questionNum;
+    }
+
+    public static long testLinkIdOf(long answerId) {
+        return answerId / ANSWER_ID_FACTOR;
+    }
+
+    public static int questionNumOf(long answerId) {
+        return (int) (answerId % ANSWER_ID_FACTOR);
+    }
+
+    private static int encode(String type) {
+        if (!isValidType(type)) {
+            throw new IllegalArgumentException("Invalid DISC type: " + type);
+        }
+        return TYPES.indexOf(type.trim().toUpperCase()) + 1;
+    }
+
+    private static String decode(int code) {
+        return code >= 1 && code <= TYPES.length() ? String.valueOf(TYPES.charAt(code - 1)) : null;
+    }
+
+    private static void checkQuestion(int questionNum) {
+        if (questionNum < 1 || questionNum > QUESTION_COUNT) {
+            throw new IllegalArgumentException("Invalid question number: " + questionNum);
+        }
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        AnswerSheet sheet = (AnswerSheet) obj;
+        return Objects.equals(testLinkId, sheet.testLinkId) && Arrays.equals(slots, sheet.slots);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(testLinkId, Arrays.hashCode(slots));
+    }
+
+    @Override
+    public String toString() {
+        return "AnswerSheet{" +
+               "testLinkId=" + testLinkId +
+               ", answered=" + getAnsweredCount() +
+               ", createdAt=" + createdAt +
+               ", updatedAt=" + updatedAt +
+               '}';
+    }
+}
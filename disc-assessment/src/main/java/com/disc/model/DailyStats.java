@@ -0,0 +1,147 @@
+package com.disc.model;
+
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Dashboard counters for one day, or summed over a range of days
+ */
+public class DailyStats {
+
+    private LocalDate day;
+    private long linksCreated;
+    private long testsStarted;
+    private long testsCompleted;
+    private long newUsers;
+    private long resultsCreated;
+    private long resultsD;
+    private long resultsI;
+    private long resultsS;
+    private long resultsC;
+
+    // Constructors
+    public DailyStats() {
+    }
+
+    public DailyStats(LocalDate day) {
+        this.day = day;
+    }
+
+    // Getters and Setters
+    /**
+     * @return The day, or null for a sum over several days
+     */
+    public LocalDate getDay() {
+        return day;
+    }
+
+    public void setDay(LocalDate day) {
+        this.day = day;
+    }
+
+    public long getLinksCreated() {
+        return linksCreated;
+    }
+
+    public void setLinksCreated(long linksCreated) {
+        this.linksCreated = linksCreated;
+    }
+
+    public long getTestsStarted() {
+        return testsStarted;
+    }
+
+    public void setTestsStarted(long testsStarted) {
+        this.testsStarted = testsStarted;
+    }
+
+    public long getTestsCompleted() {
+        return testsCompleted;
+    }
+
+    public void setTestsCompleted(long testsCompleted) {
+        this.testsCompleted = testsCompleted;
+    }
+
+    public long getNewUsers() {
+        return newUsers;
+    }
+
+    public void setNewUsers(long newUsers) {
+        this.newUsers = newUsers;
+    }
+
+    public long getResultsCreated() {
+        return resultsCreated;
+    }
+
+    public void setResultsCreated(long resultsCreated) {
+        this.resultsCreated = resultsCreated;
+    }
+
+    public long getResultsD() {
+        return resultsD;
+    }
+
+    public void setResultsD(long resultsD) {
+        this.resultsD = resultsD;
+    }
+
+    public long getResultsI() {
+        return resultsI;
+    }
+
+    public void setResultsI(long resultsI) {
+        this.resultsI = resultsI;
+    }
+
+    public long getResultsS() {
+        return resultsS;
+    }
+
+    public void setResultsS(long resultsS) {
+        this.resultsS = resultsS;
+    }
+
+    public long getResultsC() {
+        return resultsC;
+    }
+
+    public void setResultsC(long resultsC) {
+        this.resultsC = resultsC;
+    }
+
+    // Helper methods
+    /**
+     * @return Completed tests per created link in percent, rounded to two decimals
+     */
+    public double getCompletionRate() {
+        double rate = linksCreated > 0 ? (double) testsCompleted / linksCreated * 100 : 0;
+        return Math.round(rate * 100.0) / 100.0;
+    }
+
+    /**
+     * @return Number of results per DISC type (D, I, S, C)
+     */
+    public Map<String, Integer> getTypeDistribution() {
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        distribution.put("D", (int) resultsD);
+        distribution.put("I", (int) resultsI);
+        distribution.put("S", (int) resultsS);
+        distribution.put("C", (int) resultsC);
+        return distribution;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyStats{" +
+               "day=" + day +
+               ", linksCreated=" + linksCreated +
+               ", testsStarted=" + testsStarted +
+               ", testsCompleted=" + testsCompleted +
+               ", newUsers=" + newUsers +
+               ", resultsCreated=" + resultsCreated +
+               '}';
+    }
+}
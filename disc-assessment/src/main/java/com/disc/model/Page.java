@@ -0,0 +1,58 @@
+package com.disc.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list
+ *
+ * nextCursor is an opaque token to pass back to the same DAO method for the
+ * following page; it is null on the last page.
+ */
+public class Page<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+
+    // Constructors
+    public Page() {
+        this.items = new ArrayList<>();
+    }
+
+    public Page(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+    }
+
+    public static <T> Page<T> empty() {
+        return new Page<>(new ArrayList<>(), null);
+    }
+
+    // Getters
+    public List<T> getItems() {
+        return items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public int size() {
+        return items.size();
+    }
+
+    @Override
+    public String toString() {
+        return "Page{" +
+               "size=" + items.size() +
+               ", nextCursor='" + nextCursor + '\'' +
+               ", hasMore=" + hasMore +
+               '}';
+    }
+}
@@ -0,0 +1,100 @@
+package com.disc.util;
+
+import javax.servlet.ServletContext;
+import java.util.logging.Logger;
+
+/**
+ * Application configuration lookup
+ *
+ * Values are resolved from the web.xml context parameters first, then from
+ * JVM system properties (useful for standalone tools such as
+ * SampleDataGenerator), and finally fall back to the supplied default.
+ */
+public class AppConfig {
+
+    private static final Logger logger = Logger.getLogger(AppConfig.class.getName());
+
+    private static volatile ServletContext servletContext;
+
+    private AppConfig() {
+    }
+
+    /**
+     * Bind the configuration to the servlet context
+     *
+     * @param context The servlet context (may be null when running outside a container)
+     */
+    public static void initialize(ServletContext context) {
+        servletContext = context;
+    }
+
+    /**
+     * Get a raw configuration value
+     *
+     * @param name Parameter name
+     * @return The configured value or null if not set
+     */
+    public static String get(String name) {
+        ServletContext context = servletContext;
+        if (context != null) {
+            String value = context.getInitParameter(name);
+            if (value != null && !value.trim().isEmpty()) {
+                return value.trim();
+            }
+        }
+
+        String value = System.getProperty(name);
+        if (value != null && !value.trim().isEmpty()) {
+            return value.trim();
+        }
+        return null;
+    }
+
+    /**
+     * Get a string configuration value
+     */
+    public static String getString(String name, String defaultValue) {
+        String value = get(name);
+        return value != null ? value : defaultValue;
+    }
+
+    /**
+     * Get an integer configuration value
+     */
+    public static int getInt(String name, int defaultValue) {
+        String value = get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            logger.warning("Invalid integer for " + name + ": " + value + ", using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a long configuration value
+     */
+    public static long getLong(String name, long defaultValue) {
+        String value = get(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            logger.warning("Invalid long for " + name + ": " + value + ", using default " + defaultValue);
+            return defaultValue;
+        }
+    }
+
+    /**
+     * Get a boolean configuration value
+     */
+    public static boolean getBoolean(String name, boolean defaultValue) {
+        String value = get(name);
+        return value != null ? Boolean.parseBoolean(value) : defaultValue;
+    }
+}
@@ -0,0 +1,140 @@
+package com.disc.util;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Async request whose response is written exactly once
+ *
+ * The work finishing and the async timeout race to answer the request;
+ * whichever claims it first writes the response, the other does nothing.
+ * Work registered with cancelOnTimeout is cancelled when the request times
+ * out: a task still queued is skipped, a running one finishes and its
+ * result is discarded.
+ */
+public class AsyncRequest {
+
+    private static final Logger logger = Logger.getLogger(AsyncRequest.class.getName());
+
+    private static final long DEFAULT_TIMEOUT_MS = 15000;
+
+    /**
+     * Writes the response of an async request
+     */
+    @FunctionalInterface
+    public interface Responder {
+        /**
+         * @param request The request
+         * @param response The response
+         * @return Path to dispatch to (e.g. a JSP), or null if the response is complete
+         */
+        String respond(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+
+    private final AsyncContext context;
+    private final AtomicBoolean answered = new AtomicBoolean();
+    private final AtomicBoolean abandoned = new AtomicBoolean();
+    private volatile Future<?> work;
+
+    private AsyncRequest(AsyncContext context) {
+        this.context = context;
+    }
+
+    /**
+     * Put a request in async mode with the configured timeout (db.executor.timeout-ms)
+     *
+     * @param request The request
+     * @param onTimeout Writes the response if the timeout expires first
+     * @return The async request
+     */
+    public static AsyncRequest start(HttpServletRequest request, Responder onTimeout) {
+        AsyncRequest asyncRequest = new AsyncRequest(request.startAsync());
+        asyncRequest.context.setTimeout(AppConfig.getLong("db.executor.timeout-ms", DEFAULT_TIMEOUT_MS));
+        asyncRequest.context.addListener(new AsyncListener() {
+            @Override
+            public void onTimeout(AsyncEvent event) {
+                logger.warning("Async request timed out: " + request.getRequestURI());
+                asyncRequest.respond(onTimeout);
+                asyncRequest.abandon();
+            }
+
+            @Override
+            public void onError(AsyncEvent event) {
+                // Connection lost; there is nobody left to answer
+                asyncRequest.answered.set(true);
+                asyncRequest.abandon();
+            }
+
+            @Override
+            public void onComplete(AsyncEvent event) {
+            }
+
+            @Override
+            public void onStartAsync(AsyncEvent event) {
+            }
+        });
+        return asyncRequest;
+    }
+
+    /**
+     * Cancel the given work if the request times out or the connection is lost
+     *
+     * @param future The work answering this request
+     * @return The same future
+     */
+    public <T extends Future<?>> T cancelOnTimeout(T future) {
+        work = future;
+        if (abandoned.get()) {
+            // Timed out before the work was registered
+            future.cancel(false);
+        }
+        return future;
+    }
+
+    private void abandon() {
+        abandoned.set(true);
+        Future<?> future = work;
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * Write the response unless it was already written, then complete or dispatch
+     *
+     * @param responder Writes the response
+     */
+    public void respond(Responder responder) {
+        if (!answered.compareAndSet(false, true)) {
+            return;
+        }
+
+        HttpServletRequest request = (HttpServletRequest) context.getRequest();
+        HttpServletResponse response = (HttpServletResponse) context.getResponse();
+        String dispatchPath = null;
+        try {
+            dispatchPath = responder.respond(request, response);
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Failed to write async response for " + request.getRequestURI(), e);
+            try {
+                response.sendError(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            } catch (IOException | IllegalStateException ignored) {
+                // Response already committed
+            }
+        }
+
+        if (dispatchPath != null) {
+            context.dispatch(dispatchPath);
+        } else {
+            context.complete();
+        }
+    }
+}
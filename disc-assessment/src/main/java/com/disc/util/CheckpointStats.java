@@ -0,0 +1,103 @@
+package com.disc.util;
+
+/**
+ * Immutable snapshot of WAL checkpoint activity
+ */
+public class CheckpointStats {
+
+    private final long walSizeBytes;
+    private final long passiveCheckpoints;
+    private final long restartCheckpoints;
+    private final long truncateCheckpoints;
+    private final long failedCheckpoints;
+    private final long lastCheckpointAt;
+    private final String lastMode;
+    private final boolean lastBusy;
+    private final int lastLogFrames;
+    private final int lastCheckpointedFrames;
+    private final LatencyHistogram.Snapshot duration;
+
+    public CheckpointStats(long walSizeBytes, long passiveCheckpoints, long restartCheckpoints,
+                           long truncateCheckpoints, long failedCheckpoints, long lastCheckpointAt,
+                           String lastMode, boolean lastBusy, int lastLogFrames,
+                           int lastCheckpointedFrames, LatencyHistogram.Snapshot duration) {
+        this.walSizeBytes = walSizeBytes;
+        this.passiveCheckpoints = passiveCheckpoints;
+        this.restartCheckpoints = restartCheckpoints;
+        this.truncateCheckpoints = truncateCheckpoints;
+        this.failedCheckpoints = failedCheckpoints;
+        this.lastCheckpointAt = lastCheckpointAt;
+        this.lastMode = lastMode;
+        this.lastBusy = lastBusy;
+        this.lastLogFrames = lastLogFrames;
+        this.lastCheckpointedFrames = lastCheckpointedFrames;
+        this.duration = duration;
+    }
+
+    /**
+     * @return Current size of the -wal file in bytes
+     */
+    public long getWalSizeBytes() {
+        return walSizeBytes;
+    }
+
+    public long getPassiveCheckpoints() {
+        return passiveCheckpoints;
+    }
+
+    public long getRestartCheckpoints() {
+        return restartCheckpoints;
+    }
+
+    public long getTruncateCheckpoints() {
+        return truncateCheckpoints;
+    }
+
+    public long getFailedCheckpoints() {
+        return failedCheckpoints;
+    }
+
+    /**
+     * @return Time of the last checkpoint in epoch milliseconds, 0 if none ran yet
+     */
+    public long getLastCheckpointAt() {
+        return lastCheckpointAt;
+    }
+
+    public String getLastMode() {
+        return lastMode;
+    }
+
+    /**
+     * @return true if the last checkpoint could not complete because of readers or the writer
+     */
+    public boolean isLastBusy() {
+        return lastBusy;
+    }
+
+    /**
+     * @return Frames in the WAL when the last checkpoint ran
+     */
+    public int getLastLogFrames() {
+        return lastLogFrames;
+    }
+
+    /**
+     * @return Frames copied back into the database by the last checkpoint
+     */
+    public int getLastCheckpointedFrames() {
+        return lastCheckpointedFrames;
+    }
+
+    public LatencyHistogram.Snapshot getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("CheckpointStats{walSize=%d, passive=%d, restart=%d, truncate=%d, failed=%d, "
+                + "last=%s (busy=%b, frames=%d/%d), duration=[%s]}",
+            walSizeBytes, passiveCheckpoints, restartCheckpoints, truncateCheckpoints, failedCheckpoints,
+            lastMode, lastBusy, lastCheckpointedFrames, lastLogFrames, duration);
+    }
+}
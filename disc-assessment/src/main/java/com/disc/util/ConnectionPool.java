@@ -0,0 +1,413 @@
+package com.disc.util;
+
+import java.sql.Connection;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Bounded blocking JDBC connection pool
+ *
+ * Checkouts are gated by a fair semaphore sized to the maximum pool size, so
+ * callers queue in arrival order for up to the configured acquire timeout
+ * instead of failing as soon as every connection is in use. Idle connections
+ * are reused most-recently-used first; a housekeeping task closes connections
+ * that stayed idle longer than the idle timeout while keeping at least the
+ * minimum number open.
+ *
+ * Acquire wait and hold times are recorded in histograms. When a leak
+ * detection threshold is set, the borrower's stack trace is captured on every
+ * checkout and logged if the connection is held longer than the threshold.
+ */
+public class ConnectionPool {
+
+    private static final Logger logger = Logger.getLogger(ConnectionPool.class.getName());
+
+    // Connections idle for less than this are handed out without an isValid() round trip
+    private static final long VALIDATION_IDLE_THRESHOLD_MS = 5000;
+    private static final int VALIDATION_TIMEOUT_SECONDS = 5;
+    private static final long HOUSEKEEPING_INTERVAL_MS = 30000;
+    private static final long MIN_LEAK_CHECK_INTERVAL_MS = 500;
+    private static final int MAX_LEAK_REPORTS = 20;
+
+    /**
+     * Factory used by the pool to open physical connections
+     */
+    @FunctionalInterface
+    public interface ConnectionFactory {
+        Connection create() throws SQLException;
+    }
+
+    private final String name;
+    private final ConnectionFactory factory;
+    private final int minSize;
+    private final int maxSize;
+    private final long acquireTimeoutMillis;
+    private final long idleTimeoutMillis;
+    private final long leakDetectionThresholdMillis;
+
+    private final Semaphore permits;
+    private final LinkedBlockingDeque<PooledConnection> idleConnections = new LinkedBlockingDeque<>();
+    private final Map<Connection, PooledConnection> borrowedConnections = new ConcurrentHashMap<>();
+    private final AtomicInteger totalSize = new AtomicInteger();
+    private final ScheduledExecutorService housekeeper;
+
+    // Instrumentation
+    private final LatencyHistogram acquireTime = new LatencyHistogram();
+    private final LatencyHistogram holdTime = new LatencyHistogram();
+    private final LongAdder acquireTimeouts = new LongAdder();
+    private final LongAdder validationFailures = new LongAdder();
+    private final LongAdder leaksDetected = new LongAdder();
+    private final ConcurrentLinkedDeque<PoolStats.LeakReport> recentLeaks = new ConcurrentLinkedDeque<>();
+
+    private volatile boolean closed = false;
+
+    /**
+     * Create a pool and open the minimum number of connections
+     *
+     * @param name Pool name used in logs and thread names
+     * @param factory Factory for new physical connections
+     * @param minSize Minimum number of connections kept open
+     * @param maxSize Maximum number of connections (idle + borrowed)
+     * @param acquireTimeoutMillis Maximum time a caller waits for a connection
+     * @param idleTimeoutMillis Idle time after which surplus connections are closed
+     * @param leakDetectionThresholdMillis Hold time after which a connection is reported as leaked (0 disables)
+     * @throws SQLException if the initial connections cannot be opened
+     */
+    public ConnectionPool(String name, ConnectionFactory factory, int minSize, int maxSize,
+                          long acquireTimeoutMillis, long idleTimeoutMillis,
+                          long leakDetectionThresholdMillis) throws SQLException {
+        if (maxSize < 1 || minSize < 0 || minSize > maxSize) {
+            throw new IllegalArgumentException("Invalid pool sizing: min=" + minSize + ", max=" + maxSize);
+        }
+
+        this.name = name;
+        this.factory = factory;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+        this.idleTimeoutMillis = idleTimeoutMillis;
+        this.leakDetectionThresholdMillis = Math.max(0, leakDetectionThresholdMillis);
+        this.permits = new Semaphore(maxSize, true);
+
+        for (int i = 0; i < minSize; i++) {
+            idleConnections.offerLast(openConnection());
+        }
+
+        this.housekeeper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disc-" + name + "-pool-housekeeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.housekeeper.scheduleWithFixedDelay(this::evictIdleConnections,
+            HOUSEKEEPING_INTERVAL_MS, HOUSEKEEPING_INTERVAL_MS, TimeUnit.MILLISECONDS);
+
+        if (this.leakDetectionThresholdMillis > 0) {
+            long interval = Math.max(MIN_LEAK_CHECK_INTERVAL_MS, this.leakDetectionThresholdMillis / 4);
+            this.housekeeper.scheduleWithFixedDelay(this::detectLeaks, interval, interval, TimeUnit.MILLISECONDS);
+        }
+
+        logger.info(String.format("Connection pool '%s' initialized (min=%d, max=%d, acquireTimeout=%dms, idleTimeout=%dms, leakThreshold=%dms)",
+            name, minSize, maxSize, acquireTimeoutMillis, idleTimeoutMillis, this.leakDetectionThresholdMillis));
+    }
+
+    /**
+     * Borrow a connection, waiting up to the acquire timeout for one to become available
+     *
+     * @return A validated connection
+     * @throws SQLException if the wait times out or a connection cannot be opened
+     */
+    public Connection borrow() throws SQLException {
+        if (closed) {
+            throw new SQLException("Connection pool '" + name + "' is closed");
+        }
+
+        long startNanos = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                acquireTimeouts.increment();
+                acquireTime.record(System.nanoTime() - startNanos);
+                throw new SQLException(String.format(
+                    "Timed out after %dms waiting for a connection from pool '%s' (size=%d, waiting=%d)",
+                    acquireTimeoutMillis, name, totalSize.get(), permits.getQueueLength()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for a connection from pool '" + name + "'", e);
+        }
+
+        try {
+            PooledConnection pooled;
+            while ((pooled = idleConnections.pollFirst()) != null) {
+                if (isUsable(pooled)) {
+                    break;
+                }
+                validationFailures.increment();
+                discard(pooled);
+            }
+
+            if (pooled == null) {
+                pooled = openConnection();
+            }
+
+            pooled.markBorrowed(leakDetectionThresholdMillis > 0);
+            borrowedConnections.put(pooled.connection, pooled);
+            acquireTime.record(pooled.borrowedAtNanos - startNanos);
+            return pooled.connection;
+
+        } catch (SQLException | RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Return a borrowed connection to the pool
+     *
+     * @param connection The connection to return
+     */
+    public void release(Connection connection) {
+        if (connection == null) {
+            return;
+        }
+
+        PooledConnection pooled = borrowedConnections.remove(connection);
+        if (pooled == null) {
+            logger.warning("Ignoring release of a connection not borrowed from pool '" + name + "'");
+            return;
+        }
+
+        holdTime.record(System.nanoTime() - pooled.borrowedAtNanos);
+        if (pooled.leakReported) {
+            logger.info(String.format("Previously reported leaked connection returned to pool '%s' after %dms",
+                name, System.currentTimeMillis() - pooled.borrowedAtMillis));
+        }
+        pooled.borrowSite = null;
+
+        try {
+            if (closed || connection.isClosed()) {
+                discard(pooled);
+                return;
+            }
+
+            // Reset connection state
+            if (!connection.getAutoCommit()) {
+                connection.rollback();
+                connection.setAutoCommit(true);
+            }
+
+            pooled.lastUsedAt = System.currentTimeMillis();
+            idleConnections.offerFirst(pooled);
+
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error resetting connection, discarding it", e);
+            discard(pooled);
+        } finally {
+            permits.release();
+        }
+    }
+
+    /**
+     * Close surplus connections that have been idle longer than the idle timeout
+     * and top the pool back up to its minimum size
+     */
+    void evictIdleConnections() {
+        if (closed) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Iterator<PooledConnection> oldestFirst = idleConnections.descendingIterator();
+        while (oldestFirst.hasNext() && totalSize.get() > minSize) {
+            PooledConnection pooled = oldestFirst.next();
+            if (now - pooled.lastUsedAt > idleTimeoutMillis && idleConnections.removeLastOccurrence(pooled)) {
+                discard(pooled);
+                logger.fine("Evicted idle connection from pool '" + name + "'. Pool size: " + totalSize.get());
+            }
+        }
+
+        while (totalSize.get() < minSize && !closed) {
+            try {
+                idleConnections.offerLast(openConnection());
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Unable to replenish pool '" + name + "'", e);
+                break;
+            }
+        }
+    }
+
+    /**
+     * Report connections held longer than the leak detection threshold. Each
+     * checkout is reported at most once.
+     */
+    void detectLeaks() {
+        long now = System.currentTimeMillis();
+        for (PooledConnection pooled : borrowedConnections.values()) {
+            long heldMillis = now - pooled.borrowedAtMillis;
+            if (pooled.leakReported || heldMillis < leakDetectionThresholdMillis) {
+                continue;
+            }
+            pooled.leakReported = true;
+            leaksDetected.increment();
+
+            Throwable borrowSite = pooled.borrowSite;
+            String stackTrace = "";
+            if (borrowSite != null) {
+                StringWriter writer = new StringWriter();
+                borrowSite.printStackTrace(new PrintWriter(writer));
+                stackTrace = writer.toString();
+            }
+
+            recentLeaks.addFirst(new PoolStats.LeakReport(pooled.borrowThread, pooled.borrowedAtMillis, heldMillis, stackTrace));
+            while (recentLeaks.size() > MAX_LEAK_REPORTS) {
+                recentLeaks.pollLast();
+            }
+
+            logger.log(Level.WARNING, String.format(
+                "Possible connection leak in pool '%s': held for %dms by thread '%s'",
+                name, heldMillis, pooled.borrowThread), borrowSite);
+        }
+    }
+
+    /**
+     * Take a snapshot of the pool's state and instrumentation
+     *
+     * @return Structured pool statistics
+     */
+    public PoolStats getStats() {
+        return new PoolStats(name, minSize, maxSize, totalSize.get(), idleConnections.size(),
+            borrowedConnections.size(), permits.getQueueLength(),
+            acquireTimeouts.sum(), validationFailures.sum(), leaksDetected.sum(),
+            acquireTime.snapshot(), holdTime.snapshot(), new ArrayList<>(recentLeaks));
+    }
+
+    /**
+     * Close all idle connections and stop housekeeping. Borrowed connections are
+     * closed when they are released.
+     */
+    public void close() {
+        closed = true;
+        housekeeper.shutdownNow();
+
+        PooledConnection pooled;
+        while ((pooled = idleConnections.pollFirst()) != null) {
+            discard(pooled);
+        }
+        logger.info("Connection pool '" + name + "' closed");
+    }
+
+    private PooledConnection openConnection() throws SQLException {
+        totalSize.incrementAndGet();
+        try {
+            return new PooledConnection(factory.create());
+        } catch (SQLException | RuntimeException e) {
+            totalSize.decrementAndGet();
+            throw e;
+        }
+    }
+
+    private boolean isUsable(PooledConnection pooled) {
+        try {
+            if (pooled.connection.isClosed()) {
+                return false;
+            }
+            if (System.currentTimeMillis() - pooled.lastUsedAt < VALIDATION_IDLE_THRESHOLD_MS) {
+                return true;
+            }
+            return pooled.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    private void discard(PooledConnection pooled) {
+        totalSize.decrementAndGet();
+        try {
+            pooled.connection.close();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error closing connection from pool '" + name + "'", e);
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return The number of open connections (idle + borrowed)
+     */
+    public int getTotalSize() {
+        return totalSize.get();
+    }
+
+    /**
+     * @return The number of idle connections ready to be borrowed
+     */
+    public int getIdleCount() {
+        return idleConnections.size();
+    }
+
+    /**
+     * @return The number of connections currently borrowed
+     */
+    public int getBorrowedCount() {
+        return borrowedConnections.size();
+    }
+
+    /**
+     * @return The approximate number of threads waiting for a connection
+     */
+    public int getWaitingCount() {
+        return permits.getQueueLength();
+    }
+
+    /**
+     * Physical connection plus pool bookkeeping
+     */
+    private static final class PooledConnection {
+        private final Connection connection;
+        private volatile long lastUsedAt;
+
+        // Current checkout, read by the leak detector
+        private volatile long borrowedAtNanos;
+        private volatile long borrowedAtMillis;
+        private volatile String borrowThread;
+        private volatile Throwable borrowSite;
+        private volatile boolean leakReported;
+
+        private PooledConnection(Connection connection) {
+            this.connection = connection;
+            this.lastUsedAt = System.currentTimeMillis();
+        }
+
+        private void markBorrowed(boolean captureStackTrace) {
+            borrowedAtNanos = System.nanoTime();
+            borrowedAtMillis = System.currentTimeMillis();
+            borrowThread = Thread.currentThread().getName();
+            borrowSite = captureStackTrace ? new Throwable("Connection borrowed here") : null;
+            leakReported = false;
+        }
+    }
+}
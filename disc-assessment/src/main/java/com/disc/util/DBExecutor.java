@@ -0,0 +1,233 @@
+package com.disc.util;
+
+import java.sql.SQLException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * Bounded thread pool for database work taken off container request threads
+ *
+ * Async servlets hand their whole database workflow to this pool and
+ * release the request thread; the number of threads and queued tasks is
+ * fixed, so a burst of requests waits here (or is refused when the queue is
+ * full) instead of tying up the container's worker pool. Each task runs in
+ * its own UnitOfWork, so its reads share one reader connection and snapshot
+ * as they would on a request thread behind UnitOfWorkFilter.
+ *
+ * With virtual threads (JDK 21+) every task gets its own virtual thread and
+ * only the number of tasks in flight is bounded; a task blocked on the
+ * writer lane or a pool acquire then parks instead of holding a platform
+ * thread. Connections stay bounded by the pools either way. The virtual
+ * thread API is looked up reflectively so the code still compiles for
+ * Java 11; on an older JDK the executor falls back to platform threads.
+ * Code these tasks run guards JDBC calls with a ReentrantLock rather than
+ * synchronized, since a virtual thread blocked inside a monitor pins its
+ * carrier thread.
+ */
+public class DBExecutor {
+
+    private static final Logger logger = Logger.getLogger(DBExecutor.class.getName());
+
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    /**
+     * Database work run on the executor
+     */
+    @FunctionalInterface
+    public interface Task<T> {
+        T call() throws SQLException;
+    }
+
+    private final ExecutorService executor;
+    // Platform pool, or null with virtual threads
+    private final ThreadPoolExecutor pool;
+    // Tasks in flight with virtual threads, or null with a platform pool
+    private final Semaphore inFlight;
+    private final int maxInFlight;
+
+    // Metrics
+    private final LongAdder completed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    /**
+     * Create and start the executor on platform threads
+     *
+     * @param threads Number of worker threads
+     * @param queueCapacity Maximum number of tasks waiting for a thread
+     */
+    public DBExecutor(int threads, int queueCapacity) {
+        this(threads, queueCapacity, false);
+    }
+
+    /**
+     * Create and start the executor
+     *
+     * @param threads Number of worker threads; with virtual threads, added to the queue capacity
+     * @param queueCapacity Maximum number of tasks waiting for a thread
+     * @param virtualThreads true to run each task on its own virtual thread
+     */
+    public DBExecutor(int threads, int queueCapacity, boolean virtualThreads) {
+        int poolSize = Math.max(1, threads);
+        int capacity = Math.max(1, queueCapacity);
+        this.maxInFlight = poolSize + capacity;
+
+        ExecutorService virtualExecutor = virtualThreads ? newVirtualThreadExecutor() : null;
+        if (virtualExecutor != null) {
+            this.executor = virtualExecutor;
+            this.pool = null;
+            this.inFlight = new Semaphore(maxInFlight);
+
+            logger.info(String.format("DB executor started on virtual threads (maxInFlight=%d)", maxInFlight));
+        } else {
+            AtomicInteger threadNumber = new AtomicInteger();
+            this.pool = new ThreadPoolExecutor(poolSize, poolSize, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(capacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "disc-db-executor-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+            this.executor = pool;
+            this.inFlight = null;
+
+            logger.info(String.format("DB executor started (threads=%d, queueCapacity=%d)",
+                poolSize, capacity));
+        }
+    }
+
+    /**
+     * Create a thread-per-task executor of virtual threads
+     *
+     * @return The executor, or null if the JDK has no virtual threads
+     */
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            // Thread.ofVirtual().name("disc-db-vthread-", 1).factory()
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, "disc-db-vthread-", 1L);
+            ThreadFactory factory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+
+            return (ExecutorService) Executors.class
+                .getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                .invoke(null, factory);
+        } catch (ReflectiveOperationException e) {
+            logger.warning("Virtual threads are not available on Java "
+                + System.getProperty("java.version") + ", using platform threads (" + e + ")");
+            return null;
+        }
+    }
+
+    /**
+     * Queue a task without waiting for queue space
+     *
+     * @param task The database work
+     * @return Future completed with the task's result; it fails with a
+     *         RejectedExecutionException at once if the queue is full.
+     *         Cancelling it before the task starts skips the task.
+     */
+    public <T> CompletableFuture<T> submit(Task<T> task) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        if (inFlight != null && !inFlight.tryAcquire()) {
+            rejected.increment();
+            future.completeExceptionally(new RejectedExecutionException(String.format(
+                "DB executor full (%d tasks in flight)", maxInFlight)));
+            return future;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    if (future.isDone()) {
+                        // Cancelled while queued, e.g. its request timed out
+                        return;
+                    }
+                    UnitOfWork.begin();
+                    try {
+                        future.complete(task.call());
+                    } catch (Throwable e) {
+                        future.completeExceptionally(e);
+                    } finally {
+                        UnitOfWork.end();
+                        completed.increment();
+                    }
+                } finally {
+                    if (inFlight != null) {
+                        inFlight.release();
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            if (inFlight != null) {
+                inFlight.release();
+            }
+            rejected.increment();
+            future.completeExceptionally(new RejectedExecutionException(String.format(
+                "DB executor queue full (%d pending)", getQueueSize()), e));
+        }
+        return future;
+    }
+
+    /**
+     * @return true if tasks run on virtual threads
+     */
+    public boolean isVirtual() {
+        return pool == null;
+    }
+
+    /**
+     * @return Number of tasks waiting for a thread (always 0 with virtual threads)
+     */
+    public int getQueueSize() {
+        return pool != null ? pool.getQueue().size() : 0;
+    }
+
+    /**
+     * @return Number of tasks currently running
+     */
+    public int getActiveCount() {
+        return pool != null ? pool.getActiveCount() : maxInFlight - inFlight.availablePermits();
+    }
+
+    /**
+     * @return Number of finished tasks
+     */
+    public long getCompletedCount() {
+        return completed.sum();
+    }
+
+    /**
+     * @return Number of tasks refused because the queue was full
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Stop accepting tasks and wait for running ones to finish
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_MS, TimeUnit.MILLISECONDS)) {
+                logger.warning("DB executor did not finish within " + SHUTDOWN_TIMEOUT_MS + "ms");
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        logger.info("DB executor stopped (completed=" + completed.sum() + ", rejected=" + rejected.sum() + ")");
+    }
+}
@@ -5,7 +5,13 @@ import java.sql.DriverManager;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.io.File;
-import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.Properties;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.logging.Logger;
 import java.util.logging.Level;
 import javax.servlet.ServletContext;
@@ -14,7 +20,14 @@ import javax.servlet.ServletContext;
  * SQLite Database Connection Utility
  * 
  * This class manages SQLite database connections with connection pooling
- * for the DISC assessment application.
+ * for the DISC assessment application. Reads borrow pooled connections and
+ * run concurrently; writes are serialized through a single writer lane
+ * because SQLite only allows one writer at a time. Reporting reads use a
+ * separate query-only reader pool so admin analytics cannot starve the
+ * connections used by test takers.
+ * 
+ * Outermost calls are retried with backoff when SQLite reports a busy or
+ * locked database, and every operation runs under a per-class query timeout.
  */
 public class DBUtil {
     
@@ -24,27 +37,92 @@ public class DBUtil {
     private static final String DB_NAME = "disc.db";
     private static final String DB_DIRECTORY = "/WEB-INF/data/";
     
-    // Connection pool configuration
-    private static final int INITIAL_POOL_SIZE = 5;
-    private static final int MAX_POOL_SIZE = 20;
-    private static final int CONNECTION_TIMEOUT = 30000; // 30 seconds
+    // Connection pool configuration (overridable through web.xml context parameters)
+    private static final int DEFAULT_MIN_POOL_SIZE = 5;
+    private static final int DEFAULT_MAX_POOL_SIZE = 20;
+    private static final long DEFAULT_ACQUIRE_TIMEOUT_MS = 5000; // 5 seconds
+    private static final long DEFAULT_IDLE_TIMEOUT_MS = 600000; // 10 minutes
+    private static final long DEFAULT_LEAK_DETECTION_THRESHOLD_MS = 0; // disabled
+    
+    // Reader pool configuration
+    private static final int DEFAULT_READER_MIN_POOL_SIZE = 2;
+    private static final int DEFAULT_READER_MAX_POOL_SIZE = 8;
+    private static final int DEFAULT_READER_CACHE_SIZE_KB = 16384; // 16MB page cache per reader
+    
+    // Rows fetched per round trip by streaming reads
+    public static final int STREAM_FETCH_SIZE = 500;
+    
+    // Values bound per IN (...) list; longer lists are queried in chunks
+    public static final int MAX_IN_PARAMETERS = 500;
+    
+    // Writer lane configuration
+    private static final int DEFAULT_WRITE_QUEUE_CAPACITY = 10000;
+    private static final int DEFAULT_WRITE_BATCH_SIZE = 64;
+    
+    // Executor for async request workflows; default threads match the reader pool
+    private static final int DEFAULT_EXECUTOR_THREADS = 8;
+    private static final int DEFAULT_EXECUTOR_QUEUE_CAPACITY = 200;
+    
+    // Background WAL checkpointing (interval 0 falls back to SQLite's autocheckpoint)
+    private static final long DEFAULT_CHECKPOINT_INTERVAL_MS = 30000; // 30 seconds
+    private static final long DEFAULT_WAL_SIZE_LIMIT_BYTES = 64L * 1024 * 1024; // 64MB
+    private static final int DEFAULT_MAX_INCOMPLETE_CHECKPOINTS = 3;
+    
+    // Busy handling
+    private static final int DEFAULT_BUSY_TIMEOUT_MS = 3000;
+    private static final long DEFAULT_RETRY_INITIAL_BACKOFF_MS = 10;
+    private static final long DEFAULT_RETRY_MAX_BACKOFF_MS = 500;
+    private static final long DEFAULT_RETRY_DEADLINE_MS = 10000;
+    private static final long WRITE_LIVENESS_CHECK_MS = 1000;
+    
+    // Prepared statements cached per connection (0 disables the cache)
+    private static final int DEFAULT_STATEMENT_CACHE_SIZE = 64;
     
     // Connection pool
-    private static ConcurrentLinkedQueue<Connection> connectionPool = new ConcurrentLinkedQueue<>();
-    private static int currentPoolSize = 0;
+    private static volatile ConnectionPool connectionPool = null;
+    
+    // Read-only pool for reporting queries
+    private static volatile ConnectionPool readerPool = null;
+    
+    // Single writer lane; all DAO writes are serialized through it
+    private static volatile WriterLane writerLane = null;
+    
+    // Bounded pool running database work for async servlets
+    private static volatile DBExecutor dbExecutor = null;
+    
+    // Scheduled WAL checkpoints, off the request path
+    private static volatile WalCheckpointer walCheckpointer = null;
+    
+    // Retry policy for SQLITE_BUSY / SQLITE_LOCKED failures
+    private static volatile RetryPolicy retryPolicy = null;
+    
+    // Connection bound to the current thread (e.g. the writer thread while it runs a batch)
+    private static final ThreadLocal<Connection> boundConnection = new ThreadLocal<>();
     private static String dbPath = null;
-    private static boolean initialized = false;
+    private static volatile boolean initialized = false;
     
     // SQLite JDBC URL
     private static String jdbcUrl = null;
     
+    // Guards initialize() and cleanup()
+    private static final ReentrantLock lifecycleLock = new ReentrantLock();
+    
     /**
      * Initialize the database utility with servlet context
      * 
      * @param servletContext The servlet context to get the real path
      * @throws SQLException if database initialization fails
      */
-    public static synchronized void initialize(ServletContext servletContext) throws SQLException {
+    public static void initialize(ServletContext servletContext) throws SQLException {
+        lifecycleLock.lock();
+        try {
+            initializeLocked(servletContext);
+        } finally {
+            lifecycleLock.unlock();
+        }
+    }
+    
+    private static void initializeLocked(ServletContext servletContext) throws SQLException {
         if (initialized) {
             return;
         }
@@ -53,6 +131,8 @@ public class DBUtil {
             // Load SQLite JDBC driver
             Class.forName("org.sqlite.JDBC");
             
+            AppConfig.initialize(servletContext);
+            
             // Get the real path to the database directory
             String realPath = servletContext.getRealPath(DB_DIRECTORY);
             if (realPath == null) {
@@ -71,18 +151,42 @@ public class DBUtil {
             dbPath = realPath + File.separator + DB_NAME;
             jdbcUrl = "jdbc:sqlite:" + dbPath;
             
-            // Initialize connection pool
+            retryPolicy = new RetryPolicy(
+                AppConfig.getLong("db.retry.initial-backoff", DEFAULT_RETRY_INITIAL_BACKOFF_MS),
+                AppConfig.getLong("db.retry.max-backoff", DEFAULT_RETRY_MAX_BACKOFF_MS),
+                AppConfig.getLong("db.retry.deadline", DEFAULT_RETRY_DEADLINE_MS)
+            );
+            
+            // Initialize connection pools
             initializeConnectionPool();
+            initializeReaderPool();
+            
+            // Start the single writer lane
+            initializeWriterLane();
+            
+            // Start the executor for async requests
+            dbExecutor = new DBExecutor(
+                AppConfig.getInt("db.executor.threads", DEFAULT_EXECUTOR_THREADS),
+                AppConfig.getInt("db.executor.queue-capacity", DEFAULT_EXECUTOR_QUEUE_CAPACITY),
+                AppConfig.getBoolean("db.executor.virtual-threads", false)
+            );
             
             // Initialize database schema
             DBInitializer.initializeDatabase();
             
+            // Start background WAL checkpoints
+            initializeCheckpointer();
+            
             initialized = true;
             logger.info("Database initialized successfully at: " + dbPath);
             
         } catch (ClassNotFoundException e) {
             throw new SQLException("SQLite JDBC driver not found", e);
         } catch (Exception e) {
+            shutdownCheckpointer();
+            shutdownExecutor();
+            shutdownWriterLane();
+            closePools();
             throw new SQLException("Database initialization failed", e);
         }
     }
@@ -93,12 +197,111 @@ public class DBUtil {
      * @throws SQLException if connection pool initialization fails
      */
     private static void initializeConnectionPool() throws SQLException {
-        for (int i = 0; i < INITIAL_POOL_SIZE; i++) {
-            Connection connection = createNewConnection();
-            connectionPool.offer(connection);
-            currentPoolSize++;
+        int maxPoolSize = AppConfig.getInt("db.pool.max-active", DEFAULT_MAX_POOL_SIZE);
+        int minPoolSize = Math.min(AppConfig.getInt("db.pool.min-idle", DEFAULT_MIN_POOL_SIZE), maxPoolSize);
+        
+        connectionPool = new ConnectionPool(
+            "main",
+            DBUtil::createNewConnection,
+            minPoolSize,
+            maxPoolSize,
+            AppConfig.getLong("db.pool.max-wait", DEFAULT_ACQUIRE_TIMEOUT_MS),
+            AppConfig.getLong("db.pool.idle-timeout", DEFAULT_IDLE_TIMEOUT_MS),
+            AppConfig.getLong("db.pool.leak-detection-threshold", DEFAULT_LEAK_DETECTION_THRESHOLD_MS)
+        );
+    }
+    
+    /**
+     * Initialize the read-only reader pool
+     * 
+     * @throws SQLException if reader pool initialization fails
+     */
+    private static void initializeReaderPool() throws SQLException {
+        int maxPoolSize = AppConfig.getInt("db.reader-pool.max-active", DEFAULT_READER_MAX_POOL_SIZE);
+        int minPoolSize = Math.min(AppConfig.getInt("db.reader-pool.min-idle", DEFAULT_READER_MIN_POOL_SIZE), maxPoolSize);
+        
+        readerPool = new ConnectionPool(
+            "reader",
+            DBUtil::createReadOnlyConnection,
+            minPoolSize,
+            maxPoolSize,
+            AppConfig.getLong("db.pool.max-wait", DEFAULT_ACQUIRE_TIMEOUT_MS),
+            AppConfig.getLong("db.pool.idle-timeout", DEFAULT_IDLE_TIMEOUT_MS),
+            AppConfig.getLong("db.pool.leak-detection-threshold", DEFAULT_LEAK_DETECTION_THRESHOLD_MS)
+        );
+    }
+    
+    private static void closePools() {
+        ConnectionPool pool = connectionPool;
+        connectionPool = null;
+        if (pool != null) {
+            pool.close();
+        }
+        
+        ConnectionPool readers = readerPool;
+        readerPool = null;
+        if (readers != null) {
+            readers.close();
+        }
+    }
+    
+    /**
+     * Start the writer lane with its own dedicated connection
+     */
+    private static void initializeWriterLane() {
+        writerLane = new WriterLane(
+            DBUtil::createWriterConnection,
+            AppConfig.getInt("db.writer.queue-capacity", DEFAULT_WRITE_QUEUE_CAPACITY),
+            AppConfig.getInt("db.writer.max-batch-size", DEFAULT_WRITE_BATCH_SIZE),
+            AppConfig.getLong("db.pool.max-wait", DEFAULT_ACQUIRE_TIMEOUT_MS)
+        );
+    }
+    
+    /**
+     * Start the background WAL checkpointer unless disabled by configuration
+     */
+    private static void initializeCheckpointer() {
+        long interval = getCheckpointInterval();
+        if (interval <= 0) {
+            logger.info("Background WAL checkpointing disabled, using SQLite autocheckpoint");
+            return;
+        }
+        
+        walCheckpointer = new WalCheckpointer(
+            DBUtil::createNewConnection,
+            new File(dbPath),
+            interval,
+            AppConfig.getLong("db.wal.size-limit-bytes", DEFAULT_WAL_SIZE_LIMIT_BYTES),
+            AppConfig.getInt("db.wal.max-incomplete-checkpoints", DEFAULT_MAX_INCOMPLETE_CHECKPOINTS)
+        );
+    }
+    
+    private static long getCheckpointInterval() {
+        return AppConfig.getLong("db.wal.checkpoint-interval", DEFAULT_CHECKPOINT_INTERVAL_MS);
+    }
+    
+    private static void shutdownCheckpointer() {
+        WalCheckpointer checkpointer = walCheckpointer;
+        walCheckpointer = null;
+        if (checkpointer != null) {
+            checkpointer.shutdown();
+        }
+    }
+    
+    private static void shutdownExecutor() {
+        DBExecutor executor = dbExecutor;
+        dbExecutor = null;
+        if (executor != null) {
+            executor.shutdown();
+        }
+    }
+    
+    private static void shutdownWriterLane() {
+        WriterLane lane = writerLane;
+        writerLane = null;
+        if (lane != null) {
+            lane.shutdown();
         }
-        logger.info("Connection pool initialized with " + INITIAL_POOL_SIZE + " connections");
     }
     
     /**
@@ -108,56 +311,85 @@ public class DBUtil {
      * @throws SQLException if connection creation fails
      */
     private static Connection createNewConnection() throws SQLException {
+        return createNewConnection(new Properties());
+    }
+    
+    /**
+     * Create the writer lane's connection. Its transactions begin IMMEDIATE so
+     * the write lock is held for the whole batch; a deferred transaction could
+     * otherwise fail with SQLITE_BUSY when upgrading a read snapshot that a
+     * RESTART/TRUNCATE checkpoint has invalidated.
+     * 
+     * @return A new SQLite connection for the writer lane
+     * @throws SQLException if connection creation fails
+     */
+    private static Connection createWriterConnection() throws SQLException {
+        Properties properties = new Properties();
+        properties.setProperty("transaction_mode", "IMMEDIATE");
+        return createNewConnection(properties);
+    }
+    
+    private static Connection createNewConnection(Properties properties) throws SQLException {
         if (jdbcUrl == null) {
             throw new SQLException("Database not initialized. Call initialize() first.");
         }
         
-        Connection connection = DriverManager.getConnection(jdbcUrl);
+        Connection connection = DriverManager.getConnection(jdbcUrl, properties);
         
         // Enable foreign key constraints
         try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA busy_timeout = " + AppConfig.getInt("db.busy-timeout", DEFAULT_BUSY_TIMEOUT_MS));
             stmt.execute("PRAGMA foreign_keys = ON");
             stmt.execute("PRAGMA journal_mode = WAL"); // Write-Ahead Logging for better concurrency
             stmt.execute("PRAGMA synchronous = NORMAL"); // Balanced performance/safety
             stmt.execute("PRAGMA temp_store = MEMORY"); // Store temporary data in memory
             stmt.execute("PRAGMA mmap_size = 268435456"); // 256MB memory-mapped I/O
+            if (getCheckpointInterval() > 0) {
+                stmt.execute("PRAGMA wal_autocheckpoint = 0"); // Checkpoints run in WalCheckpointer
+            }
+        }
+        
+        QueryTimeouts.install(connection);
+        
+        return StatementCachingConnection.wrap(connection,
+            AppConfig.getInt("db.statement-cache.size", DEFAULT_STATEMENT_CACHE_SIZE));
+    }
+    
+    /**
+     * Create a connection for the reader pool. Writes are rejected by SQLite
+     * (query_only) and the page cache is larger than on read-write connections.
+     * 
+     * @return A new query-only SQLite connection
+     * @throws SQLException if connection creation fails
+     */
+    private static Connection createReadOnlyConnection() throws SQLException {
+        Connection connection = createNewConnection();
+        
+        try (Statement stmt = connection.createStatement()) {
+            stmt.execute("PRAGMA query_only = ON");
+            stmt.execute("PRAGMA cache_size = -"
+                + AppConfig.getInt("db.reader-pool.cache-size-kb", DEFAULT_READER_CACHE_SIZE_KB));
+        } catch (SQLException e) {
+            connection.close();
+            throw e;
         }
         
         return connection;
     }
     
     /**
-     * Get a connection from the pool
+     * Get a connection from the pool, waiting up to the configured acquire timeout
      * 
      * @return A database connection
-     * @throws SQLException if no connection is available
+     * @throws SQLException if no connection becomes available in time
      */
     public static Connection getConnection() throws SQLException {
-        if (!initialized) {
+        ConnectionPool pool = connectionPool;
+        if (pool == null) {
             throw new SQLException("Database not initialized. Call initialize() first.");
         }
         
-        Connection connection = connectionPool.poll();
-        
-        if (connection == null || connection.isClosed()) {
-            // Create new connection if pool is empty or connection is closed
-            if (currentPoolSize < MAX_POOL_SIZE) {
-                connection = createNewConnection();
-                currentPoolSize++;
-                logger.fine("Created new connection. Pool size: " + currentPoolSize);
-            } else {
-                throw new SQLException("Maximum pool size reached. No connections available.");
-            }
-        }
-        
-        // Test connection validity
-        if (!isConnectionValid(connection)) {
-            connection.close();
-            currentPoolSize--;
-            return getConnection(); // Recursive call to get a new connection
-        }
-        
-        return connection;
+        return pool.borrow();
     }
     
     /**
@@ -166,89 +398,343 @@ public class DBUtil {
      * @param connection The connection to return
      */
     public static void releaseConnection(Connection connection) {
-        if (connection != null) {
+        ConnectionPool pool = connectionPool;
+        if (connection == null) {
+            return;
+        }
+        
+        if (pool != null) {
+            pool.release(connection);
+        } else {
             try {
-                if (!connection.isClosed() && isConnectionValid(connection)) {
-                    // Reset connection state
-                    connection.setAutoCommit(true);
-                    connectionPool.offer(connection);
-                } else {
-                    connection.close();
-                    currentPoolSize--;
-                }
+                connection.close();
             } catch (SQLException e) {
-                logger.log(Level.WARNING, "Error releasing connection", e);
+                logger.log(Level.SEVERE, "Error closing connection", e);
+            }
+        }
+    }
+    
+    /**
+     * Execute a database operation with automatic connection management
+     * 
+     * @param operation The database operation to execute
+     * @return The result of the operation
+     * @throws SQLException if the operation fails
+     */
+    public static <T> T executeWithConnection(DatabaseOperation<T> operation) throws SQLException {
+        Connection bound = boundConnection.get();
+        if (bound != null) {
+            return operation.execute(bound);
+        }
+        
+        return withRetry(() -> {
+            try (QueryTimeouts.Scope scope = QueryTimeouts.enter(QueryTimeouts.OperationClass.LOOKUP)) {
+                if (UnitOfWork.isActive()) {
+                    return operation.execute(UnitOfWork.connection());
+                }
+                
+                Connection connection = getConnection();
                 try {
-                    connection.close();
-                    currentPoolSize--;
-                } catch (SQLException ex) {
-                    logger.log(Level.SEVERE, "Error closing connection", ex);
+                    return operation.execute(connection);
+                } finally {
+                    releaseConnection(connection);
                 }
             }
-        }
+        });
     }
     
     /**
-     * Check if a connection is valid
+     * Execute a read-only operation on a connection from the reader pool
      * 
-     * @param connection The connection to check
-     * @return true if the connection is valid, false otherwise
+     * Inside a write or transaction the operation reuses the connection bound
+     * to the current thread so it sees the uncommitted changes; inside a
+     * request unit of work it uses the request's reader connection.
+     * 
+     * @param operation The read operation to execute
+     * @return The result of the operation
+     * @throws SQLException if the operation fails or no reader becomes available in time
      */
-    private static boolean isConnectionValid(Connection connection) {
-        try {
-            return connection != null && 
-                   !connection.isClosed() && 
-                   connection.isValid(CONNECTION_TIMEOUT / 1000);
-        } catch (SQLException e) {
-            return false;
+    public static <T> T executeRead(DatabaseOperation<T> operation) throws SQLException {
+        Connection bound = boundConnection.get();
+        if (bound != null) {
+            return operation.execute(bound);
         }
+        
+        return withRetry(() -> {
+            try (QueryTimeouts.Scope scope = QueryTimeouts.enter(QueryTimeouts.OperationClass.REPORT)) {
+                if (UnitOfWork.isActive()) {
+                    return operation.execute(UnitOfWork.connection());
+                }
+                
+                Connection connection = borrowReader();
+                try {
+                    return operation.execute(connection);
+                } finally {
+                    releaseReader(connection);
+                }
+            }
+        });
     }
     
     /**
-     * Execute a database operation with automatic connection management
+     * Execute a streaming read on a connection from the reader pool
      * 
-     * @param operation The database operation to execute
+     * Like executeRead, but timed as a STREAM operation whose deadline also
+     * covers the time the caller spends handling each row, and never retried:
+     * rows already handed to a callback cannot be taken back.
+     * 
+     * @param operation The read operation to execute
      * @return The result of the operation
-     * @throws SQLException if the operation fails
+     * @throws SQLException if the operation fails or no reader becomes available in time
      */
-    public static <T> T executeWithConnection(DatabaseOperation<T> operation) throws SQLException {
-        Connection connection = getConnection();
-        try {
-            return operation.execute(connection);
-        } finally {
-            releaseConnection(connection);
+    public static <T> T executeStream(DatabaseOperation<T> operation) throws SQLException {
+        Connection bound = boundConnection.get();
+        if (bound != null) {
+            return operation.execute(bound);
+        }
+        
+        try (QueryTimeouts.Scope scope = QueryTimeouts.enter(QueryTimeouts.OperationClass.STREAM)) {
+            if (UnitOfWork.isActive()) {
+                return operation.execute(UnitOfWork.connection());
+            }
+            
+            Connection connection = borrowReader();
+            try {
+                return operation.execute(connection);
+            } finally {
+                releaseReader(connection);
+            }
+        }
+    }
+    
+    /**
+     * Borrow a connection from the reader pool
+     */
+    static Connection borrowReader() throws SQLException {
+        ConnectionPool pool = readerPool;
+        if (pool == null) {
+            throw new SQLException("Database not initialized. Call initialize() first.");
+        }
+        return pool.borrow();
+    }
+    
+    /**
+     * Return a connection to the reader pool
+     */
+    static void releaseReader(Connection connection) {
+        ConnectionPool pool = readerPool;
+        if (pool != null) {
+            pool.release(connection);
+        } else {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.log(Level.SEVERE, "Error closing connection", e);
+            }
         }
     }
     
     /**
-     * Execute a database transaction with automatic connection management
+     * Execute a database transaction
+     * 
+     * The operation runs as a single task on the writer lane with the writer
+     * connection bound to the thread, so every DAO call made inside it (reads
+     * and writes alike) joins the same transaction and the whole unit commits
+     * once. If the operation throws, all of its changes are rolled back.
+     * Calling this from inside a running transaction simply joins it.
      * 
      * @param operation The database operation to execute
      * @return The result of the operation
      * @throws SQLException if the operation fails
      */
     public static <T> T executeTransaction(DatabaseOperation<T> operation) throws SQLException {
-        Connection connection = getConnection();
-        try {
-            connection.setAutoCommit(false);
-            T result = operation.execute(connection);
-            connection.commit();
-            return result;
-        } catch (SQLException e) {
+        Connection bound = boundConnection.get();
+        if (bound != null) {
+            // Join the transaction already running on this thread
+            return operation.execute(bound);
+        }
+        
+        return executeWrite(operation);
+    }
+    
+    /**
+     * Run an action once the current write has committed
+     * 
+     * Inside a write or transaction the action is deferred until the writer
+     * lane commits the outermost operation and dropped if it rolls back;
+     * outside one it runs at once. Use it to update in-memory state derived
+     * from the database, such as caches, only for changes that persist.
+     * 
+     * @param action The action to run after commit
+     */
+    public static void afterCommit(Runnable action) {
+        WriterLane lane = writerLane;
+        if (lane != null && lane.isWriterThread()) {
+            lane.afterCommit(action);
+        } else {
+            action.run();
+        }
+    }
+    
+    /**
+     * Queue a write operation on the single writer lane
+     * 
+     * The operation runs on the writer thread's connection inside a transaction
+     * shared with other queued writes. It must not commit, roll back or change
+     * auto-commit itself.
+     * 
+     * @param operation The write operation to execute
+     * @return Future completed with the operation result once it has been committed
+     */
+    public static <T> CompletableFuture<T> submitWrite(DatabaseOperation<T> operation) {
+        WriterLane lane = writerLane;
+        if (lane == null) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new SQLException("Database not initialized. Call initialize() first."));
+            return failed;
+        }
+        
+        if (lane.isWriterThread()) {
+            // Nested write from a task already running on the writer lane
+            CompletableFuture<T> inline = new CompletableFuture<>();
             try {
-                connection.rollback();
-            } catch (SQLException rollbackEx) {
-                logger.log(Level.SEVERE, "Error rolling back transaction", rollbackEx);
+                inline.complete(operation.execute(boundConnection.get()));
+            } catch (SQLException | RuntimeException e) {
+                inline.completeExceptionally(e);
             }
-            throw e;
+            return inline;
+        }
+        
+        return lane.submit(operation);
+    }
+    
+    /**
+     * Execute a write operation on the single writer lane and wait for it to commit
+     * 
+     * @param operation The write operation to execute
+     * @return The result of the operation
+     * @throws SQLException if the operation or its commit fails
+     */
+    public static <T> T executeWrite(DatabaseOperation<T> operation) throws SQLException {
+        WriterLane lane = writerLane;
+        if (lane != null && lane.isWriterThread()) {
+            return operation.execute(boundConnection.get());
+        }
+        
+        try {
+            return withRetry(() -> awaitWrite(submitWrite(operation)));
         } finally {
-            try {
-                connection.setAutoCommit(true);
-            } catch (SQLException e) {
-                logger.log(Level.WARNING, "Error resetting auto-commit", e);
+            // Later reads in the same request must see this write
+            UnitOfWork.endSnapshot();
+        }
+    }
+    
+    /**
+     * Wait for a queued write and rethrow its failure unwrapped
+     * 
+     * The wait has no fixed limit, since a write may still commit after any
+     * given time and the caller could not tell whether it did; instead it
+     * ends as soon as the writer thread is found to have stopped.
+     */
+    private static <T> T awaitWrite(CompletableFuture<T> write) throws SQLException {
+        try {
+            while (true) {
+                try {
+                    return write.get(WRITE_LIVENESS_CHECK_MS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException e) {
+                    WriterLane lane = writerLane;
+                    if (!write.isDone() && (lane == null || !lane.isAlive())) {
+                        throw new SQLException("Writer lane stopped before the write completed");
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for write to complete", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
             }
-            releaseConnection(connection);
+            throw new SQLException("Write operation failed", cause);
+        }
+    }
+    
+    /**
+     * Run an outermost database call under the retry policy
+     */
+    private static <T> T withRetry(RetryPolicy.RetryableCall<T> call) throws SQLException {
+        RetryPolicy policy = retryPolicy;
+        return policy != null ? policy.execute(call) : call.call();
+    }
+    
+    /**
+     * Get the retry policy and its counters
+     * 
+     * @return The retry policy, or null if the database is not initialized
+     */
+    public static RetryPolicy getRetryPolicy() {
+        return retryPolicy;
+    }
+    
+    /**
+     * Bind a connection to the current thread so that nested DBUtil calls reuse it
+     */
+    static void bindConnection(Connection connection) {
+        boundConnection.set(connection);
+    }
+    
+    /**
+     * Remove the connection bound to the current thread
+     */
+    static void unbindConnection() {
+        boundConnection.remove();
+    }
+    
+    /**
+     * Get the number of writes waiting on the writer lane
+     * 
+     * @return The write queue length
+     */
+    public static int getPendingWriteCount() {
+        WriterLane lane = writerLane;
+        return lane != null ? lane.getQueueSize() : 0;
+    }
+    
+    /**
+     * Run database work on the bounded executor instead of the calling thread
+     * 
+     * Meant for async servlets: the request thread is released while the
+     * task waits for a thread and runs. Several DAO calls inside one task
+     * share a unit of work; writes inside it go through the writer lane as usual.
+     * 
+     * @param task The database work
+     * @return Future completed with the task's result; it fails with a
+     *         RejectedExecutionException at once if the executor queue is full
+     */
+    public static <T> CompletableFuture<T> submitAsync(DBExecutor.Task<T> task) {
+        DBExecutor executor = dbExecutor;
+        if (executor == null) {
+            CompletableFuture<T> failed = new CompletableFuture<>();
+            failed.completeExceptionally(new SQLException("Database not initialized. Call initialize() first."));
+            return failed;
         }
+        return executor.submit(task);
+    }
+    
+    /**
+     * Get the executor for async requests and its counters
+     * 
+     * @return The executor, or null if the database is not initialized
+     */
+    public static DBExecutor getExecutor() {
+        return dbExecutor;
     }
     
     /**
@@ -266,7 +752,8 @@ public class DBUtil {
      * @return The current number of connections in the pool
      */
     public static int getCurrentPoolSize() {
-        return currentPoolSize;
+        ConnectionPool pool = connectionPool;
+        return pool != null ? pool.getTotalSize() : 0;
     }
     
     /**
@@ -275,27 +762,79 @@ public class DBUtil {
      * @return The number of available connections in the pool
      */
     public static int getAvailableConnections() {
-        return connectionPool.size();
+        ConnectionPool pool = connectionPool;
+        return pool != null ? pool.getIdleCount() : 0;
+    }
+    
+    /**
+     * Get instrumentation for the main connection pool
+     * 
+     * @return Pool statistics, or null if the database is not initialized
+     */
+    public static PoolStats getPoolStats() {
+        ConnectionPool pool = connectionPool;
+        return pool != null ? pool.getStats() : null;
+    }
+    
+    /**
+     * Get instrumentation for the reader pool
+     * 
+     * @return Reader pool statistics, or null if the database is not initialized
+     */
+    public static PoolStats getReaderPoolStats() {
+        ConnectionPool pool = readerPool;
+        return pool != null ? pool.getStats() : null;
+    }
+    
+    /**
+     * Get WAL checkpoint statistics
+     * 
+     * @return Checkpoint statistics, or null if background checkpointing is not running
+     */
+    public static CheckpointStats getCheckpointStats() {
+        WalCheckpointer checkpointer = walCheckpointer;
+        return checkpointer != null ? checkpointer.getStats() : null;
+    }
+    
+    /**
+     * Get the current reader pool size
+     * 
+     * @return The current number of connections in the reader pool
+     */
+    public static int getReaderPoolSize() {
+        ConnectionPool pool = readerPool;
+        return pool != null ? pool.getTotalSize() : 0;
+    }
+    
+    /**
+     * Get the available reader connections count
+     * 
+     * @return The number of idle connections in the reader pool
+     */
+    public static int getAvailableReaders() {
+        ConnectionPool pool = readerPool;
+        return pool != null ? pool.getIdleCount() : 0;
     }
     
     /**
      * Close all connections and clean up resources
      */
-    public static synchronized void cleanup() {
-        logger.info("Cleaning up database connections...");
-        
-        Connection connection;
-        while ((connection = connectionPool.poll()) != null) {
-            try {
-                connection.close();
-            } catch (SQLException e) {
-                logger.log(Level.WARNING, "Error closing connection during cleanup", e);
-            }
+    public static void cleanup() {
+        lifecycleLock.lock();
+        try {
+            logger.info("Cleaning up database connections...");
+            
+            initialized = false;
+            
+            shutdownCheckpointer();
+            shutdownExecutor();
+            shutdownWriterLane();
+            closePools();
+            
+            logger.info("Database cleanup completed");
+        } finally {
+            lifecycleLock.unlock();
         }
-        
-        currentPoolSize = 0;
-        initialized = false;
-        logger.info("Database cleanup completed");
     }
     
     /**
@@ -307,6 +846,16 @@ public class DBUtil {
         return initialized;
     }
     
+    /**
+     * Build the parameter list of an IN clause
+     * 
+     * @param count Number of values
+     * @return "?, ?, ..." with count placeholders
+     */
+    public static String placeholders(int count) {
+        return String.join(", ", Collections.nCopies(count, "?"));
+    }
+    
     /**
      * Functional interface for database operations
      * 
@@ -317,6 +866,16 @@ public class DBUtil {
         T execute(Connection connection) throws SQLException;
     }
     
+    /**
+     * Callback receiving rows one at a time while a streaming read is open
+     * 
+     * @param <T> The row type
+     */
+    @FunctionalInterface
+    public interface RowCallback<T> {
+        void accept(T row) throws SQLException;
+    }
+    
     /**
      * Health check for the database
      * 
@@ -346,8 +905,26 @@ public class DBUtil {
             return executeWithConnection(connection -> {
                 StringBuilder stats = new StringBuilder();
                 stats.append("Database Path: ").append(dbPath).append("\n");
-                stats.append("Pool Size: ").append(currentPoolSize).append("\n");
-                stats.append("Available Connections: ").append(connectionPool.size()).append("\n");
+                stats.append("Pool Size: ").append(getCurrentPoolSize()).append("\n");
+                stats.append("Available Connections: ").append(getAvailableConnections()).append("\n");
+                stats.append("Reader Pool Size: ").append(getReaderPoolSize()).append("\n");
+                stats.append("Available Readers: ").append(getAvailableReaders()).append("\n");
+                stats.append("Pending Writes: ").append(getPendingWriteCount()).append("\n");
+                DBExecutor executor = dbExecutor;
+                if (executor != null) {
+                    stats.append("Async Executor: ").append(executor.isVirtual() ? "virtual" : "platform")
+                         .append(", queued=").append(executor.getQueueSize())
+                         .append(", active=").append(executor.getActiveCount())
+                         .append(", completed=").append(executor.getCompletedCount())
+                         .append(", rejected=").append(executor.getRejectedCount()).append("\n");
+                }
+                stats.append("Main Pool: ").append(getPoolStats()).append("\n");
+                stats.append("Reader Pool: ").append(getReaderPoolStats()).append("\n");
+                stats.append("WAL Size: ").append(new File(dbPath + "-wal").length()).append(" bytes\n");
+                stats.append("Checkpoints: ").append(getCheckpointStats()).append("\n");
+                stats.append("Busy Retries: ").append(retryPolicy).append("\n");
+                stats.append("Statement Cache Hits: ").append(StatementCachingConnection.getHitCount()).append("\n");
+                stats.append("Statement Cache Misses: ").append(StatementCachingConnection.getMissCount()).append("\n");
                 stats.append("Database File Exists: ").append(new File(dbPath).exists()).append("\n");
                 
                 try (Statement stmt = connection.createStatement()) {
@@ -0,0 +1,280 @@
+package com.disc.util;
+
+import com.google.gson.Gson;
+
+import javax.servlet.AsyncContext;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Live feed of dashboard changes for Server-Sent Events listeners
+ *
+ * Servlets report changes (links created, tests started or completed) after
+ * they have committed. Changes arriving within the debounce window are
+ * merged into one event: the statistics are computed once and the same
+ * event is written to every connected dashboard. While nothing changes
+ * nothing is computed; listeners only get a heartbeat comment.
+ *
+ * Each event carries the changes as deltas and, when anyone is listening,
+ * the full statistics. The last events are kept so a reconnecting client
+ * can resume from its Last-Event-ID and apply the deltas it missed; a client
+ * that missed more than that is told to reload.
+ */
+public final class DashboardEventBus {
+
+    private static final Logger logger = Logger.getLogger(DashboardEventBus.class.getName());
+
+    public static final String LINKS_CREATED = "linksCreated";
+    public static final String TESTS_STARTED = "testsStarted";
+    public static final String TESTS_COMPLETED = "testsCompleted";
+
+    private static final String EVENT_NAME = "stats";
+    private static final String RESET_EVENT_NAME = "reset";
+    private static final int REPLAY_EVENTS = 64;
+
+    private static final long DEFAULT_DEBOUNCE_MS = 1000;
+    private static final long DEFAULT_HEARTBEAT_MS = 15000;
+
+    private static final Gson gson = new Gson();
+
+    // Pending changes since the last event, and whether a flush is scheduled
+    private static final Map<String, Long> pendingChanges = new LinkedHashMap<>();
+    private static boolean flushScheduled;
+
+    // Recent events for resume, oldest first. Ids start at the boot time, so
+    // an id from before a restart is never taken for a current one.
+    private static final Deque<Event> recentEvents = new ArrayDeque<>();
+    private static long lastEventId = System.currentTimeMillis();
+
+    private static final Set<AsyncContext> listeners = ConcurrentHashMap.newKeySet();
+
+    private static volatile SnapshotCache.Loader<Object> statsLoader;
+    private static volatile ScheduledExecutorService scheduler;
+
+    private static final class Event {
+        private final long id;
+        private final String data;
+
+        private Event(long id, String data) {
+            this.id = id;
+            this.data = data;
+        }
+    }
+
+    private DashboardEventBus() {
+    }
+
+    /**
+     * Set how the statistics sent with each event are computed
+     */
+    public static void setStatsLoader(SnapshotCache.Loader<Object> loader) {
+        statsLoader = loader;
+    }
+
+    /**
+     * Report a committed change
+     *
+     * @param change One of LINKS_CREATED, TESTS_STARTED, TESTS_COMPLETED
+     * @param count Number of items changed
+     */
+    public static void publish(String change, long count) {
+        if (count <= 0) {
+            return;
+        }
+
+        synchronized (pendingChanges) {
+            pendingChanges.merge(change, count, Long::sum);
+            if (flushScheduled) {
+                return;
+            }
+            flushScheduled = true;
+        }
+
+        scheduler().schedule(DashboardEventBus::flush,
+            AppConfig.getLong("dashboard.events.debounce-ms", DEFAULT_DEBOUNCE_MS), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Register a listener and send it the events it missed
+     *
+     * @param context Started async context of an event-stream response
+     * @param lastSeenId Last-Event-ID sent by the client, or null for a new connection
+     */
+    public static void subscribe(AsyncContext context, Long lastSeenId) {
+        scheduler();
+        List<Event> missed = new ArrayList<>();
+        boolean resumable = true;
+        synchronized (recentEvents) {
+            if (lastSeenId != null && lastSeenId != lastEventId) {
+                long oldestId = recentEvents.isEmpty() ? lastEventId + 1 : recentEvents.peekFirst().id;
+                resumable = lastSeenId >= oldestId - 1 && lastSeenId < lastEventId;
+                for (Event event : recentEvents) {
+                    if (resumable && event.id > lastSeenId) {
+                        missed.add(event);
+                    }
+                }
+            }
+            listeners.add(context);
+        }
+
+        if (!resumable) {
+            // Too old, or from before a restart: the client has to reload the whole dashboard
+            write(context, "id: " + lastEventId + "\nevent: " + RESET_EVENT_NAME + "\ndata: {}\n\n");
+            return;
+        }
+        for (Event event : missed) {
+            send(context, event);
+        }
+    }
+
+    /**
+     * Remove a listener whose connection has ended
+     */
+    public static void unsubscribe(AsyncContext context) {
+        listeners.remove(context);
+    }
+
+    /**
+     * @return Number of connected listeners
+     */
+    public static int getListenerCount() {
+        return listeners.size();
+    }
+
+    /**
+     * Merge the pending changes into one event and send it to every listener
+     */
+    private static void flush() {
+        Map<String, Long> changes;
+        synchronized (pendingChanges) {
+            changes = new LinkedHashMap<>(pendingChanges);
+            pendingChanges.clear();
+            flushScheduled = false;
+        }
+
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("changes", changes);
+
+        // Nobody is watching: keep the changes for resuming clients but compute nothing
+        SnapshotCache.Loader<Object> loader = statsLoader;
+        if (loader != null && !listeners.isEmpty()) {
+            try {
+                payload.put("stats", loader.load());
+            } catch (Exception e) {
+                // Send the changes alone; the next event carries the statistics again
+                logger.log(Level.WARNING, "Failed to compute dashboard statistics for live event", e);
+            }
+        }
+
+        Event event;
+        List<AsyncContext> targets;
+        synchronized (recentEvents) {
+            event = new Event(++lastEventId, gson.toJson(payload));
+            recentEvents.addLast(event);
+            if (recentEvents.size() > REPLAY_EVENTS) {
+                recentEvents.removeFirst();
+            }
+            // Listeners subscribing from now on get this event as a replay
+            targets = new ArrayList<>(listeners);
+        }
+
+        for (AsyncContext listener : targets) {
+            send(listener, event);
+        }
+    }
+
+    private static void heartbeat() {
+        for (AsyncContext listener : listeners) {
+            write(listener, ": heartbeat\n\n");
+        }
+    }
+
+    private static void send(AsyncContext context, Event event) {
+        write(context, "id: " + event.id + "\nevent: " + EVENT_NAME + "\ndata: " + event.data + "\n\n");
+    }
+
+    /**
+     * Write to one listener; a broken connection is dropped
+     */
+    private static void write(AsyncContext context, String text) {
+        synchronized (context) {
+            try {
+                PrintWriter writer = context.getResponse().getWriter();
+                writer.write(text);
+                writer.flush();
+                if (writer.checkError()) {
+                    throw new IOException("Client disconnected");
+                }
+            } catch (IOException | IllegalStateException e) {
+                listeners.remove(context);
+                try {
+                    context.complete();
+                } catch (IllegalStateException ignored) {
+                    // Already completed by the container
+                }
+            }
+        }
+    }
+
+    private static ScheduledExecutorService scheduler() {
+        ScheduledExecutorService current = scheduler;
+        if (current == null) {
+            synchronized (DashboardEventBus.class) {
+                current = scheduler;
+                if (current == null) {
+                    current = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                        Thread thread = new Thread(runnable, "disc-dashboard-events");
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+                    long heartbeatMs = AppConfig.getLong("dashboard.events.heartbeat-ms", DEFAULT_HEARTBEAT_MS);
+                    current.scheduleWithFixedDelay(DashboardEventBus::heartbeat,
+                        heartbeatMs, heartbeatMs, TimeUnit.MILLISECONDS);
+                    scheduler = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Close every listener and stop the event thread
+     */
+    public static void shutdown() {
+        ScheduledExecutorService current;
+        synchronized (DashboardEventBus.class) {
+            current = scheduler;
+            scheduler = null;
+        }
+        if (current != null) {
+            current.shutdownNow();
+        }
+
+        for (AsyncContext listener : listeners) {
+            try {
+                listener.complete();
+            } catch (IllegalStateException ignored) {
+                // Already completed by the container
+            }
+        }
+        listeners.clear();
+        synchronized (pendingChanges) {
+            pendingChanges.clear();
+            flushScheduled = false;
+        }
+        logger.info("Dashboard event bus stopped");
+    }
+}
@@ -0,0 +1,130 @@
+package com.disc.util;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.logging.Logger;
+
+/**
+ * Half-open time range [start, end) in Unix epoch seconds
+ *
+ * Date-filtered queries compare the indexed *_epoch columns against a range
+ * (column >= ? AND column < ?) instead of wrapping the timestamp column in
+ * DATE(), so SQLite can use an index range scan. Calendar days are resolved
+ * in the reporting time zone (report.time-zone), while the stored
+ * timestamps are UTC.
+ */
+public final class DateRange {
+
+    private static final Logger logger = Logger.getLogger(DateRange.class.getName());
+
+    private static volatile ZoneId zone;
+
+    private final long startEpoch;
+    private final long endEpoch;
+
+    private DateRange(long startEpoch, long endEpoch) {
+        this.startEpoch = startEpoch;
+        this.endEpoch = endEpoch;
+    }
+
+    /**
+     * @return The range covering one calendar day (yyyy-MM-dd) in the reporting time zone
+     * @throws IllegalArgumentException if the date cannot be parsed
+     */
+    public static DateRange ofDay(String date) {
+        return ofDays(date, date);
+    }
+
+    /**
+     * @param startDate First day (yyyy-MM-dd, inclusive)
+     * @param endDate Last day (yyyy-MM-dd, inclusive)
+     * @return The range from the start of startDate to the start of the day after endDate
+     * @throws IllegalArgumentException if a date cannot be parsed
+     */
+    public static DateRange ofDays(String startDate, String endDate) {
+        try {
+            return ofDays(LocalDate.parse(startDate), LocalDate.parse(endDate));
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid date: " + e.getParsedString(), e);
+        }
+    }
+
+    /**
+     * @param startDate First day (inclusive)
+     * @param endDate Last day (inclusive)
+     */
+    public static DateRange ofDays(LocalDate startDate, LocalDate endDate) {
+        ZoneId zoneId = zone();
+        return new DateRange(
+            startDate.atStartOfDay(zoneId).toEpochSecond(),
+            endDate.plusDays(1).atStartOfDay(zoneId).toEpochSecond());
+    }
+
+    /**
+     * Range between two instants, both inclusive. Timestamps are stored with
+     * second precision, so the exclusive end is the second after endTime.
+     */
+    public static DateRange between(Timestamp startTime, Timestamp endTime) {
+        return new DateRange(
+            Math.floorDiv(startTime.getTime(), 1000L),
+            Math.floorDiv(endTime.getTime(), 1000L) + 1);
+    }
+
+    /**
+     * @return Today's date in the reporting time zone
+     */
+    public static LocalDate today() {
+        return LocalDate.now(zone());
+    }
+
+    /**
+     * @return The time zone used to map calendar days to epoch ranges
+     */
+    public static ZoneId zone() {
+        ZoneId zoneId = zone;
+        if (zoneId == null) {
+            String configured = AppConfig.get("report.time-zone");
+            zoneId = ZoneId.systemDefault();
+            if (configured != null) {
+                try {
+                    zoneId = ZoneId.of(configured);
+                } catch (DateTimeException e) {
+                    logger.warning("Invalid report.time-zone '" + configured + "', using " + zoneId);
+                }
+            }
+            zone = zoneId;
+        }
+        return zoneId;
+    }
+
+    /**
+     * Bind the range to two consecutive parameters (column >= ? AND column < ?)
+     *
+     * @param pstmt The statement
+     * @param index Index of the first parameter
+     * @return Index of the next unbound parameter
+     */
+    public int bind(PreparedStatement pstmt, int index) throws SQLException {
+        pstmt.setLong(index, startEpoch);
+        pstmt.setLong(index + 1, endEpoch);
+        return index + 2;
+    }
+
+    public long getStartEpoch() {
+        return startEpoch;
+    }
+
+    public long getEndEpoch() {
+        return endEpoch;
+    }
+
+    @Override
+    public String toString() {
+        return "[" + startEpoch + ", " + endEpoch + ")";
+    }
+}
@@ -0,0 +1,175 @@
+package com.disc.util;
+
+import com.disc.dao.TestLinkDAO;
+
+import javax.servlet.ServletContext;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.file.Files;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Throughput benchmark of DBExecutor on platform threads versus virtual threads
+ *
+ * Each simulated request blocks for a fixed time standing in for I/O
+ * outside the database (a slow client, a remote call), every n-th request
+ * then commits a write through the writer lane, and each looks up a test
+ * link on a reader connection. The same load is run on both executor modes; virtual
+ * threads need JDK 21, otherwise the second run falls back to platform threads.
+ *
+ * Settings (system properties): bench.requests, bench.concurrency, bench.io-ms,
+ * bench.write-every, bench.webapp-dir (defaults to a new temporary database),
+ * plus the usual db.* parameters such as db.executor.threads.
+ */
+public class ExecutorBenchmark {
+
+    private static final Logger logger = Logger.getLogger(ExecutorBenchmark.class.getName());
+
+    private final int requests;
+    private final int concurrency;
+    private final long ioMillis;
+    private final int writeEvery;
+    private final int threads;
+
+    private final TestLinkDAO testLinkDAO = new TestLinkDAO();
+
+    public ExecutorBenchmark() {
+        this.requests = AppConfig.getInt("bench.requests", 20000);
+        this.concurrency = AppConfig.getInt("bench.concurrency", 1000);
+        this.ioMillis = AppConfig.getLong("bench.io-ms", 20);
+        this.writeEvery = AppConfig.getInt("bench.write-every", 10);
+        this.threads = AppConfig.getInt("db.executor.threads", 8);
+    }
+
+    /**
+     * Run the load on one executor mode and print the results
+     *
+     * @param virtualThreads true for virtual threads
+     */
+    public void run(boolean virtualThreads) throws InterruptedException {
+        // The executor admits every request the client keeps in flight
+        DBExecutor executor = new DBExecutor(threads, concurrency, virtualThreads);
+        String mode = executor.isVirtual() ? "virtual" : "platform(" + threads + ")";
+
+        try {
+            // Warm up connections, statement caches and the JIT
+            execute(executor, Math.min(requests, 2000), new LatencyHistogram(), new LongAdder());
+
+            LatencyHistogram latency = new LatencyHistogram();
+            LongAdder failures = new LongAdder();
+            long startTime = System.nanoTime();
+            execute(executor, requests, latency, failures);
+            double seconds = (System.nanoTime() - startTime) / 1e9;
+
+            LatencyHistogram.Snapshot snapshot = latency.snapshot();
+            System.out.println(String.format(
+                "%-14s requests=%d concurrency=%d io=%dms  throughput=%.0f req/s  p50=%.1fms p95=%.1fms p99=%.1fms max=%.1fms failures=%d",
+                mode, requests, concurrency, ioMillis, requests / seconds,
+                snapshot.getP50Millis(), snapshot.getP95Millis(), snapshot.getP99Millis(),
+                snapshot.getMaxMillis(), failures.sum()));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Submit requests, keeping at most the configured number in flight, and wait for all of them
+     */
+    private void execute(DBExecutor executor, int count, LatencyHistogram latency, LongAdder failures)
+            throws InterruptedException {
+        Semaphore slots = new Semaphore(concurrency);
+        for (int i = 0; i < count; i++) {
+            slots.acquire();
+            boolean write = writeEvery > 0 && i % writeEvery == 0;
+            long submitted = System.nanoTime();
+
+            CompletableFuture<Void> request = executor.submit(() -> simulateRequest(write));
+            request.whenComplete((ignored, error) -> {
+                latency.record(System.nanoTime() - submitted);
+                if (error != null) {
+                    if (failures.sum() == 0) {
+                        logger.log(Level.WARNING, "Simulated request failed", error);
+                    }
+                    failures.increment();
+                }
+                slots.release();
+            });
+        }
+        slots.acquire(concurrency);
+    }
+
+    private Void simulateRequest(boolean write) throws SQLException {
+        // I/O outside the database comes first: the unit of work borrows a reader
+        // on its first read and keeps it until the task ends
+        if (ioMillis > 0) {
+            try {
+                Thread.sleep(ioMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted", e);
+            }
+        }
+
+        if (write) {
+            // Commits an (empty) transaction through the writer lane like a submission does
+            DBUtil.executeWrite(connection -> {
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "UPDATE test_links SET status = status WHERE id = ?")) {
+                    pstmt.setLong(1, -ThreadLocalRandom.current().nextLong(1, Long.MAX_VALUE));
+                    return pstmt.executeUpdate();
+                }
+            });
+        }
+
+        testLinkDAO.getTestLinkByUrl(UUID.randomUUID().toString());
+        return null;
+    }
+
+    /**
+     * Minimal servlet context for running DBUtil outside a container
+     */
+    private static ServletContext standaloneContext(File webappDir) {
+        return (ServletContext) Proxy.newProxyInstance(ExecutorBenchmark.class.getClassLoader(),
+            new Class<?>[] {ServletContext.class},
+            (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "getRealPath":
+                        return new File(webappDir, (String) args[0]).getPath();
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return "StandaloneContext[" + webappDir + "]";
+                    default:
+                        return null;
+                }
+            });
+    }
+
+    public static void main(String[] args) {
+        try {
+            String webappDir = AppConfig.get("bench.webapp-dir");
+            File dir = webappDir != null ? new File(webappDir) : Files.createTempDirectory("disc-bench").toFile();
+            DBUtil.initialize(standaloneContext(dir));
+
+            System.out.println("Java " + System.getProperty("java.version") + ", database " + DBUtil.getDatabasePath());
+            ExecutorBenchmark benchmark = new ExecutorBenchmark();
+            benchmark.run(false);
+            benchmark.run(true);
+
+            DBUtil.cleanup();
+        } catch (Exception e) {
+            logger.log(Level.SEVERE, "Benchmark failed", e);
+            System.exit(1);
+        }
+    }
+}
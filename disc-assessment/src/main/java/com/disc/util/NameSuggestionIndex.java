@@ -0,0 +1,490 @@
+package com.disc.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.LongPredicate;
+
+/**
+ * In-memory prefix index of user names for autocomplete
+ *
+ * Each name is stored once, by id, together with its lowercased text. A key
+ * is a long packing a name id and an offset into that text; the key's text
+ * (the rest of the name from the offset) is read from the name, never
+ * copied. Keys are kept in sorted arrays and a suggestion is a binary search
+ * followed by a range scan over the keys starting with the query. Two kinds
+ * of keys are kept:
+ *
+ * - syllable keys: the lowercased name, e.g. "김민수"
+ * - choseong keys: the same positions read as the initial consonant of each
+ *   Hangul syllable, e.g. "ㄱㅁㅅ", so admins can type initials only; mixed
+ *   input such as "김ㅁ" matches on the initials and then checks the full
+ *   syllables
+ *
+ * Besides the whole name, each word after a space and the given name of a
+ * Korean name (without the one-syllable family name) are indexed as well, so
+ * "민수" also finds 김민수. Whole-name matches are returned first.
+ *
+ * New keys go to a smaller sorted pending array that is merged into the main
+ * array once full. Removing a name only clears its slot; its keys are
+ * skipped until a merge drops them, and the slot is reused after all key
+ * arrays have been purged.
+ */
+public class NameSuggestionIndex {
+
+    // Key kinds
+    private static final int SYLLABLE_KEY = 0;
+    private static final int CHOSEONG_KEY = 1;
+
+    // Match tiers, in the order results are returned
+    private static final int WHOLE_NAME = 0;
+    private static final int NAME_PART = 1;
+
+    // Bounds the work for mixed queries whose initials match many names
+    private static final int MAX_SCANNED_KEYS = 2000;
+
+    // Keys added between merges into the main arrays: at least this many,
+    // and up to 1/MERGE_RATIO of the main array so bulk loads merge rarely
+    private static final int PENDING_CAPACITY = 1024;
+    private static final int MERGE_RATIO = 8;
+
+    // Offsets are stored in the low bits of a key
+    private static final int OFFSET_BITS = 16;
+    private static final int MAX_OFFSET = (1 << OFFSET_BITS) - 1;
+
+    private static final char[] CHOSEONG = {
+        'ㄱ', 'ㄲ', 'ㄴ', 'ㄷ', 'ㄸ', 'ㄹ', 'ㅁ', 'ㅂ', 'ㅃ', 'ㅅ',
+        'ㅆ', 'ㅇ', 'ㅈ', 'ㅉ', 'ㅊ', 'ㅋ', 'ㅌ', 'ㅍ', 'ㅎ'
+    };
+    private static final char FIRST_SYLLABLE = '가';
+    private static final char LAST_SYLLABLE = '힣';
+    private static final int SYLLABLES_PER_CHOSEONG = 21 * 28;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Names by id (null once removed) and their lowercased text (the same
+    // String when the name is already lowercase; kept until the slot is freed)
+    private String[] names = new String[64];
+    private String[] texts = new String[64];
+    private int nameSlots;
+    private int removedNames;
+    private int[] freeIds = new int[0];
+    private int freeIdCount;
+
+    // Sorted keys by kind and tier
+    private final KeyList[][] keyLists = {
+        {new KeyList(false), new KeyList(false)},
+        {new KeyList(true), new KeyList(true)}
+    };
+
+    private volatile boolean loaded;
+
+    /**
+     * Add a name; adding a name twice has no effect
+     */
+    public void add(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        String text = name.trim().toLowerCase();
+
+        lock.writeLock().lock();
+        try {
+            if (findId(name, text) >= 0) {
+                return;
+            }
+
+            int id = allocateId(name, text);
+            addKeys(WHOLE_NAME, id, 0, text);
+            for (int offset : partOffsets(text)) {
+                addKeys(NAME_PART, id, offset, text);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove a name
+     */
+    public void remove(String name) {
+        if (name == null || name.trim().isEmpty()) {
+            return;
+        }
+        String text = name.trim().toLowerCase();
+
+        lock.writeLock().lock();
+        try {
+            int id = findId(name, text);
+            if (id < 0) {
+                return;
+            }
+
+            names[id] = null;
+            removedNames++;
+            if (removedNames >= PENDING_CAPACITY && removedNames * 4 >= nameSlots) {
+                purge();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Find names starting with the query, whole-name matches first
+     *
+     * @param query Typed text: syllables, initial consonants or a mix
+     * @param limit Maximum number of names
+     * @return Matching names in key order
+     */
+    public List<String> suggest(String query, int limit) {
+        String typed = query == null ? "" : query.trim().toLowerCase();
+        if (typed.isEmpty() || limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        boolean initials = containsChoseong(typed);
+        String prefix = initials ? toChoseong(typed) : typed;
+        Set<String> result = new LinkedHashSet<>();
+        int[] scanned = {0};
+
+        lock.readLock().lock();
+        try {
+            for (int tier : new int[] {WHOLE_NAME, NAME_PART}) {
+                boolean complete = keyLists[initials ? CHOSEONG_KEY : SYLLABLE_KEY][tier].scan(prefix, key -> {
+                    if (++scanned[0] > MAX_SCANNED_KEYS) {
+                        return false;
+                    }
+                    if (initials && !matchesSyllables(typed, key)) {
+                        return true;
+                    }
+                    result.add(names[idOf(key)]);
+                    return result.size() < limit;
+                });
+                if (!complete) {
+                    break;
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return new ArrayList<>(result);
+    }
+
+    public void markLoaded() {
+        loaded = true;
+    }
+
+    /**
+     * @return true once every existing name has been added
+     */
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    /**
+     * Replace each Hangul syllable with its initial consonant
+     */
+    static String toChoseong(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            result.append(choseongOf(text.charAt(i)));
+        }
+        return result.toString();
+    }
+
+    private static char choseongOf(char c) {
+        return c >= FIRST_SYLLABLE && c <= LAST_SYLLABLE ? CHOSEONG[(c - FIRST_SYLLABLE) / SYLLABLES_PER_CHOSEONG] : c;
+    }
+
+    private static boolean containsChoseong(String text) {
+        for (int i = 0; i < text.length(); i++) {
+            if (isChoseong(text.charAt(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isChoseong(char c) {
+        for (char choseong : CHOSEONG) {
+            if (c == choseong) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasSyllables(String text, int from) {
+        for (int i = from; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= FIRST_SYLLABLE && c <= LAST_SYLLABLE) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long keyOf(int id, int offset) {
+        return ((long) id << OFFSET_BITS) | offset;
+    }
+
+    private static int idOf(long key) {
+        return (int) (key >>> OFFSET_BITS);
+    }
+
+    private static int offsetOf(long key) {
+        return (int) (key & MAX_OFFSET);
+    }
+
+    /**
+     * Check the typed syllables of a mixed query against the text of a choseong key
+     */
+    private boolean matchesSyllables(String typed, long key) {
+        String text = texts[idOf(key)];
+        int offset = offsetOf(key);
+        for (int i = 0; i < typed.length(); i++) {
+            char c = typed.charAt(i);
+            if (!isChoseong(c) && text.charAt(offset + i) != c) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Offsets of the indexed name parts: each word after a space and the
+     * given name of a Korean name
+     */
+    private static Set<Integer> partOffsets(String text) {
+        Set<Integer> offsets = new LinkedHashSet<>();
+        for (int i = 1; i < text.length() && i <= MAX_OFFSET; i++) {
+            if (text.charAt(i - 1) == ' ' && text.charAt(i) != ' ') {
+                offsets.add(i);
+            }
+        }
+        // Given name of a Korean name: drop the one-syllable family name
+        int firstSpace = text.indexOf(' ');
+        int firstWordLength = firstSpace < 0 ? text.length() : firstSpace;
+        if (firstWordLength >= 3 && hasSyllables(text.substring(0, 1), 0)) {
+            offsets.add(1);
+        }
+        return offsets;
+    }
+
+    private void addKeys(int tier, int id, int offset, String text) {
+        long key = keyOf(id, offset);
+        keyLists[SYLLABLE_KEY][tier].add(key);
+        if (hasSyllables(text, offset)) {
+            keyLists[CHOSEONG_KEY][tier].add(key);
+        }
+    }
+
+    /**
+     * Id of a live name, found through its whole-name key, or -1
+     */
+    private int findId(String name, String text) {
+        int[] found = {-1};
+        keyLists[SYLLABLE_KEY][WHOLE_NAME].scan(text, key -> {
+            int id = idOf(key);
+            if (name.equals(names[id])) {
+                found[0] = id;
+                return false;
+            }
+            return texts[id].length() == text.length();
+        });
+        return found[0];
+    }
+
+    private int allocateId(String name, String text) {
+        int id;
+        if (freeIdCount > 0) {
+            id = freeIds[--freeIdCount];
+        } else {
+            if (nameSlots == names.length) {
+                names = Arrays.copyOf(names, nameSlots * 2);
+                texts = Arrays.copyOf(texts, nameSlots * 2);
+            }
+            id = nameSlots++;
+        }
+        names[id] = name;
+        texts[id] = text.equals(name) ? name : text;
+        return id;
+    }
+
+    /**
+     * Drop the keys of removed names from every key array and free their slots
+     */
+    private void purge() {
+        for (KeyList[] lists : keyLists) {
+            for (KeyList list : lists) {
+                list.merge();
+            }
+        }
+
+        freeIds = new int[removedNames + freeIdCount];
+        freeIdCount = 0;
+        for (int id = nameSlots - 1; id >= 0; id--) {
+            if (names[id] == null) {
+                texts[id] = null;
+                freeIds[freeIdCount++] = id;
+            }
+        }
+        removedNames = 0;
+    }
+
+    /**
+     * Keys of one kind and tier, in the order of their text
+     */
+    private final class KeyList {
+        private final boolean choseong;
+        private long[] sorted = new long[0];
+        private long[] pending = new long[PENDING_CAPACITY];
+        private int pendingCount;
+
+        private KeyList(boolean choseong) {
+            this.choseong = choseong;
+        }
+
+        void add(long key) {
+            if (pendingCount == pending.length) {
+                pending = Arrays.copyOf(pending, pending.length * 2);
+            }
+            int at = lowerBound(pending, pendingCount, key);
+            System.arraycopy(pending, at, pending, at + 1, pendingCount - at);
+            pending[at] = key;
+            if (++pendingCount >= Math.max(PENDING_CAPACITY, sorted.length / MERGE_RATIO)) {
+                merge();
+            }
+        }
+
+        /**
+         * Merge the pending keys into the sorted array, dropping keys of removed names
+         */
+        void merge() {
+            long[] merged = new long[sorted.length + pendingCount];
+            int size = 0;
+            int i = 0;
+            int j = 0;
+            while (i < sorted.length || j < pendingCount) {
+                long key = j == pendingCount || (i < sorted.length && compare(sorted[i], pending[j]) <= 0)
+                    ? sorted[i++] : pending[j++];
+                if (names[idOf(key)] != null) {
+                    merged[size++] = key;
+                }
+            }
+            sorted = size == merged.length ? merged : Arrays.copyOf(merged, size);
+            pendingCount = 0;
+            if (pending.length > Math.max(PENDING_CAPACITY, sorted.length / MERGE_RATIO) * 2) {
+                pending = new long[PENDING_CAPACITY];
+            }
+        }
+
+        /**
+         * Visit the live keys whose text starts with the prefix, in order
+         *
+         * @return false if the visitor stopped the scan
+         */
+        boolean scan(String prefix, LongPredicate visitor) {
+            int i = lowerBound(sorted, sorted.length, prefix);
+            int j = lowerBound(pending, pendingCount, prefix);
+            while (true) {
+                boolean inSorted = i < sorted.length && comparePrefix(sorted[i], prefix) == 0;
+                boolean inPending = j < pendingCount && comparePrefix(pending[j], prefix) == 0;
+                if (!inSorted && !inPending) {
+                    return true;
+                }
+
+                long key = !inPending || (inSorted && compare(sorted[i], pending[j]) <= 0)
+                    ? sorted[i++] : pending[j++];
+                if (names[idOf(key)] != null && !visitor.test(key)) {
+                    return false;
+                }
+            }
+        }
+
+        private char charAt(String text, int index) {
+            char c = text.charAt(index);
+            return choseong ? choseongOf(c) : c;
+        }
+
+        /**
+         * Order by key text, then by the text as typed (for choseong keys),
+         * then by the whole lowercased name, then by id
+         */
+        private int compare(long a, long b) {
+            String textA = texts[idOf(a)];
+            String textB = texts[idOf(b)];
+            int offsetA = offsetOf(a);
+            int offsetB = offsetOf(b);
+            int lengthA = textA.length() - offsetA;
+            int lengthB = textB.length() - offsetB;
+            for (int k = 0; k < Math.min(lengthA, lengthB); k++) {
+                int diff = charAt(textA, offsetA + k) - charAt(textB, offsetB + k);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            if (lengthA != lengthB) {
+                return lengthA - lengthB;
+            }
+            for (int k = 0; choseong && k < lengthA; k++) {
+                int diff = textA.charAt(offsetA + k) - textB.charAt(offsetB + k);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            int byText = textA.compareTo(textB);
+            return byText != 0 ? byText : Integer.compare(idOf(a), idOf(b));
+        }
+
+        /**
+         * @return 0 if the key's text starts with the prefix, else its order relative to the prefix
+         */
+        private int comparePrefix(long key, String prefix) {
+            String text = texts[idOf(key)];
+            int offset = offsetOf(key);
+            for (int k = 0; k < prefix.length(); k++) {
+                if (offset + k >= text.length()) {
+                    return -1;
+                }
+                int diff = charAt(text, offset + k) - prefix.charAt(k);
+                if (diff != 0) {
+                    return diff;
+                }
+            }
+            return 0;
+        }
+
+        private int lowerBound(long[] keys, int size, long key) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (compare(keys[mid], key) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int lowerBound(long[] keys, int size, String prefix) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (comparePrefix(keys[mid], prefix) < 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
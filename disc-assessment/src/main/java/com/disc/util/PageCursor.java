@@ -0,0 +1,130 @@
+package com.disc.util;
+
+import com.disc.model.Page;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Keyset pagination cursor on (sort key, id)
+ *
+ * Lists are ordered by "sort_key DESC, id DESC". The cursor holds the sort
+ * key and id of the last row of a page, and the next page continues with
+ * "(sort_key, id) < (?, ?)". SQLite serves that predicate with a range scan
+ * on an index over the sort key (the rowid id is implicitly the last index
+ * column), so every page costs the same no matter how deep it is.
+ *
+ * The sort key is kept exactly as stored (the raw TEXT timestamp), so the
+ * comparison matches the column values byte for byte. Cursors are encoded as
+ * URL-safe Base64 and are opaque to clients.
+ */
+public final class PageCursor {
+
+    public static final int DEFAULT_PAGE_SIZE = 20;
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * Map the current row of a ResultSet
+     */
+    @FunctionalInterface
+    public interface RowMapper<T> {
+        T map(ResultSet rs) throws SQLException;
+    }
+
+    private final String sortKey;
+    private final long id;
+
+    private PageCursor(String sortKey, long id) {
+        this.sortKey = sortKey;
+        this.id = id;
+    }
+
+    /**
+     * Decode a cursor received from a client
+     *
+     * @param token The opaque cursor, or null/empty for the first page
+     * @return The cursor, or null for the first page
+     * @throws IllegalArgumentException if the token is malformed
+     */
+    public static PageCursor decode(String token) {
+        if (token == null || token.trim().isEmpty()) {
+            return null;
+        }
+        try {
+            String value = new String(Base64.getUrlDecoder().decode(token.trim()), StandardCharsets.UTF_8);
+            int separator = value.lastIndexOf('\n');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid page cursor");
+            }
+            return new PageCursor(value.substring(0, separator), Long.parseLong(value.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid page cursor", e);
+        }
+    }
+
+    /**
+     * @return The opaque token for a row with the given sort key and id
+     */
+    public static String encode(String sortKey, long id) {
+        String value = (sortKey != null ? sortKey : "") + "\n" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return The requested page size limited to 1..MAX_PAGE_SIZE
+     */
+    public static int clampLimit(int limit) {
+        return limit <= 0 ? DEFAULT_PAGE_SIZE : Math.min(limit, MAX_PAGE_SIZE);
+    }
+
+    /**
+     * Bind the cursor to two consecutive parameters ((sort_key, id) < (?, ?))
+     *
+     * @return Index of the next unbound parameter
+     */
+    public int bind(PreparedStatement pstmt, int index) throws SQLException {
+        pstmt.setString(index, sortKey);
+        pstmt.setLong(index + 1, id);
+        return index + 2;
+    }
+
+    /**
+     * Read a page from a query that selected limit + 1 rows
+     *
+     * @param rs The result set, ordered by sort key and id descending
+     * @param limit The page size
+     * @param sortColumn Column label of the sort key
+     * @param idColumn Column label of the id
+     * @param mapper Maps each row to an item
+     * @return The page; its cursor points at the last item if another row exists
+     */
+    public static <T> Page<T> readPage(ResultSet rs, int limit, String sortColumn, String idColumn,
+                                       RowMapper<T> mapper) throws SQLException {
+        List<T> items = new ArrayList<>();
+        String lastSortKey = null;
+        long lastId = 0;
+
+        while (rs.next()) {
+            if (items.size() == limit) {
+                return new Page<>(items, encode(lastSortKey, lastId));
+            }
+            lastSortKey = rs.getString(sortColumn);
+            lastId = rs.getLong(idColumn);
+            items.add(mapper.map(rs));
+        }
+        return new Page<>(items, null);
+    }
+
+    public String getSortKey() {
+        return sortKey;
+    }
+
+    public long getId() {
+        return id;
+    }
+}
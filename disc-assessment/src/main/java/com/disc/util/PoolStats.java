@@ -0,0 +1,155 @@
+package com.disc.util;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Immutable snapshot of a connection pool's state and instrumentation
+ */
+public class PoolStats {
+
+    private final String poolName;
+    private final int minSize;
+    private final int maxSize;
+    private final int totalConnections;
+    private final int idleConnections;
+    private final int borrowedConnections;
+    private final int waitingThreads;
+    private final long acquireTimeouts;
+    private final long validationFailures;
+    private final long leaksDetected;
+    private final LatencyHistogram.Snapshot acquireTime;
+    private final LatencyHistogram.Snapshot holdTime;
+    private final List<LeakReport> recentLeaks;
+
+    public PoolStats(String poolName, int minSize, int maxSize, int totalConnections,
+                     int idleConnections, int borrowedConnections, int waitingThreads,
+                     long acquireTimeouts, long validationFailures, long leaksDetected,
+                     LatencyHistogram.Snapshot acquireTime, LatencyHistogram.Snapshot holdTime,
+                     List<LeakReport> recentLeaks) {
+        this.poolName = poolName;
+        this.minSize = minSize;
+        this.maxSize = maxSize;
+        this.totalConnections = totalConnections;
+        this.idleConnections = idleConnections;
+        this.borrowedConnections = borrowedConnections;
+        this.waitingThreads = waitingThreads;
+        this.acquireTimeouts = acquireTimeouts;
+        this.validationFailures = validationFailures;
+        this.leaksDetected = leaksDetected;
+        this.acquireTime = acquireTime;
+        this.holdTime = holdTime;
+        this.recentLeaks = Collections.unmodifiableList(recentLeaks);
+    }
+
+    public String getPoolName() {
+        return poolName;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getTotalConnections() {
+        return totalConnections;
+    }
+
+    public int getIdleConnections() {
+        return idleConnections;
+    }
+
+    public int getBorrowedConnections() {
+        return borrowedConnections;
+    }
+
+    public int getWaitingThreads() {
+        return waitingThreads;
+    }
+
+    public long getAcquireTimeouts() {
+        return acquireTimeouts;
+    }
+
+    public long getValidationFailures() {
+        return validationFailures;
+    }
+
+    public long getLeaksDetected() {
+        return leaksDetected;
+    }
+
+    /**
+     * @return Time callers waited in borrow(), including validation and connection opening
+     */
+    public LatencyHistogram.Snapshot getAcquireTime() {
+        return acquireTime;
+    }
+
+    /**
+     * @return Time between borrow() and release()
+     */
+    public LatencyHistogram.Snapshot getHoldTime() {
+        return holdTime;
+    }
+
+    /**
+     * @return The most recent leak reports, newest first
+     */
+    public List<LeakReport> getRecentLeaks() {
+        return recentLeaks;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("PoolStats{pool=%s, total=%d/%d, idle=%d, borrowed=%d, waiting=%d, "
+                + "timeouts=%d, validationFailures=%d, leaks=%d, acquire=[%s], hold=[%s]}",
+            poolName, totalConnections, maxSize, idleConnections, borrowedConnections, waitingThreads,
+            acquireTimeouts, validationFailures, leaksDetected, acquireTime, holdTime);
+    }
+
+    /**
+     * A connection that was held longer than the leak detection threshold
+     */
+    public static class LeakReport {
+        private final String threadName;
+        private final long borrowedAt;
+        private final long heldMillis;
+        private final String stackTrace;
+
+        public LeakReport(String threadName, long borrowedAt, long heldMillis, String stackTrace) {
+            this.threadName = threadName;
+            this.borrowedAt = borrowedAt;
+            this.heldMillis = heldMillis;
+            this.stackTrace = stackTrace;
+        }
+
+        public String getThreadName() {
+            return threadName;
+        }
+
+        /**
+         * @return Borrow time in epoch milliseconds
+         */
+        public long getBorrowedAt() {
+            return borrowedAt;
+        }
+
+        /**
+         * @return How long the connection had been held when the leak was detected
+         */
+        public long getHeldMillis() {
+            return heldMillis;
+        }
+
+        /**
+         * @return Stack trace of the code that borrowed the connection
+         */
+        public String getStackTrace() {
+            return stackTrace;
+        }
+    }
+}
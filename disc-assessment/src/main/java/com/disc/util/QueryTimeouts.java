@@ -0,0 +1,134 @@
+package com.disc.util;
+
+import org.sqlite.ProgressHandler;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Per-operation query timeouts
+ *
+ * Each DBUtil entry point runs its operation under an operation class with
+ * its own time budget. Statements created while the operation runs get the
+ * budget as their JDBC query timeout (which sqlite-jdbc applies as the lock
+ * wait bound), and a SQLite progress handler interrupts any statement still
+ * executing once the operation's deadline has passed, so a runaway report
+ * query fails with SQLITE_INTERRUPT instead of holding a connection.
+ *
+ * Writes are timed on the writer thread, as WRITE unless they were queued
+ * from inside a SCHEMA operation (migrations, rollup rebuilds), whose single
+ * statements scan whole tables and so get their own, by default unlimited, budget.
+ */
+public final class QueryTimeouts {
+
+    // SQLite VM instructions between progress handler callbacks
+    private static final int PROGRESS_HANDLER_PERIOD = 10000;
+
+    /**
+     * Operation classes and their default time budgets
+     */
+    public enum OperationClass {
+        LOOKUP("db.query-timeout.lookup", 5),
+        REPORT("db.query-timeout.report", 30),
+        STREAM("db.query-timeout.stream", 600),
+        WRITE("db.query-timeout.write", 10),
+        SCHEMA("db.query-timeout.schema", 0);
+
+        private final String configKey;
+        private final int defaultSeconds;
+
+        OperationClass(String configKey, int defaultSeconds) {
+            this.configKey = configKey;
+            this.defaultSeconds = defaultSeconds;
+        }
+
+        /**
+         * @return The configured timeout in seconds (0 disables the timeout)
+         */
+        public int getTimeoutSeconds() {
+            return Math.max(0, AppConfig.getInt(configKey, defaultSeconds));
+        }
+    }
+
+    private static final ThreadLocal<Deadline> current = new ThreadLocal<>();
+
+    private QueryTimeouts() {
+    }
+
+    /**
+     * Start timing an operation on the current thread. A nested call inside an
+     * operation that is already being timed keeps the outer deadline.
+     *
+     * @param operationClass The class of the operation
+     * @return Scope to close when the operation finishes
+     */
+    public static Scope enter(OperationClass operationClass) {
+        if (current.get() != null) {
+            return Scope.NESTED;
+        }
+
+        int seconds = operationClass.getTimeoutSeconds();
+        current.set(new Deadline(operationClass, seconds,
+            seconds > 0 ? System.nanoTime() + seconds * 1_000_000_000L : Long.MAX_VALUE));
+        return Scope.OUTERMOST;
+    }
+
+    /**
+     * @return The class for a write queued from the current thread: SCHEMA
+     *         inside a schema operation, WRITE otherwise
+     */
+    static OperationClass writeClass() {
+        Deadline deadline = current.get();
+        return deadline != null && deadline.operationClass == OperationClass.SCHEMA
+            ? OperationClass.SCHEMA : OperationClass.WRITE;
+    }
+
+    /**
+     * Apply the current operation's timeout to a statement
+     */
+    static void apply(Statement statement) throws SQLException {
+        Deadline deadline = current.get();
+        statement.setQueryTimeout(deadline != null ? deadline.seconds : 0);
+    }
+
+    /**
+     * Install the deadline-checking progress handler on a physical SQLite connection
+     */
+    static void install(Connection connection) throws SQLException {
+        ProgressHandler.setHandler(connection, PROGRESS_HANDLER_PERIOD, new ProgressHandler() {
+            @Override
+            protected int progress() {
+                Deadline deadline = current.get();
+                return deadline != null && System.nanoTime() > deadline.expiresAtNanos ? 1 : 0;
+            }
+        });
+    }
+
+    private static final class Deadline {
+        private final OperationClass operationClass;
+        private final int seconds;
+        private final long expiresAtNanos;
+
+        private Deadline(OperationClass operationClass, int seconds, long expiresAtNanos) {
+            this.operationClass = operationClass;
+            this.seconds = seconds;
+            this.expiresAtNanos = expiresAtNanos;
+        }
+    }
+
+    /**
+     * Handle returned by enter(); closing the outermost scope clears the deadline
+     */
+    public enum Scope implements AutoCloseable {
+        OUTERMOST,
+        NESTED;
+
+        @Override
+        public void close() {
+            if (this == OUTERMOST) {
+                current.remove();
+            }
+        }
+    }
+}
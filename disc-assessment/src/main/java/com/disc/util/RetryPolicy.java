@@ -0,0 +1,167 @@
+package com.disc.util;
+
+import java.sql.SQLException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Retry policy for transient SQLite contention
+ *
+ * Operations failing with SQLITE_BUSY or SQLITE_LOCKED are retried with
+ * exponential backoff and full jitter until they succeed or the deadline
+ * passes. Any other failure, including a query interrupted by its timeout
+ * (SQLITE_INTERRUPT), is thrown immediately.
+ */
+public class RetryPolicy {
+
+    private static final Logger logger = Logger.getLogger(RetryPolicy.class.getName());
+
+    // SQLite primary result codes
+    private static final int SQLITE_BUSY = 5;
+    private static final int SQLITE_LOCKED = 6;
+    private static final int SQLITE_INTERRUPT = 9;
+
+    /**
+     * A database call that may be retried
+     */
+    @FunctionalInterface
+    public interface RetryableCall<T> {
+        T call() throws SQLException;
+    }
+
+    private final long initialBackoffMillis;
+    private final long maxBackoffMillis;
+    private final long deadlineMillis;
+
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder recovered = new LongAdder();
+    private final LongAdder exhausted = new LongAdder();
+    private final LongAdder queryTimeouts = new LongAdder();
+
+    /**
+     * @param initialBackoffMillis Backoff before the first retry
+     * @param maxBackoffMillis Upper bound for a single backoff
+     * @param deadlineMillis Total time after which no further retry is attempted
+     */
+    public RetryPolicy(long initialBackoffMillis, long maxBackoffMillis, long deadlineMillis) {
+        this.initialBackoffMillis = Math.max(1, initialBackoffMillis);
+        this.maxBackoffMillis = Math.max(this.initialBackoffMillis, maxBackoffMillis);
+        this.deadlineMillis = Math.max(0, deadlineMillis);
+    }
+
+    /**
+     * Run a call, retrying it while it fails with a busy or locked error
+     *
+     * @param call The call to run
+     * @return The result of the call
+     * @throws SQLException if the call fails with a non-transient error or the deadline passes
+     */
+    public <T> T execute(RetryableCall<T> call) throws SQLException {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(deadlineMillis);
+        long backoff = initialBackoffMillis;
+        int attempt = 0;
+
+        while (true) {
+            try {
+                T result = call.call();
+                if (attempt > 0) {
+                    recovered.increment();
+                }
+                return result;
+
+            } catch (SQLException e) {
+                int code = sqliteResultCode(e);
+                if (code == SQLITE_INTERRUPT) {
+                    queryTimeouts.increment();
+                    throw e;
+                }
+                if (!isBusy(e)) {
+                    throw e;
+                }
+
+                long sleepMillis = ThreadLocalRandom.current().nextLong(backoff + 1);
+                if (System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(sleepMillis) > deadline) {
+                    exhausted.increment();
+                    logger.warning(String.format("Giving up after %d retries on %s", attempt, e.getMessage()));
+                    throw e;
+                }
+
+                attempt++;
+                retries.increment();
+                logger.log(Level.FINE, "Retrying after {0}ms (attempt {1}): {2}",
+                    new Object[] { sleepMillis, attempt, e.getMessage() });
+
+                try {
+                    Thread.sleep(sleepMillis);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+                backoff = Math.min(maxBackoffMillis, backoff * 2);
+            }
+        }
+    }
+
+    /**
+     * @return true if the exception reports SQLITE_BUSY or SQLITE_LOCKED
+     */
+    static boolean isBusy(SQLException e) {
+        int code = sqliteResultCode(e);
+        return code == SQLITE_BUSY || code == SQLITE_LOCKED;
+    }
+
+    /**
+     * Find the SQLite primary result code of an exception or its causes
+     *
+     * @return The primary result code, or -1 if none is found
+     */
+    static int sqliteResultCode(Throwable e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLException) {
+                int code = ((SQLException) t).getErrorCode();
+                if (code > 0) {
+                    // Extended result codes carry the primary code in the low byte
+                    return code & 0xff;
+                }
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * @return Number of retries performed
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return Number of operations that succeeded after at least one retry
+     */
+    public long getRecoveredCount() {
+        return recovered.sum();
+    }
+
+    /**
+     * @return Number of operations that were still busy when the deadline passed
+     */
+    public long getExhaustedCount() {
+        return exhausted.sum();
+    }
+
+    /**
+     * @return Number of operations interrupted by their query timeout
+     */
+    public long getQueryTimeoutCount() {
+        return queryTimeouts.sum();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("retries=%d, recovered=%d, exhausted=%d, queryTimeouts=%d",
+            getRetryCount(), getRecoveredCount(), getExhaustedCount(), getQueryTimeoutCount());
+    }
+}
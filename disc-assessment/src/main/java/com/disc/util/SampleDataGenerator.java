@@ -269,7 +269,7 @@ public class SampleDataGenerator {
      * 유니크 URL 생성
      */
     private String generateUniqueUrl() {
-        return UUID.randomUUID().toString().replace("-", "").substring(0, 16);
+        return TokenReservoir.newToken();
     }
 
     /**
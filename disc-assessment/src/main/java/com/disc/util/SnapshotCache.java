@@ -0,0 +1,205 @@
+package com.disc.util;
+
+import java.sql.SQLException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Cached value computed by one load at a time
+ *
+ * Concurrent callers share a single running load instead of each running
+ * their own (single flight). A value younger than the TTL is served as is;
+ * an older one is still served, up to the maximum staleness, while a
+ * background load replaces it (stale-while-revalidate). Only callers with
+ * no usable value wait for a load. The number of loads therefore depends
+ * on the TTL, not on the number of callers.
+ *
+ * @param <T> Type of the cached value; it is shared between callers and must not be modified
+ */
+public class SnapshotCache<T> {
+
+    private static final Logger logger = Logger.getLogger(SnapshotCache.class.getName());
+
+    /**
+     * Computes a new value
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private static final class Entry<T> {
+        private final T value;
+        private final long loadedAt;
+
+        private Entry(T value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+
+    private final String name;
+    private final Loader<T> loader;
+    private final long ttlMillis;
+    private final long maxStaleMillis;
+    private final ExecutorService refresher;
+
+    private volatile Entry<T> current;
+    private final AtomicReference<CompletableFuture<Entry<T>>> inFlight = new AtomicReference<>();
+
+    // Metrics
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+
+    /**
+     * @param name Name used in logs and for the load thread
+     * @param loader Computes the value
+     * @param ttlMillis Age until which a value is served without reloading
+     * @param maxStaleMillis Age until which a value is still served while it is reloaded
+     */
+    public SnapshotCache(String name, Loader<T> loader, long ttlMillis, long maxStaleMillis) {
+        this.name = name;
+        this.loader = loader;
+        this.ttlMillis = Math.max(0, ttlMillis);
+        this.maxStaleMillis = Math.max(this.ttlMillis, maxStaleMillis);
+
+        this.refresher = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disc-snapshot-" + name);
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Get the cached value, loading it first only if there is none or it is too stale
+     *
+     * @return The value
+     * @throws SQLException if a load was needed and failed
+     */
+    public T get() throws SQLException {
+        Entry<T> entry = current;
+        if (entry != null) {
+            long age = System.currentTimeMillis() - entry.loadedAt;
+            if (age < ttlMillis) {
+                hits.increment();
+                return entry.value;
+            }
+            if (age < maxStaleMillis) {
+                staleHits.increment();
+                startLoad();
+                return entry.value;
+            }
+        }
+        return await(startLoad()).value;
+    }
+
+    /**
+     * Load a new value and wait for it; joins a load that is already running
+     *
+     * @return The new value
+     * @throws SQLException if the load failed
+     */
+    public T refresh() throws SQLException {
+        return await(startLoad()).value;
+    }
+
+    /**
+     * Drop the cached value so that the next get() waits for a load
+     */
+    public void invalidate() {
+        current = null;
+    }
+
+    /**
+     * Start a load unless one is already running
+     *
+     * @return Future of the running load
+     */
+    private CompletableFuture<Entry<T>> startLoad() {
+        CompletableFuture<Entry<T>> load = new CompletableFuture<>();
+        CompletableFuture<Entry<T>> running = inFlight.compareAndExchange(null, load);
+        if (running != null) {
+            return running;
+        }
+
+        try {
+            refresher.execute(() -> {
+                try {
+                    long startTime = System.currentTimeMillis();
+                    Entry<T> entry = new Entry<>(loader.load(), System.currentTimeMillis());
+                    current = entry;
+                    loads.increment();
+                    logger.fine(() -> "Loaded " + name + " snapshot in "
+                            + (System.currentTimeMillis() - startTime) + " ms");
+                    load.complete(entry);
+                } catch (Throwable e) {
+                    // A stale value, if any, keeps being served until it is too old
+                    logger.log(Level.WARNING, "Failed to load " + name + " snapshot", e);
+                    load.completeExceptionally(e);
+                } finally {
+                    inFlight.set(null);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.set(null);
+            load.completeExceptionally(new SQLException("Snapshot cache '" + name + "' is shut down", e));
+        }
+        return load;
+    }
+
+    private Entry<T> await(CompletableFuture<Entry<T>> load) throws SQLException {
+        try {
+            return load.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the " + name + " snapshot", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SQLException) {
+                throw (SQLException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new SQLException("Failed to load the " + name + " snapshot", cause);
+        }
+    }
+
+    /**
+     * Stop the load thread
+     */
+    public void shutdown() {
+        refresher.shutdownNow();
+        logger.info("Snapshot cache '" + name + "' stopped (loads=" + loads.sum()
+                + ", hits=" + hits.sum() + ", staleHits=" + staleHits.sum() + ")");
+    }
+
+    /**
+     * @return Number of completed loads
+     */
+    public long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * @return Number of calls served a value within the TTL
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return Number of calls served a stale value while it was reloaded
+     */
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+}
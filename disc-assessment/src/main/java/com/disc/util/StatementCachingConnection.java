@@ -0,0 +1,315 @@
+package com.disc.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Connection wrapper with a per-connection PreparedStatement cache
+ *
+ * prepareStatement(sql) and prepareStatement(sql, autoGeneratedKeys) return
+ * statements cached by SQL text, so SQLite only parses and plans each query
+ * once per connection. Closing a cached statement clears its parameters and
+ * returns it to the cache instead of finalizing it. The cache is LRU-bounded;
+ * evicted statements are closed once they are no longer in use.
+ *
+ * Every statement handed out also gets the query timeout of the operation
+ * currently running on the thread (see QueryTimeouts).
+ *
+ * A connection is only ever used by one thread at a time (pool borrower or
+ * writer thread), so the cache itself needs no locking.
+ */
+public final class StatementCachingConnection implements InvocationHandler {
+
+    private static final Logger logger = Logger.getLogger(StatementCachingConnection.class.getName());
+
+    // Totals across all connections, reported by DBUtil.getDatabaseStats()
+    private static final LongAdder HITS = new LongAdder();
+    private static final LongAdder MISSES = new LongAdder();
+    private static final LongAdder EVICTIONS = new LongAdder();
+
+    private final Connection delegate;
+    private final Connection proxy;
+    private final Map<StatementKey, CachedStatement> cache;
+    private final int maxStatements;
+
+    private StatementCachingConnection(Connection delegate, int maxStatements) {
+        this.delegate = delegate;
+        this.maxStatements = maxStatements;
+        this.proxy = (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(), new Class<?>[] { Connection.class }, this);
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<StatementKey, CachedStatement> eldest) {
+                if (size() <= maxStatements) {
+                    return false;
+                }
+                EVICTIONS.increment();
+                eldest.getValue().evict();
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Wrap a connection with a statement cache
+     *
+     * @param connection The physical connection
+     * @param maxStatements Maximum number of cached statements; 0 or less disables caching
+     * @return The wrapped connection
+     */
+    public static Connection wrap(Connection connection, int maxStatements) {
+        return new StatementCachingConnection(connection, maxStatements).proxy;
+    }
+
+    /**
+     * @return Total number of prepareStatement calls served from a cache
+     */
+    public static long getHitCount() {
+        return HITS.sum();
+    }
+
+    /**
+     * @return Total number of prepareStatement calls that had to prepare a new statement
+     */
+    public static long getMissCount() {
+        return MISSES.sum();
+    }
+
+    /**
+     * @return Total number of statements evicted from a cache
+     */
+    public static long getEvictionCount() {
+        return EVICTIONS.sum();
+    }
+
+    @Override
+    public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+
+        if ("prepareStatement".equals(name) && args != null && args.length <= 2
+                && (args.length == 1 || method.getParameterTypes()[1] == int.class)) {
+            int autoGeneratedKeys = args.length == 2 ? (Integer) args[1] : Statement.NO_GENERATED_KEYS;
+            return prepareCached((String) args[0], autoGeneratedKeys);
+        }
+
+        switch (name) {
+            case "close":
+                closeCachedStatements();
+                break;
+            case "unwrap":
+                if (((Class<?>) args[0]).isInstance(delegate)) {
+                    return delegate;
+                }
+                break;
+            case "isWrapperFor":
+                if (((Class<?>) args[0]).isInstance(delegate)) {
+                    return true;
+                }
+                break;
+            case "equals":
+                return target == args[0];
+            case "hashCode":
+                return System.identityHashCode(target);
+            case "toString":
+                return "StatementCachingConnection[" + delegate + "]";
+            default:
+                break;
+        }
+
+        Object result;
+        try {
+            result = method.invoke(delegate, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        if (result instanceof Statement) {
+            QueryTimeouts.apply((Statement) result);
+        }
+        return result;
+    }
+
+    private PreparedStatement prepareCached(String sql, int autoGeneratedKeys) throws SQLException {
+        if (maxStatements <= 0) {
+            PreparedStatement statement = delegate.prepareStatement(sql, autoGeneratedKeys);
+            QueryTimeouts.apply(statement);
+            return statement;
+        }
+
+        StatementKey key = new StatementKey(sql, autoGeneratedKeys);
+        CachedStatement cached = cache.get(key);
+
+        if (cached != null && !cached.inUse && !cached.statement.isClosed()) {
+            HITS.increment();
+            QueryTimeouts.apply(cached.statement);
+            return cached.checkout();
+        }
+
+        MISSES.increment();
+        PreparedStatement statement = delegate.prepareStatement(sql, autoGeneratedKeys);
+        QueryTimeouts.apply(statement);
+
+        if (cached != null && cached.inUse) {
+            // Same SQL already open on this connection (nested use); hand out an uncached one
+            return statement;
+        }
+
+        cached = new CachedStatement(statement);
+        cache.put(key, cached);
+        return cached.checkout();
+    }
+
+    private void closeCachedStatements() {
+        List<CachedStatement> statements = new ArrayList<>(cache.values());
+        cache.clear();
+        for (CachedStatement cached : statements) {
+            cached.closeQuietly();
+        }
+    }
+
+    /**
+     * Cache key: SQL text plus the generated-keys flag it was prepared with
+     */
+    private static final class StatementKey {
+        private final String sql;
+        private final int autoGeneratedKeys;
+
+        private StatementKey(String sql, int autoGeneratedKeys) {
+            this.sql = sql;
+            this.autoGeneratedKeys = autoGeneratedKeys;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StatementKey)) {
+                return false;
+            }
+            StatementKey other = (StatementKey) o;
+            return autoGeneratedKeys == other.autoGeneratedKeys && sql.equals(other.sql);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(sql, autoGeneratedKeys);
+        }
+    }
+
+    /**
+     * A physical prepared statement owned by the cache
+     */
+    private final class CachedStatement {
+        private final PreparedStatement statement;
+        private boolean inUse;
+        private boolean evicted;
+
+        private CachedStatement(PreparedStatement statement) {
+            this.statement = statement;
+        }
+
+        /**
+         * Hand the statement out behind a fresh handle whose close() returns it to the cache
+         */
+        private PreparedStatement checkout() {
+            inUse = true;
+            return (PreparedStatement) Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                new StatementHandle(this));
+        }
+
+        private void checkin() {
+            inUse = false;
+            if (evicted) {
+                closeQuietly();
+                return;
+            }
+            try {
+                statement.clearParameters();
+                statement.clearBatch();
+            } catch (SQLException e) {
+                logger.log(Level.FINE, "Discarding cached statement that failed to reset", e);
+                cache.values().remove(this);
+                closeQuietly();
+            }
+        }
+
+        private void evict() {
+            evicted = true;
+            if (!inUse) {
+                closeQuietly();
+            }
+        }
+
+        private void closeQuietly() {
+            try {
+                statement.close();
+            } catch (SQLException e) {
+                logger.log(Level.FINE, "Error closing cached statement", e);
+            }
+        }
+    }
+
+    /**
+     * Per-checkout view of a cached statement. close() is logical: it returns
+     * the statement to the cache and makes this handle unusable.
+     */
+    private final class StatementHandle implements InvocationHandler {
+        private final CachedStatement cached;
+        private boolean closed;
+
+        private StatementHandle(CachedStatement cached) {
+            this.cached = cached;
+        }
+
+        @Override
+        public Object invoke(Object target, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "close":
+                    if (!closed) {
+                        closed = true;
+                        cached.checkin();
+                    }
+                    return null;
+                case "isClosed":
+                    return closed || cached.statement.isClosed();
+                case "getConnection":
+                    return proxy;
+                case "equals":
+                    return target == args[0];
+                case "hashCode":
+                    return System.identityHashCode(target);
+                case "toString":
+                    return "CachedStatement[" + cached.statement + "]";
+                default:
+                    break;
+            }
+
+            if (closed) {
+                throw new SQLException("Statement is closed");
+            }
+
+            try {
+                return method.invoke(cached.statement, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
@@ -0,0 +1,181 @@
+package com.disc.util;
+
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+
+/**
+ * In-memory reservoir of test link tokens
+ *
+ * Tokens are 16 random alphanumeric characters (about 95 bits), so a
+ * collision with an existing link is practically impossible and is not
+ * checked against the database; the UNIQUE constraint on test_links.test_url
+ * is the backstop. A background thread keeps the reservoir topped up, so
+ * handing out a token never waits on the database or on SecureRandom.
+ */
+public class TokenReservoir {
+
+    private static final Logger logger = Logger.getLogger(TokenReservoir.class.getName());
+
+    public static final int TOKEN_LENGTH = 16;
+
+    private static final char[] ALPHABET =
+        "0123456789abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+    private static final SecureRandom random = new SecureRandom();
+
+    private final BlockingQueue<String> tokens;
+    private final int capacity;
+    private final int refillThreshold;
+    private final ExecutorService refiller;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    // Metrics
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Create the reservoir and start filling it in the background
+     *
+     * @param capacity Number of tokens kept ready
+     */
+    public TokenReservoir(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.refillThreshold = Math.max(1, this.capacity / 4);
+        this.tokens = new ArrayBlockingQueue<>(this.capacity);
+
+        this.refiller = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disc-token-reservoir");
+            thread.setDaemon(true);
+            return thread;
+        });
+        requestRefill();
+
+        logger.info("Token reservoir started (capacity=" + this.capacity + ")");
+    }
+
+    /**
+     * Generate a new random token without the reservoir
+     */
+    public static String newToken() {
+        char[] token = new char[TOKEN_LENGTH];
+        for (int i = 0; i < TOKEN_LENGTH; i++) {
+            token[i] = ALPHABET[random.nextInt(ALPHABET.length)];
+        }
+        return new String(token);
+    }
+
+    /**
+     * Take one token; generated on the spot if the reservoir has run dry
+     */
+    public String take() {
+        String token = tokens.poll();
+        if (token == null) {
+            misses.increment();
+            token = newToken();
+        }
+        issued.increment();
+        requestRefill();
+        return token;
+    }
+
+    /**
+     * Take several distinct tokens at once
+     *
+     * @param count Number of tokens
+     * @return The tokens, all different from each other
+     */
+    public List<String> take(int count) {
+        List<String> taken = new ArrayList<>(count);
+        tokens.drainTo(taken, count);
+
+        if (taken.size() < count) {
+            misses.add(count - taken.size());
+            Set<String> distinct = new HashSet<>(taken);
+            while (taken.size() < count) {
+                String token = newToken();
+                if (distinct.add(token)) {
+                    taken.add(token);
+                }
+            }
+        }
+
+        issued.add(count);
+        requestRefill();
+        return taken;
+    }
+
+    /**
+     * Start a background refill once the reservoir drops below a quarter full
+     */
+    private void requestRefill() {
+        if (tokens.size() >= refillThreshold || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refiller.execute(this::refill);
+        } catch (RejectedExecutionException e) {
+            // Shut down; take() keeps working by generating tokens on the spot
+            refilling.set(false);
+        }
+    }
+
+    private void refill() {
+        try {
+            // Fresh tokens are only checked against each other; a batch is
+            // at most capacity tokens, so the set stays small
+            Set<String> batch = new HashSet<>();
+            while (tokens.remainingCapacity() > 0 && !Thread.currentThread().isInterrupted()) {
+                String token = newToken();
+                if (batch.add(token) && !tokens.offer(token)) {
+                    break;
+                }
+            }
+        } finally {
+            refilling.set(false);
+        }
+    }
+
+    /**
+     * Stop the refill thread
+     */
+    public void shutdown() {
+        refiller.shutdownNow();
+        tokens.clear();
+        logger.info("Token reservoir stopped (issued=" + issued.sum() + ", misses=" + misses.sum() + ")");
+    }
+
+    /**
+     * @return Number of tokens ready to hand out
+     */
+    public int getAvailable() {
+        return tokens.size();
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * @return Number of tokens handed out
+     */
+    public long getIssuedCount() {
+        return issued.sum();
+    }
+
+    /**
+     * @return Number of tokens that had to be generated on the spot
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+}
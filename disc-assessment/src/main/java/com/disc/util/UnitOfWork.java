@@ -0,0 +1,110 @@
+package com.disc.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Request-scoped unit of work for read-heavy pages
+ *
+ * While a unit of work is active on the current thread, every DAO read goes
+ * through one reader connection borrowed on first use, inside one read
+ * transaction, so all panels of a page are computed from the same snapshot
+ * and the pool is visited once per request instead of once per query.
+ *
+ * Writes still go through the writer lane. When a write issued from the
+ * request completes, the read snapshot is ended so that later reads in the
+ * same request see the change.
+ */
+public final class UnitOfWork {
+
+    private static final Logger logger = Logger.getLogger(UnitOfWork.class.getName());
+
+    private static final ThreadLocal<UnitOfWork> current = new ThreadLocal<>();
+
+    private Connection connection;
+    private int depth;
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Start a unit of work on the current thread. Nested calls (e.g. a forward
+     * passing through the filter again) join the outer unit of work.
+     */
+    public static void begin() {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) {
+            unitOfWork = new UnitOfWork();
+            current.set(unitOfWork);
+        }
+        unitOfWork.depth++;
+    }
+
+    /**
+     * End the unit of work started by the matching begin() call and return its
+     * connection to the pool when the outermost one ends
+     */
+    public static void end() {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null) {
+            return;
+        }
+
+        if (--unitOfWork.depth > 0) {
+            return;
+        }
+
+        current.remove();
+        if (unitOfWork.connection != null) {
+            DBUtil.releaseReader(unitOfWork.connection);
+            unitOfWork.connection = null;
+        }
+    }
+
+    /**
+     * @return true if a unit of work is active on the current thread
+     */
+    public static boolean isActive() {
+        return current.get() != null;
+    }
+
+    /**
+     * Get the unit of work's connection, borrowing a reader and opening the
+     * read transaction on first use
+     */
+    static Connection connection() throws SQLException {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork.connection == null) {
+            Connection connection = DBUtil.borrowReader();
+            try {
+                // The snapshot is taken by the first SELECT of the deferred transaction
+                connection.setAutoCommit(false);
+            } catch (SQLException e) {
+                DBUtil.releaseReader(connection);
+                throw e;
+            }
+            unitOfWork.connection = connection;
+        }
+        return unitOfWork.connection;
+    }
+
+    /**
+     * End the current read snapshot so the next read observes committed writes
+     */
+    static void endSnapshot() {
+        UnitOfWork unitOfWork = current.get();
+        if (unitOfWork == null || unitOfWork.connection == null) {
+            return;
+        }
+
+        try {
+            unitOfWork.connection.commit();
+        } catch (SQLException e) {
+            logger.log(Level.WARNING, "Error ending read snapshot, returning connection to pool", e);
+            DBUtil.releaseReader(unitOfWork.connection);
+            unitOfWork.connection = null;
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.disc.util;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Background WAL checkpoint service
+ *
+ * SQLite's automatic checkpoint runs inside whichever commit pushes the WAL
+ * past its threshold, so an unlucky request pays for it. With this service
+ * running, automatic checkpoints are disabled on every connection and a
+ * background thread checkpoints on a fixed schedule instead:
+ *
+ * - PASSIVE by default, which never blocks readers or the writer
+ * - RESTART after several PASSIVE runs in a row could not copy every frame
+ *   (readers kept old snapshots open), so the WAL starts over from the top
+ * - TRUNCATE when the WAL file has grown past the size limit, which also
+ *   shrinks the file back to zero bytes
+ */
+public class WalCheckpointer {
+
+    private static final Logger logger = Logger.getLogger(WalCheckpointer.class.getName());
+
+    // How long RESTART/TRUNCATE wait for readers and the writer before giving up
+    private static final int BLOCKING_CHECKPOINT_BUSY_TIMEOUT_MS = 2000;
+
+    private final ConnectionPool.ConnectionFactory factory;
+    private final File walFile;
+    private final long walSizeLimitBytes;
+    private final int maxIncompletePasses;
+    private final ScheduledExecutorService scheduler;
+
+    private Connection connection;
+    private int incompletePasses;
+
+    // Metrics
+    private final LatencyHistogram duration = new LatencyHistogram();
+    private final LongAdder passiveCheckpoints = new LongAdder();
+    private final LongAdder restartCheckpoints = new LongAdder();
+    private final LongAdder truncateCheckpoints = new LongAdder();
+    private final LongAdder failedCheckpoints = new LongAdder();
+    private volatile long lastCheckpointAt;
+    private volatile String lastMode = "NONE";
+    private volatile boolean lastBusy;
+    private volatile int lastLogFrames;
+    private volatile int lastCheckpointedFrames;
+
+    /**
+     * Create and start the checkpoint service
+     *
+     * @param factory Factory used to open the checkpoint connection
+     * @param databaseFile The SQLite database file
+     * @param intervalMillis Time between checkpoints
+     * @param walSizeLimitBytes WAL size that triggers a TRUNCATE checkpoint
+     * @param maxIncompletePasses Consecutive incomplete PASSIVE runs that trigger a RESTART checkpoint
+     */
+    public WalCheckpointer(ConnectionPool.ConnectionFactory factory, File databaseFile, long intervalMillis,
+                           long walSizeLimitBytes, int maxIncompletePasses) {
+        this.factory = factory;
+        this.walFile = new File(databaseFile.getPath() + "-wal");
+        this.walSizeLimitBytes = walSizeLimitBytes;
+        this.maxIncompletePasses = Math.max(1, maxIncompletePasses);
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "disc-wal-checkpointer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.scheduler.scheduleWithFixedDelay(this::runScheduledCheckpoint,
+            intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+
+        logger.info(String.format("WAL checkpointer started (interval=%dms, walSizeLimit=%d bytes)",
+            intervalMillis, walSizeLimitBytes));
+    }
+
+    /**
+     * Choose the checkpoint mode for this run and execute it
+     */
+    void runScheduledCheckpoint() {
+        String mode = "PASSIVE";
+        if (walSizeLimitBytes > 0 && walFile.length() > walSizeLimitBytes) {
+            mode = "TRUNCATE";
+        } else if (incompletePasses >= maxIncompletePasses) {
+            mode = "RESTART";
+        }
+
+        try {
+            checkpoint(mode);
+        } catch (SQLException | RuntimeException e) {
+            failedCheckpoints.increment();
+            logger.log(Level.WARNING, mode + " WAL checkpoint failed", e);
+            closeConnection();
+        }
+    }
+
+    /**
+     * Run one checkpoint on the checkpoint thread's connection
+     */
+    private void checkpoint(String mode) throws SQLException {
+        Connection conn = getConnection();
+        long walSizeBefore = walFile.length();
+        long startNanos = System.nanoTime();
+
+        int busy;
+        int logFrames;
+        int checkpointedFrames;
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("PRAGMA wal_checkpoint(" + mode + ")")) {
+            rs.next();
+            busy = rs.getInt(1);
+            logFrames = rs.getInt(2);
+            checkpointedFrames = rs.getInt(3);
+        }
+
+        long elapsedNanos = System.nanoTime() - startNanos;
+        duration.record(elapsedNanos);
+
+        switch (mode) {
+            case "TRUNCATE":
+                truncateCheckpoints.increment();
+                break;
+            case "RESTART":
+                restartCheckpoints.increment();
+                break;
+            default:
+                passiveCheckpoints.increment();
+                break;
+        }
+
+        boolean complete = busy == 0 && checkpointedFrames >= logFrames;
+        incompletePasses = complete ? 0 : incompletePasses + 1;
+
+        lastCheckpointAt = System.currentTimeMillis();
+        lastMode = mode;
+        lastBusy = busy != 0;
+        lastLogFrames = logFrames;
+        lastCheckpointedFrames = checkpointedFrames;
+
+        Level level = "PASSIVE".equals(mode) ? Level.FINE : Level.INFO;
+        if (logger.isLoggable(level)) {
+            logger.log(level, String.format("%s WAL checkpoint: %d/%d frames in %.1fms (busy=%d, wal %d -> %d bytes)",
+                mode, checkpointedFrames, logFrames, elapsedNanos / 1_000_000.0, busy, walSizeBefore, walFile.length()));
+        }
+    }
+
+    private Connection getConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = factory.create();
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("PRAGMA busy_timeout = " + BLOCKING_CHECKPOINT_BUSY_TIMEOUT_MS);
+            }
+        }
+        return connection;
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.log(Level.FINE, "Error closing checkpoint connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * @return Current size of the -wal file in bytes
+     */
+    public long getWalSizeBytes() {
+        return walFile.length();
+    }
+
+    /**
+     * Take a snapshot of checkpoint activity
+     *
+     * @return Checkpoint statistics
+     */
+    public CheckpointStats getStats() {
+        return new CheckpointStats(walFile.length(), passiveCheckpoints.sum(), restartCheckpoints.sum(),
+            truncateCheckpoints.sum(), failedCheckpoints.sum(), lastCheckpointAt, lastMode, lastBusy,
+            lastLogFrames, lastCheckpointedFrames, duration.snapshot());
+    }
+
+    /**
+     * Stop the scheduler and close the checkpoint connection
+     */
+    public void shutdown() {
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(BLOCKING_CHECKPOINT_BUSY_TIMEOUT_MS * 2L, TimeUnit.MILLISECONDS)) {
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            scheduler.shutdownNow();
+        }
+        closeConnection();
+        logger.info("WAL checkpointer stopped");
+    }
+}
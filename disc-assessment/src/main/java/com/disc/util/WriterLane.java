@@ -0,0 +1,323 @@
+package com.disc.util;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Savepoint;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Single-writer execution lane for SQLite
+ *
+ * SQLite allows one writer at a time, so instead of letting every request
+ * thread compete for the database lock, write operations are queued here and
+ * executed by one dedicated thread that owns one connection. Tasks that are
+ * waiting when the writer wakes up are drained together and committed in a
+ * single transaction (one WAL sync); each task runs inside its own savepoint
+ * so a failing task is rolled back without affecting the rest of the batch.
+ */
+public class WriterLane {
+
+    private static final Logger logger = Logger.getLogger(WriterLane.class.getName());
+
+    private static final long POLL_INTERVAL_MS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MS = 10000;
+
+    private final ConnectionPool.ConnectionFactory factory;
+    private final BlockingQueue<WriteTask<?>> queue;
+    private final int maxBatchSize;
+    private final long enqueueTimeoutMillis;
+    private final Thread writerThread;
+
+    private volatile boolean running = true;
+    private Connection connection;
+    // Task running on the writer thread, or null between tasks
+    private WriteTask<?> currentTask;
+
+    /**
+     * Create and start the writer lane
+     *
+     * @param factory Factory used to open the writer connection
+     * @param queueCapacity Maximum number of pending write tasks
+     * @param maxBatchSize Maximum number of tasks committed together
+     * @param enqueueTimeoutMillis Maximum time a caller waits for queue space
+     */
+    public WriterLane(ConnectionPool.ConnectionFactory factory, int queueCapacity,
+                      int maxBatchSize, long enqueueTimeoutMillis) {
+        this.factory = factory;
+        this.queue = new LinkedBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.enqueueTimeoutMillis = enqueueTimeoutMillis;
+
+        this.writerThread = new Thread(this::run, "disc-db-writer");
+        this.writerThread.setDaemon(true);
+        this.writerThread.start();
+
+        logger.info(String.format("Writer lane started (queueCapacity=%d, maxBatchSize=%d)",
+            queueCapacity, this.maxBatchSize));
+    }
+
+    /**
+     * Queue a write operation
+     *
+     * @param operation The operation to run on the writer connection
+     * @return Future completed after the batch containing the operation commits
+     */
+    public <T> CompletableFuture<T> submit(DBUtil.DatabaseOperation<T> operation) {
+        WriteTask<T> task = new WriteTask<>(operation, QueryTimeouts.writeClass());
+
+        if (!running) {
+            task.future.completeExceptionally(new SQLException("Writer lane is shut down"));
+            return task.future;
+        }
+
+        try {
+            if (!queue.offer(task, enqueueTimeoutMillis, TimeUnit.MILLISECONDS)) {
+                task.future.completeExceptionally(new SQLException(String.format(
+                    "Write queue full (%d pending) after waiting %dms", queue.size(), enqueueTimeoutMillis)));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            task.future.completeExceptionally(new SQLException("Interrupted while queueing write", e));
+        }
+
+        return task.future;
+    }
+
+    /**
+     * @return true if the calling thread is the writer thread
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == writerThread;
+    }
+
+    /**
+     * Run an action once the task running on the writer thread has committed.
+     * It is dropped if the task or its batch rolls back. Writer thread only.
+     *
+     * @param action The action to run after commit
+     */
+    void afterCommit(Runnable action) {
+        if (currentTask != null) {
+            currentTask.afterCommit.add(action);
+        } else {
+            action.run();
+        }
+    }
+
+    /**
+     * @return The number of write tasks waiting to be executed
+     */
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    /**
+     * Stop accepting writes, drain the queue and close the writer connection
+     */
+    public void shutdown() {
+        running = false;
+        try {
+            writerThread.join(SHUTDOWN_TIMEOUT_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        if (writerThread.isAlive()) {
+            logger.warning("Writer thread did not finish within " + SHUTDOWN_TIMEOUT_MS + "ms");
+            writerThread.interrupt();
+        }
+
+        failQueued();
+        logger.info("Writer lane stopped");
+    }
+
+    /**
+     * @return true while the writer thread is running
+     */
+    public boolean isAlive() {
+        return writerThread.isAlive();
+    }
+
+    private void failQueued() {
+        WriteTask<?> task;
+        while ((task = queue.poll()) != null) {
+            task.future.completeExceptionally(new SQLException("Writer lane is shut down"));
+        }
+    }
+
+    /**
+     * Writer thread main loop
+     */
+    private void run() {
+        List<WriteTask<?>> batch = new ArrayList<>(maxBatchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                WriteTask<?> first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                executeBatch(batch);
+
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Throwable e) {
+                // Keep the lane alive: a dead writer thread would leave every later write waiting
+                logger.log(Level.SEVERE, "Unexpected error in writer lane", e);
+                for (WriteTask<?> task : batch) {
+                    task.future.completeExceptionally(e);
+                }
+            } finally {
+                batch.clear();
+            }
+        }
+
+        // Interrupted: nothing will run what is still queued
+        running = false;
+        failQueued();
+        closeConnection();
+    }
+
+    /**
+     * Execute a batch of tasks in one transaction, one savepoint per task
+     */
+    private void executeBatch(List<WriteTask<?>> batch) {
+        Connection conn;
+        try {
+            conn = getWriterConnection();
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
+            if (RetryPolicy.isBusy(e)) {
+                // Another connection holds the write lock; callers retry with backoff
+                logger.fine("Write batch could not start: " + e.getMessage());
+            } else {
+                logger.log(Level.SEVERE, "Writer connection unavailable", e);
+            }
+            // A failed BEGIN leaves the driver's auto-commit flag out of sync, so reopen
+            closeConnection();
+            for (WriteTask<?> task : batch) {
+                task.future.completeExceptionally(e);
+            }
+            return;
+        }
+
+        DBUtil.bindConnection(conn);
+        try {
+            for (WriteTask<?> task : batch) {
+                currentTask = task;
+                task.execute(conn);
+            }
+            currentTask = null;
+            conn.commit();
+
+            for (WriteTask<?> task : batch) {
+                task.complete();
+            }
+
+        } catch (Throwable e) {
+            logger.log(Level.SEVERE, "Write batch of " + batch.size() + " failed to commit", e);
+            rollbackQuietly(conn);
+            for (WriteTask<?> task : batch) {
+                task.future.completeExceptionally(e);
+            }
+        } finally {
+            currentTask = null;
+            DBUtil.unbindConnection();
+            try {
+                conn.setAutoCommit(true);
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Error resetting writer auto-commit, reopening connection", e);
+                closeConnection();
+            }
+        }
+    }
+
+    private Connection getWriterConnection() throws SQLException {
+        if (connection == null || connection.isClosed()) {
+            connection = factory.create();
+        }
+        return connection;
+    }
+
+    private void rollbackQuietly(Connection conn) {
+        try {
+            conn.rollback();
+        } catch (SQLException e) {
+            logger.log(Level.SEVERE, "Error rolling back write batch", e);
+        }
+    }
+
+    private void closeConnection() {
+        if (connection != null) {
+            try {
+                connection.close();
+            } catch (SQLException e) {
+                logger.log(Level.WARNING, "Error closing writer connection", e);
+            }
+            connection = null;
+        }
+    }
+
+    /**
+     * A queued write operation and its outcome
+     */
+    private static final class WriteTask<T> {
+        private final DBUtil.DatabaseOperation<T> operation;
+        private final QueryTimeouts.OperationClass operationClass;
+        private final CompletableFuture<T> future = new CompletableFuture<>();
+        private final List<Runnable> afterCommit = new ArrayList<>();
+        private T result;
+        private Throwable failure;
+
+        private WriteTask(DBUtil.DatabaseOperation<T> operation, QueryTimeouts.OperationClass operationClass) {
+            this.operation = operation;
+            this.operationClass = operationClass;
+        }
+
+        /**
+         * Run the operation inside its own savepoint. A failure rolls back only
+         * this task; failures to manage the savepoint itself abort the batch.
+         */
+        private void execute(Connection conn) throws SQLException {
+            Savepoint savepoint = conn.setSavepoint();
+            try (QueryTimeouts.Scope scope = QueryTimeouts.enter(operationClass)) {
+                result = operation.execute(conn);
+                conn.releaseSavepoint(savepoint);
+            } catch (Throwable e) {
+                // Errors too (AssertionError, StackOverflowError): fail this task, not the lane
+                failure = e;
+                afterCommit.clear();
+                conn.rollback(savepoint);
+                conn.releaseSavepoint(savepoint);
+            }
+        }
+
+        private void complete() {
+            if (failure != null) {
+                future.completeExceptionally(failure);
+                return;
+            }
+
+            // Before the caller resumes, so it sees the effects of its own write
+            for (Runnable action : afterCommit) {
+                try {
+                    action.run();
+                } catch (Throwable e) {
+                    logger.log(Level.WARNING, "After-commit action failed", e);
+                }
+            }
+            future.complete(result);
+        }
+    }
+}
@@ -12,6 +12,9 @@ document.addEventListener('DOMContentLoaded', function() {
 let autocompleteTimeout;
 let currentSuggestions = [];
 let selectedSuggestionIndex = -1;
+let historyItems = [];
+let historyNextCursor = null;
+let historyQuery = '';
 
 /**
  * Initialize event listeners
@@ -231,8 +234,9 @@ function handleBulkLinkSubmit(e) {
         return;
     }
 
-    if (userNames.length > 100) {
-        showAlert('한 번에 최대 100명까지만 등록할 수 있습니다.', 'warning');
+    const maxNames = parseInt(e.target.dataset.maxNames, 10) || 5000;
+    if (userNames.length > maxNames) {
+        showAlert(`한 번에 최대 ${maxNames.toLocaleString()}명까지만 등록할 수 있습니다.`, 'warning');
         return;
     }
 
@@ -460,31 +464,16 @@ function showBulkResults(data) {
  * Handle user search
  */
 function handleUserSearch(e) {
-    const query = e.target.value.trim();
-
-    if (query.length === 0) {
-        loadHistoryData();
-        return;
-    }
-
-    fetch(`${getContextPath()}/admin/create-link?action=getHistory&userName=${encodeURIComponent(query)}`)
-        .then(response => response.json())
-        .then(data => {
-            if (data.success) {
-                renderHistoryTable(data.data || []);
-            }
-        })
-        .catch(error => {
-            console.error('Error searching history:', error);
-        });
+    historyQuery = e.target.value.trim();
+    fetchHistoryPage(null, false);
 }
 
 /**
  * Load history data
  */
 function loadHistoryData() {
-    if (typeof recentHistory !== 'undefined' && recentHistory) {
-        renderHistoryTable(recentHistory);
+    if (typeof recentHistory !== 'undefined' && recentHistory && recentHistory.items) {
+        setHistoryPage(recentHistory, false);
     } else {
         refreshHistory();
     }
@@ -494,18 +483,67 @@ function loadHistoryData() {
  * Refresh history data from server
  */
 function refreshHistory() {
-    fetch(`${getContextPath()}/admin/create-link?action=getHistory`)
+    fetchHistoryPage(null, false);
+}
+
+/**
+ * Load the next page of history and append it to the table
+ */
+function loadMoreHistory() {
+    if (historyNextCursor) {
+        fetchHistoryPage(historyNextCursor, true);
+    }
+}
+
+/**
+ * Fetch one page of history (keyset pagination: the server returns an opaque
+ * nextCursor that is sent back to get the following page)
+ */
+function fetchHistoryPage(cursor, append) {
+    const params = new URLSearchParams({ action: 'getHistory' });
+    if (historyQuery) {
+        params.append('userName', historyQuery);
+    }
+    if (cursor) {
+        params.append('cursor', cursor);
+    }
+
+    fetch(`${getContextPath()}/admin/create-link?${params.toString()}`)
         .then(response => response.json())
         .then(data => {
             if (data.success) {
-                renderHistoryTable(data.data || []);
+                setHistoryPage(data.data || {}, append);
             }
         })
         .catch(error => {
-            console.error('Error refreshing history:', error);
+            console.error('Error loading history:', error);
         });
 }
 
+/**
+ * Store a page of history and re-render the table and pagination
+ */
+function setHistoryPage(page, append) {
+    const items = page.items || [];
+    historyItems = append ? historyItems.concat(items) : items;
+    historyNextCursor = page.nextCursor || null;
+
+    renderHistoryTable(historyItems);
+    renderHistoryPagination();
+}
+
+/**
+ * Render the "load more" button when another page exists
+ */
+function renderHistoryPagination() {
+    const container = document.getElementById('historyPagination');
+    if (!container) return;
+
+    container.innerHTML = historyNextCursor
+        ? '<button type="button" class="btn btn-sm btn-outline-secondary" onclick="loadMoreHistory()">더 보기</button>'
+        : '';
+}
+
 /**
  * Render history table
  */
@@ -299,12 +299,12 @@
                                 </h5>
                             </div>
                             <div class="card-body">
-                                <form id="bulkLinkForm">
+                                <form id="bulkLinkForm" data-max-names="${maxBulkNames != null ? maxBulkNames : 5000}">
                                     <div class="mb-3">
                                         <label for="userNames" class="form-label">사용자 이름 목록 *</label>
                                         <textarea class="form-control" id="userNames" name="userNames" rows="8"
                                                   placeholder="사용자 이름을 한 줄에 하나씩 입력하세요&#10;예:&#10;홍길동&#10;김철수&#10;이영희"></textarea>
-                                        <div class="form-text">한 번에 최대 100명까지 등록 가능합니다.</div>
+                                        <div class="form-text">한 번에 최대 <fmt:formatNumber value="${maxBulkNames != null ? maxBulkNames : 5000}"/>명까지 등록 가능합니다.</div>
                                     </div>
 
                                     <div class="d-grid">
@@ -431,7 +431,7 @@
 
     <!-- Recent History Data (from server) -->
     <script>
-        const recentHistory = ${recentHistoryJson != null ? recentHistoryJson : '[]'};
+        const recentHistory = ${recentHistoryJson != null ? recentHistoryJson : '{}'};
         let currentDuplicateUser = null;
         let currentSuccessUrl = null;
     </script>
@@ -280,25 +280,25 @@
                     <div class="col-md-3">
                         <div class="quick-stat-item">
                             <span>발송된 링크</span>
-                            <span class="percentage-badge">${dashboardStats.today.linksCreated}개</span>
+                            <span class="percentage-badge"><span data-stat="today.linksCreated">${dashboardStats.today.linksCreated}</span>개</span>
                         </div>
                     </div>
                     <div class="col-md-3">
                         <div class="quick-stat-item">
                             <span>완료된 검사</span>
-                            <span class="percentage-badge">${dashboardStats.today.testsCompleted}개</span>
+                            <span class="percentage-badge"><span data-stat="today.testsCompleted">${dashboardStats.today.testsCompleted}</span>개</span>
                         </div>
                     </div>
                     <div class="col-md-3">
                         <div class="quick-stat-item">
                             <span>완료율</span>
-                            <span class="percentage-badge">${dashboardStats.today.completionRate}%</span>
+                            <span class="percentage-badge"><span data-stat="today.completionRate">${dashboardStats.today.completionRate}</span>%</span>
                         </div>
                     </div>
                     <div class="col-md-3">
                         <div class="quick-stat-item">
                             <span>신규 사용자</span>
-                            <span class="percentage-badge">${dashboardStats.today.newUsers}명</span>
+                            <span class="percentage-badge"><span data-stat="today.newUsers">${dashboardStats.today.newUsers}</span>명</span>
                         </div>
                     </div>
                 </div>
@@ -311,11 +311,11 @@
                         <div class="stat-icon primary">
                             <i class="bi bi-link-45deg"></i>
                         </div>
-                        <div class="stat-number">${dashboardStats.totalTestLinks}</div>
+                        <div class="stat-number" data-stat="totalTestLinks">${dashboardStats.totalTestLinks}</div>
                         <div class="stat-label">총 테스트 링크</div>
                         <div class="stat-change positive">
                             <i class="bi bi-arrow-up"></i>
-                            이번 주 +${dashboardStats.thisWeek.linksCreated}개
+                            이번 주 +<span data-stat="thisWeek.linksCreated">${dashboardStats.thisWeek.linksCreated}</span>개
                         </div>
                     </div>
                 </div>
@@ -325,11 +325,11 @@
                         <div class="stat-icon success">
                             <i class="bi bi-check-circle"></i>
                         </div>
-                        <div class="stat-number">${dashboardStats.totalCompletedTests}</div>
+                        <div class="stat-number" data-stat="totalCompletedTests">${dashboardStats.totalCompletedTests}</div>
                         <div class="stat-label">완료된 검사</div>
                         <div class="stat-change positive">
                             <i class="bi bi-arrow-up"></i>
-                            이번 주 +${dashboardStats.thisWeek.testsCompleted}개
+                            이번 주 +<span data-stat="thisWeek.testsCompleted">${dashboardStats.thisWeek.testsCompleted}</span>개
                         </div>
                     </div>
                 </div>
@@ -339,11 +339,11 @@
                         <div class="stat-icon warning">
                             <i class="bi bi-percent"></i>
                         </div>
-                        <div class="stat-number">${dashboardStats.overallCompletionRate}%</div>
+                        <div class="stat-number"><span data-stat="overallCompletionRate">${dashboardStats.overallCompletionRate}</span>%</div>
                         <div class="stat-label">전체 완료율</div>
                         <div class="stat-change positive">
                             <i class="bi bi-arrow-up"></i>
-                            이번 주 ${dashboardStats.thisWeek.completionRate}%
+                            이번 주 <span data-stat="thisWeek.completionRate">${dashboardStats.thisWeek.completionRate}</span>%
                         </div>
                     </div>
                 </div>
@@ -353,11 +353,11 @@
                         <div class="stat-icon info">
                             <i class="bi bi-people"></i>
                         </div>
-                        <div class="stat-number">${dashboardStats.totalUsers}</div>
+                        <div class="stat-number" data-stat="totalUsers">${dashboardStats.totalUsers}</div>
                         <div class="stat-label">총 사용자</div>
                         <div class="stat-change positive">
                             <i class="bi bi-arrow-up"></i>
-                            이번 주 +${dashboardStats.thisWeek.newUsers}명
+                            이번 주 +<span data-stat="thisWeek.newUsers">${dashboardStats.thisWeek.newUsers}</span>명
                         </div>
                     </div>
                 </div>
@@ -441,8 +441,63 @@
         // Initialize charts when page loads
         document.addEventListener('DOMContentLoaded', function() {
             initializeCharts();
+            connectLiveUpdates();
         });
 
+        // Live updates pushed by the server (Server-Sent Events)
+        function connectLiveUpdates() {
+            if (!window.EventSource) {
+                return;
+            }
+
+            // The browser reconnects by itself and resumes from the last event id
+            const events = new EventSource('${pageContext.request.contextPath}/admin/dashboard/events');
+
+            events.addEventListener('stats', function(event) {
+                const data = JSON.parse(event.data);
+                if (data.stats) {
+                    applyStats(data.stats);
+                } else {
+                    applyChanges(data.changes || {});
+                }
+            });
+
+            // Too many updates were missed to catch up
+            events.addEventListener('reset', function() {
+                location.reload();
+            });
+        }
+
+        function applyStats(stats) {
+            document.querySelectorAll('[data-stat]').forEach(function(element) {
+                const value = element.dataset.stat.split('.').reduce(function(object, key) {
+                    return object != null ? object[key] : undefined;
+                }, stats);
+                if (value !== undefined && value !== null) {
+                    element.textContent = value;
+                }
+            });
+        }
+
+        // Counters only; rates are corrected by the next event carrying statistics
+        function applyChanges(changes) {
+            const counters = {
+                linksCreated: ['today.linksCreated', 'thisWeek.linksCreated', 'totalTestLinks'],
+                testsCompleted: ['today.testsCompleted', 'thisWeek.testsCompleted', 'totalCompletedTests']
+            };
+            Object.keys(counters).forEach(function(change) {
+                const count = changes[change] || 0;
+                if (count > 0) {
+                    counters[change].forEach(function(stat) {
+                        const element = document.querySelector('[data-stat="' + stat + '"]');
+                        if (element) {
+                            element.textContent = (parseInt(element.textContent, 10) || 0) + count;
+                        }
+                    });
+                }
+            });
+        }
+
         function initializeCharts() {
             // Completion Trend Chart
             const completionCtx = document.getElementById('completionTrendChart').getContext('2d');
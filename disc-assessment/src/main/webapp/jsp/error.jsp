@@ -65,6 +65,10 @@
                         검사 결과 계산 중 오류가 발생했습니다.<br>
                         관리자에게 문의해주세요.
                     </c:when>
+                    <c:when test="${param.message == 'server_busy'}">
+                        접속자가 많아 처리가 지연되고 있습니다.<br>
+                        잠시 후 다시 시도해주세요.
+                    </c:when>
                     <c:when test="${param.message == 'system_error'}">
                         시스템 오류가 발생했습니다.<br>
                         잠시 후 다시 시도해주세요.